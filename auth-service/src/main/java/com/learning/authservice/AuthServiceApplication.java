@@ -11,7 +11,8 @@ import org.springframework.context.annotation.ComponentScan;
 @SpringBootApplication
 @ComponentScan(basePackages = {
         "com.learning.authservice",
-        "com.learning.common.infra.ratelimit"
+        "com.learning.common.infra.ratelimit",
+        "com.learning.common.infra.cache" // CacheService, DistributedLockService (signup idempotency)
 })
 public class AuthServiceApplication {
 
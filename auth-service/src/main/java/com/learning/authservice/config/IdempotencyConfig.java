@@ -0,0 +1,32 @@
+package com.learning.authservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.common.infra.cache.CacheService;
+import com.learning.common.infra.cache.DistributedLockService;
+import com.learning.common.infra.idempotency.IdempotencyFilter;
+import com.learning.common.infra.idempotency.IdempotencyProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link IdempotencyFilter} for signup, so a client retrying with the same
+ * Idempotency-Key gets the original result instead of a second Cognito signup pipeline.
+ * Signup is anonymous, so the filter scopes these keys by request body rather than by tenant and user.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(CacheService cacheService,
+            DistributedLockService lockService, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(cacheService, lockService, objectMapper,
+                        properties.getResultTtl(), properties.getWaitTime(), properties.getLeaseTime()));
+        // AuthController (/signup) and SignupController (/signup/)
+        registration.addUrlPatterns("/api/v1/auth/signup", "/api/v1/auth/signup/");
+        return registration;
+    }
+}
@@ -13,7 +13,8 @@ import org.springframework.context.annotation.ComponentScan;
         "com.learning.backendservice",
         "com.learning.common.infra.jwt", // Keep JWT support
         "com.learning.common.infra.filters",
-        "com.learning.common.infra.tenant"  // TenantFilter, TenantAuditingListener
+        "com.learning.common.infra.tenant", // TenantFilter, TenantAuditingListener
+        "com.learning.common.infra.cache"   // DistributedLockService, CacheService (alert dispatch, idempotency)
 })
 public class BackendServiceApplication {
 
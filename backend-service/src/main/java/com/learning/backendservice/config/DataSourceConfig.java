@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -17,8 +18,8 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 import javax.sql.DataSource;
 
 /**
- * Simplified data source configuration for backend-service (lite version).
- * Single datasource - no multi-tenancy.
+ * Data source configuration for backend-service (lite version).
+ * Primary pool plus optional read replica - no multi-tenancy.
  */
 @Configuration
 @EnableTransactionManagement
@@ -35,20 +36,25 @@ public class DataSourceConfig {
     @Value("${spring.datasource.password}")
     private String password;
 
+    @Value("${spring.datasource.hikari.maximum-pool-size:20}")
+    private int maximumPoolSize;
+
+    @Value("${spring.datasource.hikari.minimum-idle:5}")
+    private int minimumIdle;
+
     /**
-     * Primary DataSource for backend-service.
+     * Primary (read-write) pool. Sized from spring.datasource.hikari.*.
      */
     @Bean
-    @Primary
-    public DataSource dataSource() {
-        log.info("Configuring data source: {}", jdbcUrl);
+    public HikariDataSource primaryDataSource() {
+        log.info("Configuring primary data source: {} (maxPoolSize={})", jdbcUrl, maximumPoolSize);
 
         HikariDataSource dataSource = new HikariDataSource();
         dataSource.setJdbcUrl(jdbcUrl);
         dataSource.setUsername(username);
         dataSource.setPassword(password);
-        dataSource.setMaximumPoolSize(10);
-        dataSource.setMinimumIdle(2);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
         dataSource.setConnectionTimeout(30000);
         dataSource.setIdleTimeout(600000);
         dataSource.setMaxLifetime(1800000);
@@ -57,6 +63,43 @@ public class DataSourceConfig {
         return dataSource;
     }
 
+    /**
+     * Routes read-only transactions to the replica pool (app.datasource.replica.*) when one is configured.
+     */
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                          ReplicaDataSourceProperties replicaProperties) {
+        HikariDataSource replica = null;
+        if (replicaProperties.isEnabled()) {
+            log.info("Configuring read replica: {} (maxPoolSize={})",
+                    replicaProperties.getUrl(), replicaProperties.getMaximumPoolSize());
+            replica = new HikariDataSource();
+            replica.setJdbcUrl(replicaProperties.getUrl());
+            replica.setUsername(orDefault(replicaProperties.getUsername(), username));
+            replica.setPassword(orDefault(replicaProperties.getPassword(), password));
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setMinimumIdle(replicaProperties.getMinimumIdle());
+            replica.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            replica.setIdleTimeout(600000);
+            replica.setMaxLifetime(1800000);
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1); // Start even if the replica is down; primary serves reads
+            replica.setPoolName("backend-service-replica-pool");
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replica,
+                replicaProperties.getMaxLag(), replicaProperties.getHealthCheckInterval());
+    }
+
+    /**
+     * DataSource used by JPA and Flyway. The lazy proxy defers fetching a physical connection until
+     * the first statement, after the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
     /**
      * EntityManagerFactory for JPA entities.
      */
@@ -86,4 +129,8 @@ public class DataSourceConfig {
     public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
         return new JpaTransactionManager(entityManagerFactory);
     }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null && !value.isBlank() ? value : fallback;
+    }
 }
@@ -0,0 +1,30 @@
+package com.learning.backendservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.common.infra.cache.CacheService;
+import com.learning.common.infra.cache.DistributedLockService;
+import com.learning.common.infra.idempotency.IdempotencyFilter;
+import com.learning.common.infra.idempotency.IdempotencyProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link IdempotencyFilter} for ledger uploads, so client retries with the same
+ * Idempotency-Key replay the stored result instead of parsing and calculating again.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(CacheService cacheService,
+            DistributedLockService lockService, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(cacheService, lockService, objectMapper,
+                        properties.getResultTtl(), properties.getWaitTime(), properties.getLeaseTime()));
+        registration.addUrlPatterns("/api/v1/ledgers/upload");
+        return registration;
+    }
+}
@@ -0,0 +1,133 @@
+package com.learning.backendservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to the replica pool and everything else to the primary.
+ *
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * physical connection is fetched after the transaction's read-only flag is bound.
+ *
+ * <p>
+ * Falls back to the primary when the replica is down (connection failure) or lagging more than
+ * {@code maxLag}; a background probe re-admits the replica once it recovers. With no replica
+ * configured every connection comes from the primary.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final String LAG_QUERY = """
+            SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE EXTRACT(EPOCH FROM (NOW() - pg_last_xact_replay_timestamp())) END, 0)
+            """;
+
+    private final DataSource primary;
+    @Nullable
+    private final DataSource replica;
+    private final Duration maxLag;
+    @Nullable
+    private final ScheduledExecutorService healthChecker;
+    private volatile boolean replicaAvailable;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, @Nullable DataSource replica,
+                                        Duration maxLag, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.replicaAvailable = replica != null;
+        if (replica == null) {
+            this.healthChecker = null;
+            return;
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalMs = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplica, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (shouldUseReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markReplicaDown("connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (shouldUseReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markReplicaDown("connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    private boolean shouldUseReplica() {
+        return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    void checkReplica() {
+        if (replica == null) {
+            return;
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+            if (lagSeconds * 1000 > maxLag.toMillis()) {
+                markReplicaDown("lag " + lagSeconds + "s exceeds " + maxLag);
+            } else if (!replicaAvailable) {
+                replicaAvailable = true;
+                log.info("Read replica healthy again (lag {}s); routing read-only queries to replica", lagSeconds);
+            }
+        } catch (Exception e) {
+            markReplicaDown("health check failed: " + e.getMessage());
+        }
+    }
+
+    private void markReplicaDown(String reason) {
+        if (replicaAvailable) {
+            replicaAvailable = false;
+            log.warn("Read replica unavailable ({}); routing read-only queries to primary", reason);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
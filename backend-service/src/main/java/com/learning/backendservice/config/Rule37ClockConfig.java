@@ -0,0 +1,21 @@
+package com.learning.backendservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Single clock for Rule 37 day math, so the risk index and deadline alerts agree on "today".
+ * Thresholds are crossed at local midnight in {@code app.rule37.zone}.
+ */
+@Configuration
+public class Rule37ClockConfig {
+
+    @Bean
+    public Clock rule37Clock(@Value("${app.rule37.zone:Asia/Kolkata}") String zone) {
+        return Clock.system(ZoneId.of(zone));
+    }
+}
@@ -1,5 +1,6 @@
 package com.learning.backendservice.config;
 
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.util.unit.DataSize;
@@ -10,6 +11,8 @@ public class UploadProperties {
 
     private DataSize maxFileSize = DataSize.ofMegabytes(10);
     private int maxFiles = 20;
+    private SupplierDictionary.Normalization supplierNormalization = SupplierDictionary.Normalization.EXACT;
+    private double supplierSimilarity = 0.85;
 
     public DataSize getMaxFileSize() {
         return maxFileSize;
@@ -26,4 +29,20 @@ public class UploadProperties {
     public void setMaxFiles(int maxFiles) {
         this.maxFiles = maxFiles;
     }
+
+    public SupplierDictionary.Normalization getSupplierNormalization() {
+        return supplierNormalization;
+    }
+
+    public void setSupplierNormalization(SupplierDictionary.Normalization supplierNormalization) {
+        this.supplierNormalization = supplierNormalization;
+    }
+
+    public double getSupplierSimilarity() {
+        return supplierSimilarity;
+    }
+
+    public void setSupplierSimilarity(double supplierSimilarity) {
+        this.supplierSimilarity = supplierSimilarity;
+    }
 }
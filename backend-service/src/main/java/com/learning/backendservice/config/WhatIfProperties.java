@@ -0,0 +1,30 @@
+package com.learning.backendservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.what-if")
+public class WhatIfProperties {
+
+    private Duration ttl = Duration.ofMinutes(30);
+    private long maxTotalRows = 2_000_000;
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxTotalRows() {
+        return maxTotalRows;
+    }
+
+    public void setMaxTotalRows(long maxTotalRows) {
+        this.maxTotalRows = maxTotalRows;
+    }
+}
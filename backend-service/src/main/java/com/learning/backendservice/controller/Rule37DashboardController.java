@@ -0,0 +1,42 @@
+package com.learning.backendservice.controller;
+
+import com.learning.backendservice.dto.Rule37DashboardResponse;
+import com.learning.backendservice.service.Rule37RollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/rule37/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Rule 37 Dashboard", description = "Tenant-level aggregated Rule 37 metrics")
+public class Rule37DashboardController {
+
+    private static final int MAX_MONTHS = 36;
+    private static final int MAX_TOP_SUPPLIERS = 50;
+
+    private final Rule37RollupService rollupService;
+
+    @Operation(summary = "Get dashboard", description = "Totals, monthly trend and top suppliers, served from rollups")
+    @ApiResponse(responseCode = "200", description = "Dashboard retrieved", content = @Content(schema = @Schema(implementation = Rule37DashboardResponse.class)))
+    @GetMapping
+    public ResponseEntity<Rule37DashboardResponse> getDashboard(
+            @Parameter(description = "Number of months in the trend") @RequestParam(value = "months", defaultValue = "12") int months,
+            @Parameter(description = "Number of top suppliers by interest") @RequestParam(value = "topSuppliers", defaultValue = "10") int topSuppliers) {
+        return ResponseEntity.ok(rollupService.getDashboard(
+                clamp(months, MAX_MONTHS), clamp(topSuppliers, MAX_TOP_SUPPLIERS)));
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(1, Math.min(value, max));
+    }
+}
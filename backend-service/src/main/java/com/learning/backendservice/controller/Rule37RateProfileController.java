@@ -0,0 +1,39 @@
+package com.learning.backendservice.controller;
+
+import com.learning.backendservice.dto.Rule37RateProfileDto;
+import com.learning.backendservice.service.Rule37RateProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/rule37/rate-profile")
+@RequiredArgsConstructor
+@Tag(name = "Rule 37 Rate Profile", description = "Tenant GST and interest rates, including per-supplier GST slabs")
+public class Rule37RateProfileController {
+
+    private final Rule37RateProfileService rateProfileService;
+
+    @Operation(summary = "Get rate profile", description = "Returns statutory defaults when the tenant has no profile")
+    @ApiResponse(responseCode = "200", description = "Profile retrieved")
+    @GetMapping
+    public ResponseEntity<Rule37RateProfileDto> getProfile() {
+        return ResponseEntity.ok(rateProfileService.getProfile());
+    }
+
+    @Operation(summary = "Replace rate profile", description = "Replaces default rates and the full list of supplier GST slabs")
+    @ApiResponse(responseCode = "200", description = "Profile updated")
+    @ApiResponse(responseCode = "400", description = "Validation error")
+    @PutMapping
+    public ResponseEntity<Rule37RateProfileDto> updateProfile(@Valid @RequestBody Rule37RateProfileDto request) {
+        return ResponseEntity.ok(rateProfileService.updateProfile(request));
+    }
+}
@@ -0,0 +1,41 @@
+package com.learning.backendservice.controller;
+
+import com.learning.backendservice.dto.Rule37OpenPurchaseResponse;
+import com.learning.backendservice.service.Rule37RiskIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/rule37/at-risk")
+@RequiredArgsConstructor
+@Tag(name = "Rule 37 Risk", description = "Open purchases approaching the 180-day deadline across all ledgers")
+public class Rule37RiskController {
+
+    private static final int MAX_WITHIN_DAYS = 180;
+
+    private final Rule37RiskIndexService riskIndexService;
+
+    @Operation(summary = "List approaching deadlines", description = "Open purchases whose deadline falls within the window, soonest first")
+    @ApiResponse(responseCode = "200", description = "List retrieved")
+    @GetMapping
+    public ResponseEntity<Page<Rule37OpenPurchaseResponse>> listApproachingDeadline(
+            @Parameter(description = "Window in days from today") @RequestParam(value = "withinDays", defaultValue = "14") int withinDays,
+            @PageableDefault(size = 50) Pageable pageable) {
+        int window = Math.max(0, Math.min(withinDays, MAX_WITHIN_DAYS));
+        // Ordering is fixed by deadline (index order); client sort parameters are ignored
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return ResponseEntity.ok(riskIndexService.findApproachingDeadline(window, unsorted));
+    }
+}
@@ -0,0 +1,66 @@
+package com.learning.backendservice.controller;
+
+import com.learning.backendservice.dto.WhatIfRequest;
+import com.learning.backendservice.dto.WhatIfSessionResponse;
+import com.learning.backendservice.service.WhatIfSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/rule37/what-if/sessions")
+@RequiredArgsConstructor
+@Tag(name = "Rule 37 What-If", description = "Parse ledgers once, then recalculate with different assumptions")
+public class Rule37WhatIfController {
+
+    private final WhatIfSessionService sessionService;
+
+    @Operation(summary = "Create session", description = "Parse ledger files into a short-lived session and return the baseline calculation")
+    @ApiResponse(responseCode = "201", description = "Session created", content = @Content(schema = @Schema(implementation = WhatIfSessionResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Validation error or all files failed")
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<WhatIfSessionResponse> createSession(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("asOnDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOnDate) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(sessionService.createSession(files, asOnDate));
+    }
+
+    @Operation(summary = "Recalculate", description = "Recalculate the session's ledgers with changed asOnDate, rates or matching mode")
+    @ApiResponse(responseCode = "200", description = "Recalculated")
+    @ApiResponse(responseCode = "404", description = "Session not found or expired")
+    @PostMapping("/{sessionId}/calculate")
+    public ResponseEntity<WhatIfSessionResponse> recalculate(
+            @Parameter(description = "Session ID") @PathVariable String sessionId,
+            @Valid @RequestBody WhatIfRequest request) {
+        return ResponseEntity.ok(sessionService.recalculate(sessionId, request));
+    }
+
+    @Operation(summary = "Delete session", description = "Release a session before its TTL expires")
+    @ApiResponse(responseCode = "204", description = "Deleted")
+    @ApiResponse(responseCode = "404", description = "Session not found or expired")
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> deleteSession(@Parameter(description = "Session ID") @PathVariable String sessionId) {
+        sessionService.deleteSession(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
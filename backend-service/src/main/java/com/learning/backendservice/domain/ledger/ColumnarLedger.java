@@ -0,0 +1,96 @@
+package com.learning.backendservice.domain.ledger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented copy of a parsed ledger, kept for repeated what-if calculations.
+ *
+ * <p>Rows are stored date-sorted in primitive arrays with suppliers dictionary-encoded, roughly a
+ * quarter of the heap of the equivalent {@code List<LedgerEntry>}. {@link #toEntries()} rebuilds
+ * calculator input without re-reading the workbook.</p>
+ */
+public final class ColumnarLedger {
+
+    private final int[] epochDays;
+    private final boolean[] purchase;
+    private final double[] amounts;
+    private final int[] supplierIds;
+    private final String[] supplierDictionary;
+    private final String[] billRefs; // null when no row has a bill reference
+    private final double[] itcAmounts; // NaN = not in ledger; null when no row has tax columns
+
+    private ColumnarLedger(int[] epochDays, boolean[] purchase, double[] amounts, int[] supplierIds,
+                           String[] supplierDictionary, String[] billRefs, double[] itcAmounts) {
+        this.epochDays = epochDays;
+        this.purchase = purchase;
+        this.amounts = amounts;
+        this.supplierIds = supplierIds;
+        this.supplierDictionary = supplierDictionary;
+        this.billRefs = billRefs;
+        this.itcAmounts = itcAmounts;
+    }
+
+    public static ColumnarLedger of(List<LedgerEntry> entries) {
+        List<LedgerEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(LedgerEntry::getDate));
+
+        int size = sorted.size();
+        int[] epochDays = new int[size];
+        boolean[] purchase = new boolean[size];
+        double[] amounts = new double[size];
+        int[] supplierIds = new int[size];
+        String[] billRefs = new String[size];
+        boolean hasBillRefs = false;
+        double[] itcAmounts = new double[size];
+        boolean hasItc = false;
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> suppliers = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            LedgerEntry entry = sorted.get(i);
+            epochDays[i] = (int) entry.getDate().toEpochDay();
+            purchase[i] = entry.getEntryType() == LedgerEntry.LedgerEntryType.PURCHASE;
+            amounts[i] = entry.getAmount();
+            supplierIds[i] = dictionary.computeIfAbsent(entry.getSupplier(), s -> {
+                suppliers.add(s);
+                return suppliers.size() - 1;
+            });
+            billRefs[i] = entry.getBillRef();
+            hasBillRefs |= entry.getBillRef() != null;
+            itcAmounts[i] = entry.getItcAmount() != null ? entry.getItcAmount() : Double.NaN;
+            hasItc |= entry.getItcAmount() != null;
+        }
+
+        return new ColumnarLedger(epochDays, purchase, amounts, supplierIds,
+                suppliers.toArray(String[]::new), hasBillRefs ? billRefs : null, hasItc ? itcAmounts : null);
+    }
+
+    public List<LedgerEntry> toEntries() {
+        List<LedgerEntry> entries = new ArrayList<>(epochDays.length);
+        for (int i = 0; i < epochDays.length; i++) {
+            entries.add(LedgerEntry.builder()
+                    .date(LocalDate.ofEpochDay(epochDays[i]))
+                    .entryType(purchase[i] ? LedgerEntry.LedgerEntryType.PURCHASE : LedgerEntry.LedgerEntryType.PAYMENT)
+                    .supplier(supplierDictionary[supplierIds[i]])
+                    .supplierId(supplierIds[i])
+                    .amount(amounts[i])
+                    .billRef(billRefs != null ? billRefs[i] : null)
+                    .itcAmount(itcAmounts != null && !Double.isNaN(itcAmounts[i]) ? itcAmounts[i] : null)
+                    .build());
+        }
+        return entries;
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public int supplierCount() {
+        return supplierDictionary.length;
+    }
+}
@@ -20,7 +20,10 @@ public class LedgerEntry {
     private LocalDate date;
     private LedgerEntryType entryType;
     private String supplier;
+    private Integer supplierId; // Id in the upload's SupplierDictionary; null when not interned
     private double amount;
+    private String billRef; // Tally "Agst Ref" / bill reference; null when the ledger has none
+    private Double itcAmount; // Exact ITC from IGST/CGST/SGST or tax-rate columns; null = derive from rate
 
     public enum LedgerEntryType {
         PURCHASE,
@@ -2,6 +2,7 @@ package com.learning.backendservice.domain.ledger;
 
 import com.learning.backendservice.exception.LedgerParseException;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -18,12 +19,15 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * Parses Tally/Busy ledger Excel files into LedgerEntry list.
  * Port of MVP {@code excelParser.ts}.
  *
- * <p>Column mapping (header-based): date, debit/dr, credit/cr, supplier/party/ledger/name.
+ * <p>Column mapping (header-based): date, debit/dr, credit/cr, supplier/party/ledger/name,
+ * optional bill reference (agst ref/bill ref/bill no/ref no/invoice no) for bill-wise matching, optional tax columns
+ * (IGST/CGST/SGST/UTGST amounts, total tax amount, or GST/tax rate) for an exact per-entry ITC.
  * Fallback: 4 columns with no credit header → position-based [Date, Debit, Credit, Supplier].
  */
 @Component
@@ -31,8 +35,13 @@ public class LedgerExcelParser implements LedgerParser {
 
     private static final Logger log = LoggerFactory.getLogger(LedgerExcelParser.class);
 
+    // Normalized (letters only) headers; exact match so "Reference" or "Preferred Supplier" are not picked up
+    private static final Set<String> BILL_REF_HEADERS = Set.of(
+            "agstref", "againstref", "billref", "billreference", "billno", "billnumber",
+            "refno", "referenceno", "invoiceno", "invoicenumber");
+
     @Override
-    public List<LedgerEntry> parse(InputStream inputStream, String filename) {
+    public List<LedgerEntry> parse(InputStream inputStream, String filename, SupplierDictionary suppliers) {
         String defaultSupplier = getFileNameWithoutExtension(filename);
 
         try (Workbook workbook = WorkbookFactory.create(inputStream)) {
@@ -61,10 +70,12 @@ public class LedgerExcelParser implements LedgerParser {
             int creditIndex = findIndex(normalizedHeaders, h -> h.contains("credit") || h.contains("cr"));
             int supplierIndex = findIndex(normalizedHeaders, h ->
                     h.contains("supplier") || h.contains("party") || h.contains("ledger") || h.contains("name"));
+            int billRefIndex = findIndex(normalizedHeaders, BILL_REF_HEADERS::contains);
+            TaxColumns taxColumns = TaxColumns.detect(headers, normalizedHeaders);
 
             // Position-based fallback: 4 columns, no credit header
             if (colCount == 4 && creditIndex == -1) {
-                return parsePositionBased(sheet, defaultSupplier);
+                return parsePositionBased(sheet, defaultSupplier, suppliers);
             }
 
             if (dateIndex == -1) {
@@ -74,7 +85,8 @@ public class LedgerExcelParser implements LedgerParser {
                 throw new LedgerParseException("Could not find Debit or Credit columns. Found headers: " + String.join(", ", headers));
             }
 
-            return parseHeaderBased(sheet, headers, dateIndex, debitIndex, creditIndex, supplierIndex, defaultSupplier);
+            return parseHeaderBased(sheet, headers, dateIndex, debitIndex, creditIndex, supplierIndex, billRefIndex,
+                    taxColumns, defaultSupplier, suppliers);
 
         } catch (LedgerParseException e) {
             throw e;
@@ -83,7 +95,7 @@ public class LedgerExcelParser implements LedgerParser {
         }
     }
 
-    private List<LedgerEntry> parsePositionBased(Sheet sheet, String defaultSupplier) {
+    private List<LedgerEntry> parsePositionBased(Sheet sheet, String defaultSupplier, SupplierDictionary suppliers) {
         List<LedgerEntry> entries = new ArrayList<>();
         for (int i = 1; i <= sheet.getLastRowNum(); i++) {
             Row row = sheet.getRow(i);
@@ -98,11 +110,13 @@ public class LedgerExcelParser implements LedgerParser {
 
             String supplier = getCellStringValue(row.getCell(3));
             if (supplier == null || supplier.isBlank()) supplier = defaultSupplier;
+            int supplierId = suppliers.intern(supplier);
 
             entries.add(LedgerEntry.builder()
                     .date(date)
                     .entryType(debit > 0 ? LedgerEntry.LedgerEntryType.PAYMENT : LedgerEntry.LedgerEntryType.PURCHASE)
-                    .supplier(supplier.trim())
+                    .supplier(suppliers.name(supplierId))
+                    .supplierId(supplierId)
                     .amount(debit > 0 ? debit : credit)
                     .build());
         }
@@ -112,7 +126,8 @@ public class LedgerExcelParser implements LedgerParser {
 
     private List<LedgerEntry> parseHeaderBased(Sheet sheet, List<String> headers,
                                                int dateIndex, int debitIndex, int creditIndex,
-                                               int supplierIndex, String defaultSupplier) {
+                                               int supplierIndex, int billRefIndex, TaxColumns taxColumns,
+                                               String defaultSupplier, SupplierDictionary suppliers) {
         List<LedgerEntry> entries = new ArrayList<>();
         for (int i = 1; i <= sheet.getLastRowNum(); i++) {
             Row row = sheet.getRow(i);
@@ -128,18 +143,87 @@ public class LedgerExcelParser implements LedgerParser {
 
             String supplier = supplierIndex >= 0 ? getCellStringValue(row.getCell(supplierIndex)) : "";
             if (supplier == null || supplier.isBlank()) supplier = defaultSupplier;
+            int supplierId = suppliers.intern(supplier);
+
+            String billRef = billRefIndex >= 0 ? getCellStringValue(row.getCell(billRefIndex)).trim() : "";
+            Double itcAmount = debit <= 0 && taxColumns.present() ? taxColumns.itcAmount(row, credit) : null;
 
             entries.add(LedgerEntry.builder()
                     .date(date)
                     .entryType(debit > 0 ? LedgerEntry.LedgerEntryType.PAYMENT : LedgerEntry.LedgerEntryType.PURCHASE)
-                    .supplier(supplier.trim())
+                    .supplier(suppliers.name(supplierId))
+                    .supplierId(supplierId)
                     .amount(debit > 0 ? debit : credit)
+                    .billRef(billRef.isEmpty() ? null : billRef)
+                    .itcAmount(itcAmount)
                     .build());
         }
         validateNotEmpty(entries);
         return entries;
     }
 
+    /**
+     * Tax column positions, detected once per sheet. Component amounts (IGST + CGST + SGST/UTGST) win over
+     * a total tax amount, which wins over a rate column applied to the gross invoice amount.
+     */
+    private record TaxColumns(int[] componentIndexes, int totalTaxIndex, int rateIndex) {
+
+        static TaxColumns detect(List<String> headers, List<String> normalizedHeaders) {
+            List<Integer> components = new ArrayList<>();
+            int totalTaxIndex = -1;
+            int rateIndex = -1;
+            for (int i = 0; i < normalizedHeaders.size(); i++) {
+                String h = normalizedHeaders.get(i);
+                boolean rate = h.contains("rate") || h.contains("percent") || headers.get(i).contains("%");
+                if ((h.contains("igst") || h.contains("cgst") || h.contains("sgst") || h.contains("utgst")) && !rate) {
+                    components.add(i);
+                } else if (totalTaxIndex == -1 && (h.equals("taxamount") || h.equals("gstamount")
+                        || h.equals("totaltax") || h.equals("totalgst"))) {
+                    totalTaxIndex = i;
+                } else if (rateIndex == -1 && rate && (h.contains("gst") || h.contains("tax"))) {
+                    rateIndex = i;
+                }
+            }
+            return new TaxColumns(components.stream().mapToInt(Integer::intValue).toArray(), totalTaxIndex, rateIndex);
+        }
+
+        boolean present() {
+            return componentIndexes.length > 0 || totalTaxIndex >= 0 || rateIndex >= 0;
+        }
+
+        /**
+         * Exact ITC for a purchase row, or null when the row's tax cells are blank.
+         */
+        Double itcAmount(Row row, double grossAmount) {
+            double components = 0;
+            for (int index : componentIndexes) {
+                components += parseDouble(getCellStringValue(row.getCell(index)));
+            }
+            if (components > 0) return components;
+            if (totalTaxIndex >= 0) {
+                double total = parseDouble(getCellStringValue(row.getCell(totalTaxIndex)));
+                if (total > 0) return total;
+            }
+            if (rateIndex >= 0) {
+                Cell rateCell = row.getCell(rateIndex);
+                double rate = parseDouble(getCellStringValue(rateCell));
+                if (isPercentFormatted(rateCell)) rate *= 100; // 0.18 shown as 18%
+                if (rate > 0 && rate <= 100) return grossAmount * rate / (100 + rate);
+            }
+            return null;
+        }
+
+        /**
+         * Percent-formatted cells store the fraction (0.18 for 18%); every other rate cell holds percentage
+         * points, so 0.25 and 0.1 stay the 0.25% and 0.1% slabs rather than being read as 25% and 10%.
+         */
+        private static boolean isPercentFormatted(Cell cell) {
+            if (cell == null) return false;
+            CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+            return type == CellType.NUMERIC && cell.getCellStyle().getDataFormatString().contains("%");
+        }
+    }
+
     private void validateNotEmpty(List<LedgerEntry> entries) {
         if (entries.isEmpty()) {
             throw new LedgerParseException("No valid entries found in Excel file. Check if Date, Debit, and Credit columns have valid data.");
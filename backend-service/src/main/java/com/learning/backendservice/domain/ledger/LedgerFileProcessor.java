@@ -1,5 +1,6 @@
 package com.learning.backendservice.domain.ledger;
 
+import com.learning.backendservice.domain.rule37.CalculationOptions;
 import com.learning.backendservice.domain.rule37.LedgerResult;
 
 import java.io.InputStream;
@@ -21,5 +22,16 @@ public interface LedgerFileProcessor {
      * @param asOnDate    calculation date for Rule 37
      * @return ledger result; never null
      */
-    LedgerResult process(InputStream inputStream, String filename, LocalDate asOnDate);
+    default LedgerResult process(InputStream inputStream, String filename, LocalDate asOnDate) {
+        return process(inputStream, filename, asOnDate, CalculationOptions.DEFAULTS, new SupplierDictionary());
+    }
+
+    /**
+     * Processes a single ledger file with tenant-specific rates.
+     *
+     * @param options   rates and matching mode, resolved once per upload
+     * @param suppliers supplier dictionary shared by all files of the upload
+     */
+    LedgerResult process(InputStream inputStream, String filename, LocalDate asOnDate, CalculationOptions options,
+                         SupplierDictionary suppliers);
 }
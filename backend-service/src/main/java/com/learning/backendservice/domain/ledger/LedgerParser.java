@@ -19,5 +19,14 @@ public interface LedgerParser {
      * @return list of ledger entries; never null
      * @throws com.learning.backendservice.exception.LedgerParseException if parsing fails
      */
-    List<LedgerEntry> parse(InputStream inputStream, String filename);
+    default List<LedgerEntry> parse(InputStream inputStream, String filename) {
+        return parse(inputStream, filename, new SupplierDictionary());
+    }
+
+    /**
+     * Parses ledger entries, interning supplier names into the given (per-upload) dictionary.
+     *
+     * @param suppliers dictionary shared by all files of one upload; entries carry its ids
+     */
+    List<LedgerEntry> parse(InputStream inputStream, String filename, SupplierDictionary suppliers);
 }
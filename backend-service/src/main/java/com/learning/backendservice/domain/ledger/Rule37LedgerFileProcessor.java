@@ -1,5 +1,6 @@
 package com.learning.backendservice.domain.ledger;
 
+import com.learning.backendservice.domain.rule37.CalculationOptions;
 import com.learning.backendservice.domain.rule37.CalculationSummary;
 import com.learning.backendservice.domain.rule37.LedgerResult;
 import com.learning.backendservice.domain.rule37.Rule37InterestCalculator;
@@ -9,24 +10,28 @@ import java.io.InputStream;
 import java.time.LocalDate;
 
 /**
- * Processes one ledger file: parse → Rule 37 calculate → LedgerResult.
+ * Processes one ledger file: parse → canonicalize suppliers → Rule 37 calculate → LedgerResult.
  */
 @Component
 public class Rule37LedgerFileProcessor implements LedgerFileProcessor {
 
     private final LedgerParser ledgerParser;
+    private final SupplierCanonicalizer canonicalizer;
     private final Rule37InterestCalculator calculator;
 
-    public Rule37LedgerFileProcessor(LedgerParser ledgerParser, Rule37InterestCalculator calculator) {
+    public Rule37LedgerFileProcessor(LedgerParser ledgerParser, SupplierCanonicalizer canonicalizer,
+                                     Rule37InterestCalculator calculator) {
         this.ledgerParser = ledgerParser;
+        this.canonicalizer = canonicalizer;
         this.calculator = calculator;
     }
 
     @Override
-    public LedgerResult process(InputStream inputStream, String filename, LocalDate asOnDate) {
+    public LedgerResult process(InputStream inputStream, String filename, LocalDate asOnDate,
+                                CalculationOptions options, SupplierDictionary suppliers) {
         String ledgerName = getFileNameWithoutExtension(filename);
-        var entries = ledgerParser.parse(inputStream, filename);
-        CalculationSummary summary = calculator.calculate(entries, asOnDate);
+        var entries = canonicalizer.canonicalize(ledgerParser.parse(inputStream, filename, suppliers), suppliers);
+        CalculationSummary summary = calculator.calculate(entries, asOnDate, options);
         return LedgerResult.builder()
                 .ledgerName(ledgerName)
                 .summary(summary)
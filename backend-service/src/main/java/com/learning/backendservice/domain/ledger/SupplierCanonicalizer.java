@@ -0,0 +1,23 @@
+package com.learning.backendservice.domain.ledger;
+
+import java.util.List;
+
+/**
+ * Canonicalization stage between {@link LedgerParser} and the calculator: rewrites spelling variants of one
+ * supplier to a single canonical name so FIFO runs once per real supplier.
+ */
+public interface SupplierCanonicalizer {
+
+    /**
+     * Rewrites {@code supplier} and {@code supplierId} of entries in place; canonical names are interned into
+     * {@code suppliers}.
+     *
+     * @return the same list, for chaining
+     */
+    List<LedgerEntry> canonicalize(List<LedgerEntry> entries, SupplierDictionary suppliers);
+
+    /**
+     * Same rewrite as {@link #canonicalize}, but learns nothing: for calculations that are not persisted.
+     */
+    List<LedgerEntry> preview(List<LedgerEntry> entries, SupplierDictionary suppliers);
+}
@@ -0,0 +1,78 @@
+package com.learning.backendservice.domain.ledger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-upload supplier dictionary: interns supplier names to dense int ids while parsing.
+ *
+ * <p>Every spelling that normalizes to the same key gets the same id and the same canonical name
+ * instance (the first spelling seen), so rows share one String and the calculator groups by int id.
+ * Not thread-safe; one instance per upload.</p>
+ */
+public final class SupplierDictionary {
+
+    private static final Pattern GSTIN = Pattern.compile("\\b(\\d{2}[A-Z]{5}\\d{4}[A-Z][1-9A-Z]Z[0-9A-Z])\\b");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^A-Z0-9]+");
+
+    private final Normalization normalization;
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public SupplierDictionary() {
+        this(Normalization.EXACT);
+    }
+
+    public SupplierDictionary(Normalization normalization) {
+        this.normalization = normalization;
+    }
+
+    /**
+     * Returns the id for {@code rawName}, assigning the next id on first sight.
+     */
+    public int intern(String rawName) {
+        String name = rawName == null ? "" : rawName.trim();
+        return idsByKey.computeIfAbsent(key(name), k -> {
+            names.add(name);
+            return names.size() - 1;
+        });
+    }
+
+    /** Canonical display name for an id; resolved only when output is produced. */
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private String key(String name) {
+        return switch (normalization) {
+            case EXACT -> name;
+            case CASE_INSENSITIVE -> foldCaseAndPunctuation(name);
+            case GSTIN -> {
+                Matcher m = GSTIN.matcher(name.toUpperCase(Locale.ROOT));
+                yield m.find() ? "GSTIN:" + m.group(1) : foldCaseAndPunctuation(name);
+            }
+        };
+    }
+
+    private static String foldCaseAndPunctuation(String name) {
+        return NON_ALNUM.matcher(name.toUpperCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public enum Normalization {
+        /** Trimmed name as written (previous behaviour) */
+        EXACT,
+        /** Case, whitespace and punctuation folded ("ABC Traders." = "abc  traders") */
+        CASE_INSENSITIVE,
+        /** GSTIN embedded in the name when present, else CASE_INSENSITIVE */
+        GSTIN
+    }
+}
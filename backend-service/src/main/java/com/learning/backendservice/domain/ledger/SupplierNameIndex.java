@@ -0,0 +1,255 @@
+package com.learning.backendservice.domain.ledger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Clusters supplier name spellings ("ABC Traders", "ABC TRADERS PVT LTD", "A.B.C. Traders") in sub-quadratic time.
+ *
+ * <p>Three passes over a union-find:</p>
+ * <ol>
+ * <li>Exact match on a normalized token key (case, punctuation, legal suffixes, spaced initials folded),
+ *     with stored aliases rewriting keys first</li>
+ * <li>Exact match on an embedded GSTIN</li>
+ * <li>MinHash over character trigrams of the key with LSH banding; only names sharing a band bucket
+ *     are compared, and a name joins an earlier one when trigram Jaccard similarity reaches the threshold</li>
+ * </ol>
+ * <p>Fuzzy merges are not transitive: a name only joins a cluster whose first key was not itself a fuzzy
+ * match, so "Sharma Steels" ~ "Sharma Steel" ~ "Varma Steel" does not pull the last into the first.</p>
+ * <p>Each cluster's canonical name is its stored alias target, else its first spelling. Only exact (key or
+ * GSTIN) merges are returned as aliases to store; fuzzy merges are returned as suggestions.</p>
+ */
+public final class SupplierNameIndex {
+
+    private static final Pattern GSTIN = Pattern.compile("\\b(\\d{2}[A-Z]{5}\\d{4}[A-Z][1-9A-Z]Z[0-9A-Z])\\b");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^A-Z0-9]+");
+    private static final Set<String> STOP_TOKENS = Set.of(
+            "M", "MS", "THE", "AND", "PVT", "PRIVATE", "LTD", "LIMITED", "LLP", "CO", "COMPANY", "CORP",
+            "CORPORATION", "INC", "PLC", "OPC");
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final int MAX_BUCKET_COMPARISONS = 32; // Caps degenerate buckets, keeps the pass linear
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private SupplierNameIndex() {
+    }
+
+    /**
+     * @param names          distinct supplier spellings, in first-seen order
+     * @param aliases        stored alias key → canonical name (see {@link #key(String)})
+     * @param minSimilarity  trigram Jaccard similarity required for a fuzzy merge (0..1]
+     */
+    public static Result canonicalize(List<String> names, Map<String, String> aliases, double minSimilarity) {
+        int n = names.size();
+        int[] parent = new int[n];
+        Arrays.setAll(parent, i -> i);
+        String[] keys = new String[n];
+        String[] aliasTargets = new String[n];
+
+        // Pass 1: normalized key, rewritten by stored aliases
+        Map<String, Integer> byKey = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            String key = key(names.get(i));
+            aliasTargets[i] = aliases.get(key);
+            keys[i] = aliasTargets[i] != null ? key(aliasTargets[i]) : key;
+            Integer first = byKey.putIfAbsent(keys[i], i);
+            if (first != null) union(parent, first, i);
+        }
+
+        // Pass 2: GSTIN
+        Map<String, Integer> byGstin = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Matcher m = GSTIN.matcher(names.get(i).toUpperCase(Locale.ROOT));
+            if (m.find()) {
+                Integer first = byGstin.putIfAbsent(m.group(1), i);
+                if (first != null) union(parent, first, i);
+            }
+        }
+        int[] exactParent = parent.clone();
+
+        // Pass 3: MinHash LSH over distinct keys
+        if (minSimilarity < 1.0) {
+            List<Integer> representatives = new ArrayList<>(byKey.values());
+            representatives.sort(null);
+            int[][] shingles = new int[n][];
+            List<Map<Long, List<Integer>>> bandBuckets = new ArrayList<>(BANDS);
+            for (int b = 0; b < BANDS; b++) bandBuckets.add(new HashMap<>());
+            boolean[] fuzzyMatched = new boolean[n];
+
+            for (int i : representatives) {
+                shingles[i] = trigrams(keys[i]);
+                if (shingles[i].length == 0) continue;
+                long[] signature = minHash(shingles[i]);
+                for (int b = 0; b < BANDS; b++) {
+                    long bucket = b;
+                    for (int r = 0; r < ROWS; r++) bucket = mix(bucket * 31 + signature[b * ROWS + r]);
+                    List<Integer> members = bandBuckets.get(b).computeIfAbsent(bucket, k -> new ArrayList<>());
+                    int from = Math.max(0, members.size() - MAX_BUCKET_COMPARISONS);
+                    for (int m = from; m < members.size() && !fuzzyMatched[i]; m++) {
+                        int j = members.get(m);
+                        if (!fuzzyMatched[j] && find(parent, i) != find(parent, j)
+                                && jaccard(shingles[i], shingles[j]) >= minSimilarity) {
+                            union(parent, j, i);
+                            fuzzyMatched[i] = true;
+                        }
+                    }
+                    members.add(i);
+                }
+            }
+        }
+
+        Map<Integer, String> canonicalByRoot = canonicalByRoot(parent, names, aliasTargets);
+        Map<Integer, String> exactCanonicalByRoot = canonicalByRoot(exactParent, names, aliasTargets);
+
+        Map<String, String> canonicalByName = new LinkedHashMap<>();
+        Map<String, String> newAliases = new LinkedHashMap<>();
+        Map<String, String> suggestedAliases = new LinkedHashMap<>();
+        int[] exactClusterSize = new int[n];
+        for (int i = 0; i < n; i++) exactClusterSize[find(exactParent, i)]++;
+        for (int i = 0; i < n; i++) {
+            String canonical = canonicalByRoot.get(find(parent, i));
+            String exactCanonical = exactCanonicalByRoot.get(find(exactParent, i));
+            if (!canonical.equals(names.get(i))) canonicalByName.put(names.get(i), canonical);
+            if (aliasTargets[i] != null) continue;
+            if (exactClusterSize[find(exactParent, i)] > 1) {
+                newAliases.putIfAbsent(key(names.get(i)), exactCanonical);
+            }
+            if (!canonical.equals(exactCanonical)) {
+                suggestedAliases.putIfAbsent(key(names.get(i)), canonical);
+            }
+        }
+        return new Result(canonicalByName, newAliases, suggestedAliases);
+    }
+
+    /**
+     * Canonical name per cluster root: stored alias target, else first spelling.
+     */
+    private static Map<Integer, String> canonicalByRoot(int[] parent, List<String> names, String[] aliasTargets) {
+        Map<Integer, String> canonicalByRoot = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (aliasTargets[i] != null) canonicalByRoot.putIfAbsent(find(parent, i), aliasTargets[i]);
+        }
+        for (int i = 0; i < names.size(); i++) {
+            canonicalByRoot.putIfAbsent(find(parent, i), names.get(i));
+        }
+        return canonicalByRoot;
+    }
+
+    /**
+     * Normalized token key: upper-case, punctuation dropped, legal suffixes removed, spaced initials joined.
+     */
+    public static String key(String name) {
+        String upper = name == null ? "" : name.toUpperCase(Locale.ROOT).replace("&", " AND ");
+        String[] tokens = NON_ALNUM.matcher(upper).replaceAll(" ").trim().split(" ");
+        StringBuilder key = new StringBuilder();
+        StringBuilder initials = new StringBuilder();
+        for (String token : tokens) {
+            if (token.isEmpty() || STOP_TOKENS.contains(token)) continue;
+            if (token.length() == 1) {
+                initials.append(token);
+                continue;
+            }
+            appendToken(key, initials);
+            appendToken(key, token);
+        }
+        appendToken(key, initials);
+        return key.toString();
+    }
+
+    private static void appendToken(StringBuilder key, CharSequence token) {
+        if (token.isEmpty()) return;
+        if (!key.isEmpty()) key.append(' ');
+        key.append(token);
+        if (token instanceof StringBuilder sb) sb.setLength(0);
+    }
+
+    private static int[] trigrams(String key) {
+        String padded = " " + key + " ";
+        if (padded.length() < 3) return new int[0];
+        int[] grams = new int[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = padded.charAt(i) * 31 * 31 + padded.charAt(i + 1) * 31 + padded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().sorted().toArray();
+    }
+
+    private static long[] minHash(int[] shingles) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int h = 0; h < HASHES; h++) {
+                long value = mix(shingle ^ SEEDS[h]);
+                if (value < signature[h]) signature[h] = value;
+            }
+        }
+        return signature;
+    }
+
+    /** Jaccard similarity of two sorted, distinct int sets. */
+    private static double jaccard(int[] a, int[] b) {
+        int i = 0, j = 0, common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int keep, int merge) {
+        int a = find(parent, keep);
+        int b = find(parent, merge);
+        if (a == b) return;
+        // Lower index (earlier spelling) stays root so "first spelling" canonical is stable
+        if (a < b) parent[b] = a;
+        else parent[a] = b;
+    }
+
+    /**
+     * @param canonicalByName  spelling → canonical name, only for spellings that change
+     * @param newAliases       alias key → canonical name for exact (key or GSTIN) merges not yet stored
+     * @param suggestedAliases alias key → canonical name for fuzzy merges; applied to this call only, never
+     *                         safe to store without review
+     */
+    public record Result(Map<String, String> canonicalByName, Map<String, String> newAliases,
+                         Map<String, String> suggestedAliases) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.learning.backendservice.domain.rule37;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bill-wise matching: a payment carrying a bill reference settles the purchase(s) with that reference.
+ *
+ * <p>Purchases are indexed once by reference in a hash map, so each payment costs O(1) to resolve.
+ * Payments without a reference, references with no purchase, and any amounts left over on either side
+ * fall back to {@link FifoMatchingStrategy}.</p>
+ */
+@Component
+public class BillReferenceMatchingStrategy implements PaymentMatchingStrategy {
+
+    private final FifoMatchingStrategy fifo;
+
+    public BillReferenceMatchingStrategy(FifoMatchingStrategy fifo) {
+        this.fifo = fifo;
+    }
+
+    @Override
+    public MatchingMode getMode() {
+        return MatchingMode.BILL_REFERENCE;
+    }
+
+    @Override
+    public void match(List<MatchItem> purchases, List<MatchItem> payments, MatchListener listener) {
+        Map<String, ArrayDeque<MatchItem>> byRef = new HashMap<>();
+        for (MatchItem purchase : purchases) {
+            String key = refKey(purchase.billRef());
+            if (key != null) {
+                byRef.computeIfAbsent(key, k -> new ArrayDeque<>()).add(purchase);
+            }
+        }
+
+        if (!byRef.isEmpty()) {
+            for (MatchItem payment : payments) {
+                String key = refKey(payment.billRef());
+                ArrayDeque<MatchItem> bills = key != null ? byRef.get(key) : null;
+                while (bills != null && !bills.isEmpty() && !payment.isExhausted()) {
+                    MatchItem purchase = bills.peekFirst();
+                    double matched = Math.min(purchase.amount(), payment.amount());
+                    listener.onMatch(purchase, payment, matched);
+                    purchase.reduceBy(matched);
+                    payment.reduceBy(matched);
+                    if (purchase.isExhausted())
+                        bills.pollFirst();
+                }
+            }
+        }
+
+        // Exhausted items are skipped by the FIFO cursors, so leftovers keep chronological order
+        fifo.match(purchases, payments, listener);
+    }
+
+    private static String refKey(String billRef) {
+        if (billRef == null) return null;
+        String key = billRef.trim();
+        return key.isEmpty() ? null : key.toUpperCase(Locale.ROOT);
+    }
+}
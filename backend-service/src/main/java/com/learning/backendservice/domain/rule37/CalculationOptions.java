@@ -0,0 +1,40 @@
+package com.learning.backendservice.domain.rule37;
+
+import com.learning.backendservice.domain.ledger.SupplierNameIndex;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Tunable inputs of a Rule 37 calculation. Defaults reproduce the statutory 18% GST / 18% p.a. interest.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CalculationOptions {
+
+    public static final CalculationOptions DEFAULTS = CalculationOptions.builder().build();
+
+    @Builder.Default
+    PaymentMatchingStrategy.MatchingMode matchingMode = PaymentMatchingStrategy.MatchingMode.AUTO;
+
+    /** Default GST rate in percent; ITC = principal × rate / (100 + rate) */
+    @Builder.Default
+    double gstRatePercent = 18.0;
+
+    /** Per-supplier GST slab overrides keyed by {@link #supplierKey(String)} */
+    @Builder.Default
+    Map<String, Double> supplierGstRates = Map.of();
+
+    /** Annual interest rate on reversed ITC (0.18 = 18% p.a.) */
+    @Builder.Default
+    double interestRate = 0.18;
+
+    /**
+     * Supplier key for rate lookups: the {@link SupplierNameIndex#key} merge key, so a slab set for one spelling
+     * still applies after canonicalization renames that supplier to another spelling with the same key.
+     */
+    public static String supplierKey(String supplier) {
+        return SupplierNameIndex.key(supplier);
+    }
+}
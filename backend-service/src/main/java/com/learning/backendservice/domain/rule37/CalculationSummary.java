@@ -21,6 +21,7 @@ public class CalculationSummary {
     private double totalInterest;
     private double totalItcReversal;
     private List<InterestRow> details;
+    private List<InterestRow> openPurchases; // Unpaid within 180 days (SAFE/AT_RISK); not in totals
 
     // Production enhancements
     private int atRiskCount; // Purchases 151-180 days unpaid
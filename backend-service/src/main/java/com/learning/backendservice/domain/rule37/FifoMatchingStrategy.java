@@ -0,0 +1,46 @@
+package com.learning.backendservice.domain.rule37;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * FIFO matching: each payment settles the oldest outstanding purchase first.
+ * Cursor-based, so a supplier with n purchases and m payments costs O(n + m).
+ */
+@Component
+public class FifoMatchingStrategy implements PaymentMatchingStrategy {
+
+    @Override
+    public MatchingMode getMode() {
+        return MatchingMode.FIFO;
+    }
+
+    @Override
+    public void match(List<MatchItem> purchases, List<MatchItem> payments, MatchListener listener) {
+        int purchaseIndex = nextOpen(purchases, 0);
+        int paymentIndex = nextOpen(payments, 0);
+
+        while (purchaseIndex < purchases.size() && paymentIndex < payments.size()) {
+            MatchItem purchase = purchases.get(purchaseIndex);
+            MatchItem payment = payments.get(paymentIndex);
+            double matched = Math.min(purchase.amount(), payment.amount());
+            listener.onMatch(purchase, payment, matched);
+
+            purchase.reduceBy(matched);
+            payment.reduceBy(matched);
+            if (purchase.isExhausted())
+                purchaseIndex = nextOpen(purchases, purchaseIndex + 1);
+            if (payment.isExhausted())
+                paymentIndex = nextOpen(payments, paymentIndex + 1);
+        }
+    }
+
+    private static int nextOpen(List<MatchItem> items, int from) {
+        int i = from;
+        while (i < items.size() && items.get(i).isExhausted()) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,54 @@
+package com.learning.backendservice.domain.rule37;
+
+import java.time.LocalDate;
+
+/**
+ * Purchase or payment being matched; {@code amount} is reduced in place as it is consumed.
+ */
+public final class MatchItem {
+
+    private final LocalDate date;
+    private final String billRef;
+    private final double itcPerRupee;
+    private double amount;
+
+    public MatchItem(LocalDate date, double amount, String billRef) {
+        this(date, amount, billRef, Double.NaN);
+    }
+
+    /**
+     * @param itcPerRupee exact ITC / gross amount from the ledger's tax columns; NaN when unknown
+     */
+    public MatchItem(LocalDate date, double amount, String billRef, double itcPerRupee) {
+        this.date = date;
+        this.amount = amount;
+        this.billRef = billRef;
+        this.itcPerRupee = itcPerRupee;
+    }
+
+    public LocalDate date() {
+        return date;
+    }
+
+    public double amount() {
+        return amount;
+    }
+
+    /** Bill reference (Tally "Agst Ref"); null when the ledger has none. */
+    public String billRef() {
+        return billRef;
+    }
+
+    /** ITC per rupee of principal taken from the ledger, or NaN to use the configured rate. */
+    public double itcPerRupee() {
+        return itcPerRupee;
+    }
+
+    public void reduceBy(double value) {
+        this.amount -= value;
+    }
+
+    public boolean isExhausted() {
+        return amount <= 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.learning.backendservice.domain.rule37;
+
+import java.util.List;
+
+/**
+ * SPI for matching one supplier's payments against its purchases.
+ *
+ * <p>Implementations consume {@link MatchItem#amount()} in place and report each matched slice to the
+ * {@link MatchListener}; purchases left with a positive amount are treated as unpaid by the calculator.
+ * Both lists are sorted by date.</p>
+ *
+ * @see FifoMatchingStrategy
+ * @see BillReferenceMatchingStrategy
+ */
+public interface PaymentMatchingStrategy {
+
+    MatchingMode getMode();
+
+    void match(List<MatchItem> purchases, List<MatchItem> payments, MatchListener listener);
+
+    @FunctionalInterface
+    interface MatchListener {
+        void onMatch(MatchItem purchase, MatchItem payment, double amount);
+    }
+
+    enum MatchingMode {
+        /** Bill-wise when the ledger carries bill references, FIFO otherwise */
+        AUTO,
+        /** Oldest purchase first */
+        FIFO,
+        /** Exact invoice by bill reference; unreferenced and leftover amounts fall back to FIFO */
+        BILL_REFERENCE
+    }
+}
@@ -1,6 +1,7 @@
 package com.learning.backendservice.domain.rule37;
 
 import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -8,8 +9,10 @@ import java.time.Month;
 import java.time.format.TextStyle;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -23,9 +26,14 @@ import java.util.Map;
  * <li>ITC Amount = principal × (18 / 118)</li>
  * <li>Interest = itcAmount × 0.18 × delayDays / 365</li>
  * </ul>
+ * Rates default to the above and can be overridden per calculation via {@link CalculationOptions},
+ * including per-supplier GST slabs. Slabs are resolved once per calculation into an ITC rate table and
+ * once per supplier into a slab id, so the matching loop does no lookups per row. Purchases whose ledger
+ * carries tax columns use their exact ITC (pro rata for partial matches) instead of the derived rate.
  *
  * <p>
- * <b>Algorithm:</b> FIFO purchase/payment matching per supplier.
+ * <b>Algorithm:</b> purchase/payment matching per supplier via a {@link PaymentMatchingStrategy}
+ * (FIFO, or bill-wise when the ledger carries bill references).
  *
  * @see Rule37InterestCalculator
  */
@@ -33,111 +41,151 @@ import java.util.Map;
 public class Rule37InterestCalculationService implements Rule37InterestCalculator {
 
     // GST calculation constants
-    private static final double ITC_RATE = 18.0 / 118.0;
-    private static final double INTEREST_RATE = 0.18;
-    private static final int DAYS_THRESHOLD = 180;
-    private static final int AT_RISK_THRESHOLD = 150;
+    public static final int DAYS_THRESHOLD = 180;
+    public static final int AT_RISK_THRESHOLD = 150;
+    /** Days before the deadline during which an open purchase is AT_RISK. */
+    public static final int AT_RISK_WINDOW_DAYS = DAYS_THRESHOLD - AT_RISK_THRESHOLD;
     private static final int DAYS_IN_YEAR = 365;
     private static final int DECIMAL_PLACES = 2;
 
+    private final Map<PaymentMatchingStrategy.MatchingMode, PaymentMatchingStrategy> strategies =
+            new EnumMap<>(PaymentMatchingStrategy.MatchingMode.class);
+
+    public Rule37InterestCalculationService(List<PaymentMatchingStrategy> strategies) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getMode(), strategy));
+    }
+
     @Override
-    public CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate) {
+    public CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate, CalculationOptions options) {
+        var strategy = resolveStrategy(entries, options.getMatchingMode());
+        var ctx = new CalculationContext(asOnDate, RateTable.of(options), options.getInterestRate());
         var queues = partitionBySupplier(entries);
-        var results = processAllSuppliers(queues, asOnDate);
-        return buildSummary(results, asOnDate);
+        List<InterestRow> openPurchases = new ArrayList<>();
+        var results = processAllSuppliers(queues, strategy, ctx, openPurchases);
+        return buildSummary(results, openPurchases, asOnDate);
+    }
+
+    private PaymentMatchingStrategy resolveStrategy(List<LedgerEntry> entries, PaymentMatchingStrategy.MatchingMode mode) {
+        if (mode == PaymentMatchingStrategy.MatchingMode.AUTO) {
+            boolean hasBillRefs = entries.stream()
+                    .anyMatch(e -> e.getBillRef() != null && !e.getBillRef().isBlank());
+            mode = hasBillRefs ? PaymentMatchingStrategy.MatchingMode.BILL_REFERENCE
+                    : PaymentMatchingStrategy.MatchingMode.FIFO;
+        }
+        var strategy = strategies.get(mode);
+        if (strategy == null) {
+            throw new IllegalStateException("No payment matching strategy registered for " + mode);
+        }
+        return strategy;
     }
 
     /**
-     * Partitions ledger entries into purchase and payment queues per supplier.
+     * Partitions ledger entries into purchase and payment queues per supplier id.
+     * Uses the ids interned by the parser; entries built without a dictionary are interned here.
      */
     private SupplierQueues partitionBySupplier(List<LedgerEntry> entries) {
-        Map<String, List<MutableLedgerItem>> purchases = new LinkedHashMap<>();
-        Map<String, List<MutableLedgerItem>> payments = new LinkedHashMap<>();
-
-        entries.stream()
-                .sorted(Comparator.comparing(LedgerEntry::getDate))
-                .forEach(entry -> {
-                    var map = entry.getEntryType() == LedgerEntry.LedgerEntryType.PURCHASE
-                            ? purchases
-                            : payments;
-                    map.computeIfAbsent(entry.getSupplier(), k -> new ArrayList<>())
-                            .add(new MutableLedgerItem(entry.getDate(), entry.getAmount()));
-                });
-
-        return new SupplierQueues(purchases, payments);
+        List<LedgerEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(LedgerEntry::getDate));
+
+        boolean interned = sorted.stream().allMatch(e -> e.getSupplierId() != null);
+        SupplierDictionary local = interned ? null : new SupplierDictionary();
+        int[] ids = new int[sorted.size()];
+        int idCount = 0;
+        for (int i = 0; i < ids.length; i++) {
+            LedgerEntry entry = sorted.get(i);
+            ids[i] = interned ? entry.getSupplierId() : local.intern(entry.getSupplier());
+            idCount = Math.max(idCount, ids[i] + 1);
+        }
+
+        String[] names = new String[idCount];
+        int[] order = new int[idCount];
+        int supplierCount = 0;
+        @SuppressWarnings("unchecked")
+        List<MatchItem>[] purchases = new List[idCount];
+        @SuppressWarnings("unchecked")
+        List<MatchItem>[] payments = new List[idCount];
+
+        for (int i = 0; i < ids.length; i++) {
+            LedgerEntry entry = sorted.get(i);
+            int id = ids[i];
+            if (names[id] == null) {
+                names[id] = interned ? entry.getSupplier() : local.name(id);
+                order[supplierCount++] = id;
+            }
+            var queues = entry.getEntryType() == LedgerEntry.LedgerEntryType.PURCHASE ? purchases : payments;
+            if (queues[id] == null) {
+                queues[id] = new ArrayList<>();
+            }
+            queues[id].add(new MatchItem(entry.getDate(), entry.getAmount(), entry.getBillRef(), itcPerRupee(entry)));
+        }
+
+        return new SupplierQueues(names, Arrays.copyOf(order, supplierCount), purchases, payments);
     }
 
     /**
      * Processes all suppliers and collects interest rows.
      */
-    private List<InterestRow> processAllSuppliers(SupplierQueues queues, LocalDate asOnDate) {
+    private List<InterestRow> processAllSuppliers(SupplierQueues queues, PaymentMatchingStrategy strategy,
+            CalculationContext ctx, List<InterestRow> openPurchases) {
         List<InterestRow> results = new ArrayList<>();
 
-        queues.purchases().forEach((supplier, purchaseQueue) -> {
-            var paymentQueue = new ArrayList<>(
-                    queues.payments().getOrDefault(supplier, List.of()));
-            var pQueue = new ArrayList<>(purchaseQueue);
-
-            // FIFO matching for PAID_LATE entries
-            processFifoMatching(supplier, pQueue, paymentQueue, asOnDate, results);
-
-            // Remaining purchases are UNPAID
-            processUnpaidPurchases(supplier, pQueue, asOnDate, results);
-        });
+        for (int id : queues.order()) {
+            var purchaseQueue = queues.purchases()[id];
+            if (purchaseQueue == null) {
+                continue;
+            }
+            var paymentQueue = queues.payments()[id] != null ? queues.payments()[id] : List.<MatchItem>of();
+            String supplier = queues.names()[id];
+            double itcRate = ctx.rates().itcRate(ctx.rates().slabOf(supplier));
+
+            // Matching for PAID_LATE entries
+            strategy.match(purchaseQueue, paymentQueue, (purchase, payment, matched) -> {
+                int delayDays = daysBetween(purchase.date(), payment.date());
+                if (delayDays > DAYS_THRESHOLD) {
+                    results.add(createInterestRow(supplier, purchase.date(), payment.date(),
+                            matched, delayDays, InterestRow.InterestStatus.PAID_LATE,
+                            effectiveItcRate(purchase, itcRate), ctx));
+                }
+            });
+
+            // Remaining purchases are UNPAID (breached) or still open (within 180 days)
+            processUnpaidPurchases(supplier, purchaseQueue, itcRate, ctx, results, openPurchases);
+        }
 
         return results;
     }
 
     /**
-     * FIFO matching algorithm: matches purchases against payments chronologically.
+     * Processes remaining unpaid purchases: beyond 180 days they are breached result rows,
+     * otherwise they are open purchases (SAFE or AT_RISK) that carry no interest yet.
      */
-    private void processFifoMatching(String supplier, List<MutableLedgerItem> purchases,
-            List<MutableLedgerItem> payments, LocalDate asOnDate, List<InterestRow> results) {
-
-        while (!purchases.isEmpty() && !payments.isEmpty()) {
-            var purchase = purchases.getFirst();
-            var payment = payments.getFirst();
-            double matched = Math.min(purchase.amount(), payment.amount());
-            int delayDays = daysBetween(purchase.date(), payment.date());
-
-            if (delayDays > DAYS_THRESHOLD) {
-                results.add(createInterestRow(supplier, purchase.date(), payment.date(),
-                        matched, delayDays, InterestRow.InterestStatus.PAID_LATE, asOnDate));
-            }
+    private void processUnpaidPurchases(String supplier, List<MatchItem> purchases, double itcRate,
+            CalculationContext ctx, List<InterestRow> results, List<InterestRow> openPurchases) {
 
-            // Reduce amounts and remove exhausted items
-            purchase.reduceBy(matched);
-            payment.reduceBy(matched);
+        for (MatchItem purchase : purchases) {
             if (purchase.isExhausted())
-                purchases.removeFirst();
-            if (payment.isExhausted())
-                payments.removeFirst();
+                continue;
+            int age = daysBetween(purchase.date(), ctx.asOnDate());
+            InterestRow row = createInterestRow(supplier, purchase.date(), null, purchase.amount(),
+                    age, InterestRow.InterestStatus.UNPAID, effectiveItcRate(purchase, itcRate), ctx);
+            if (age > DAYS_THRESHOLD) {
+                results.add(row);
+            } else if (age >= 0) {
+                row.setInterest(0);
+                openPurchases.add(row);
+            }
         }
     }
 
-    /**
-     * Processes remaining unpaid purchases that exceed the 180-day threshold.
-     */
-    private void processUnpaidPurchases(String supplier, List<MutableLedgerItem> purchases,
-            LocalDate asOnDate, List<InterestRow> results) {
-
-        purchases.stream()
-                .filter(p -> daysBetween(p.date(), asOnDate) > DAYS_THRESHOLD)
-                .forEach(purchase -> results.add(createInterestRow(
-                        supplier, purchase.date(), null, purchase.amount(),
-                        daysBetween(purchase.date(), asOnDate),
-                        InterestRow.InterestStatus.UNPAID, asOnDate)));
-    }
-
     /**
      * Creates an InterestRow with all computed fields.
      */
     private InterestRow createInterestRow(String supplier, LocalDate purchaseDate,
             LocalDate paymentDate, double principal, int delayDays,
-            InterestRow.InterestStatus status, LocalDate asOnDate) {
+            InterestRow.InterestStatus status, double itcRate, CalculationContext ctx) {
 
         LocalDate deadline = purchaseDate.plusDays(DAYS_THRESHOLD);
-        var itcInterest = computeItcAndInterest(principal, delayDays);
+        var itcInterest = computeItcAndInterest(principal, delayDays, itcRate, ctx.interestRate());
 
         return InterestRow.builder()
                 .supplier(supplier)
@@ -151,14 +199,15 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
                 .paymentDeadline(deadline)
                 .riskCategory(categorizeRisk(delayDays))
                 .gstr3bPeriod(formatGstr3bPeriod(deadline))
-                .daysToDeadline(daysBetween(asOnDate, deadline))
+                .daysToDeadline(daysBetween(ctx.asOnDate(), deadline))
                 .build();
     }
 
     /**
      * Builds the calculation summary with aggregated metrics.
      */
-    private CalculationSummary buildSummary(List<InterestRow> results, LocalDate asOnDate) {
+    private CalculationSummary buildSummary(List<InterestRow> results, List<InterestRow> openPurchases,
+            LocalDate asOnDate) {
         double totalInterest = results.stream()
                 .mapToDouble(InterestRow::getInterest)
                 .sum();
@@ -168,7 +217,7 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
                 .mapToDouble(InterestRow::getItcAmount)
                 .sum();
 
-        var atRiskRows = results.stream()
+        var atRiskRows = openPurchases.stream()
                 .filter(r -> r.getRiskCategory() == InterestRow.RiskCategory.AT_RISK)
                 .toList();
 
@@ -180,6 +229,7 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
                 .totalInterest(round(totalInterest))
                 .totalItcReversal(round(totalItcReversal))
                 .details(results)
+                .openPurchases(openPurchases)
                 .atRiskCount(atRiskRows.size())
                 .atRiskAmount(round(atRiskRows.stream().mapToDouble(InterestRow::getPrincipal).sum()))
                 .breachedCount((int) breachedCount)
@@ -191,12 +241,23 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
     // Pure calculation methods (Single Responsibility)
     // ─────────────────────────────────────────────────────────────────────────────
 
-    private static ItcInterest computeItcAndInterest(double principal, int delayDays) {
-        double itcAmount = round(principal * ITC_RATE);
-        double interest = round(itcAmount * INTEREST_RATE * delayDays / DAYS_IN_YEAR);
+    private static ItcInterest computeItcAndInterest(double principal, int delayDays, double itcRate,
+            double interestRate) {
+        double itcAmount = round(principal * itcRate);
+        double interest = round(itcAmount * interestRate * delayDays / DAYS_IN_YEAR);
         return new ItcInterest(itcAmount, interest);
     }
 
+    private static double itcPerRupee(LedgerEntry entry) {
+        Double itc = entry.getItcAmount();
+        return itc != null && entry.getAmount() > 0 ? itc / entry.getAmount() : Double.NaN;
+    }
+
+    private static double effectiveItcRate(MatchItem purchase, double supplierItcRate) {
+        double exact = purchase.itcPerRupee();
+        return Double.isNaN(exact) ? supplierItcRate : exact;
+    }
+
     private static InterestRow.RiskCategory categorizeRisk(int delayDays) {
         if (delayDays <= AT_RISK_THRESHOLD)
             return InterestRow.RiskCategory.SAFE;
@@ -227,37 +288,57 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
     private record ItcInterest(double itcAmount, double interest) {
     }
 
-    private record SupplierQueues(
-            Map<String, List<MutableLedgerItem>> purchases,
-            Map<String, List<MutableLedgerItem>> payments) {
+    /** Per-calculation inputs, resolved once before the matching loop. */
+    private record CalculationContext(LocalDate asOnDate, RateTable rates, double interestRate) {
     }
 
     /**
-     * Mutable ledger item for FIFO matching (amount reduces during processing).
+     * ITC rate per GST slab id (slab 0 = default rate) plus supplier → slab id.
      */
-    private static final class MutableLedgerItem {
-        private final LocalDate date;
-        private double amount;
+    private static final class RateTable {
+        private final double[] itcRateBySlab;
+        private final Map<String, Integer> slabBySupplier;
 
-        MutableLedgerItem(LocalDate date, double amount) {
-            this.date = date;
-            this.amount = amount;
+        private RateTable(double[] itcRateBySlab, Map<String, Integer> slabBySupplier) {
+            this.itcRateBySlab = itcRateBySlab;
+            this.slabBySupplier = slabBySupplier;
         }
 
-        LocalDate date() {
-            return date;
+        static RateTable of(CalculationOptions options) {
+            List<Double> slabRates = new ArrayList<>();
+            slabRates.add(options.getGstRatePercent());
+            Map<String, Integer> slabBySupplier = new HashMap<>();
+            options.getSupplierGstRates().forEach((supplierKey, rate) -> {
+                int slab = slabRates.indexOf(rate);
+                if (slab < 0) {
+                    slabRates.add(rate);
+                    slab = slabRates.size() - 1;
+                }
+                slabBySupplier.put(supplierKey, slab);
+            });
+
+            double[] itcRateBySlab = new double[slabRates.size()];
+            for (int i = 0; i < itcRateBySlab.length; i++) {
+                double rate = slabRates.get(i);
+                itcRateBySlab[i] = rate / (100.0 + rate);
+            }
+            return new RateTable(itcRateBySlab, slabBySupplier);
         }
 
-        double amount() {
-            return amount;
+        int slabOf(String supplier) {
+            return slabBySupplier.isEmpty() ? 0
+                    : slabBySupplier.getOrDefault(CalculationOptions.supplierKey(supplier), 0);
         }
 
-        void reduceBy(double value) {
-            this.amount -= value;
+        double itcRate(int slab) {
+            return itcRateBySlab[slab];
         }
+    }
 
-        boolean isExhausted() {
-            return amount <= 0;
-        }
+    /**
+     * Queues indexed by supplier id; {@code order} lists ids by first appearance in date order.
+     */
+    private record SupplierQueues(String[] names, int[] order, List<MatchItem>[] purchases,
+            List<MatchItem>[] payments) {
     }
 }
@@ -7,7 +7,7 @@ import java.util.List;
 
 /**
  * Interface for Rule 37 (180-day ITC reversal) interest calculation.
- * Pure domain logic: FIFO matching, ITC/interest formulas.
+ * Pure domain logic: purchase/payment matching, ITC/interest formulas.
  */
 public interface Rule37InterestCalculator {
 
@@ -18,5 +18,14 @@ public interface Rule37InterestCalculator {
      * @param asOnDate calculation date (for UNPAID delay)
      * @return calculation summary with totals and detail rows
      */
-    CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate);
+    default CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate) {
+        return calculate(entries, asOnDate, CalculationOptions.DEFAULTS);
+    }
+
+    /**
+     * Computes Rule 37 interest and ITC reversal with explicit matching mode and rates.
+     *
+     * @param options matching mode (AUTO is bill-wise when entries carry bill references), GST and interest rates
+     */
+    CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate, CalculationOptions options);
 }
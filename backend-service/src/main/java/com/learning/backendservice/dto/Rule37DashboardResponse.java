@@ -0,0 +1,68 @@
+package com.learning.backendservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tenant-level Rule 37 dashboard, answered entirely from rollup tables.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37DashboardResponse {
+
+    private Totals totals;
+    @Builder.Default
+    private List<PeriodRollup> trend = new ArrayList<>();      // Newest month first
+    @Builder.Default
+    private List<SupplierRollup> topSuppliers = new ArrayList<>(); // Highest interest first
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private long runCount;
+        private BigDecimal totalInterest;
+        private BigDecimal totalItcReversal;
+        private BigDecimal atRiskAmount;
+        private long atRiskCount;
+        private long breachedCount;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PeriodRollup {
+        private LocalDate periodMonth;
+        private int runCount;
+        private BigDecimal totalInterest;
+        private BigDecimal totalItcReversal;
+        private BigDecimal atRiskAmount;
+        private int atRiskCount;
+        private int breachedCount;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SupplierRollup {
+        private String supplier;
+        private int runCount;
+        private BigDecimal totalInterest;
+        private BigDecimal totalItcReversal;
+        private BigDecimal atRiskAmount;
+        private int atRiskCount;
+        private int breachedCount;
+    }
+}
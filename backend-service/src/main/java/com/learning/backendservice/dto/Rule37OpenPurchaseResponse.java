@@ -0,0 +1,28 @@
+package com.learning.backendservice.dto;
+
+import com.learning.backendservice.domain.rule37.InterestRow;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37OpenPurchaseResponse {
+
+    private Long runId;
+    private String ledgerName;
+    private String supplier;
+    private LocalDate purchaseDate;
+    private LocalDate paymentDeadline;
+    private int daysToDeadline;                    // Relative to today
+    private InterestRow.RiskCategory riskCategory; // Relative to today
+    private BigDecimal principal;
+    private BigDecimal itcAmount;
+    private LocalDate asOnDate;                    // Snapshot date of the run
+}
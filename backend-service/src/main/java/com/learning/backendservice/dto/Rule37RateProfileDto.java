@@ -0,0 +1,53 @@
+package com.learning.backendservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tenant rate profile: default GST rate, interest rate and per-supplier GST slabs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37RateProfileDto {
+
+    @NotNull(message = "gstRatePercent is required")
+    @DecimalMin(value = "0", message = "gstRatePercent must be >= 0")
+    @DecimalMax(value = "100", message = "gstRatePercent must be <= 100")
+    private Double gstRatePercent;
+
+    @NotNull(message = "interestRate is required")
+    @DecimalMin(value = "0", message = "interestRate must be >= 0")
+    @DecimalMax(value = "1", message = "interestRate must be <= 1 (fraction per annum)")
+    private Double interestRate;
+
+    @Valid
+    @Builder.Default
+    private List<SupplierRate> supplierRates = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SupplierRate {
+
+        @NotBlank(message = "supplier is required")
+        private String supplier;
+
+        @NotNull(message = "gstRatePercent is required")
+        @DecimalMin(value = "0", message = "gstRatePercent must be >= 0")
+        @DecimalMax(value = "100", message = "gstRatePercent must be <= 100")
+        private Double gstRatePercent;
+    }
+}
@@ -0,0 +1,36 @@
+package com.learning.backendservice.dto;
+
+import com.learning.backendservice.domain.rule37.PaymentMatchingStrategy;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * What-if parameters; omitted values fall back to the tenant's rate profile captured when the session was
+ * created (its default rates and supplier slabs; the profile sets no matching mode, so that defaults to AUTO).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatIfRequest {
+
+    @NotNull(message = "asOnDate is required")
+    private LocalDate asOnDate;
+
+    @DecimalMin(value = "0", message = "gstRatePercent must be >= 0")
+    @DecimalMax(value = "100", message = "gstRatePercent must be <= 100")
+    private Double gstRatePercent;
+
+    @DecimalMin(value = "0", message = "interestRate must be >= 0")
+    @DecimalMax(value = "1", message = "interestRate must be <= 1 (fraction per annum)")
+    private Double interestRate;
+
+    private PaymentMatchingStrategy.MatchingMode matchingMode;
+}
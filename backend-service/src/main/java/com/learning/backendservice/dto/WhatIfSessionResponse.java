@@ -0,0 +1,31 @@
+package com.learning.backendservice.dto;
+
+import com.learning.backendservice.domain.rule37.PaymentMatchingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatIfSessionResponse {
+
+    private String sessionId;
+    private LocalDate asOnDate;
+    private double gstRatePercent;
+    private double interestRate;
+    private PaymentMatchingStrategy.MatchingMode matchingMode;
+    private double totalInterest;
+    private double totalItcReversal;
+    private long calculationMillis;       // Recalculation time, excluding parsing
+    @Builder.Default
+    private List<UploadResult.LedgerResultDto> results = new ArrayList<>();
+    @Builder.Default
+    private List<UploadResult.FileUploadError> errors = new ArrayList<>(); // Only on session creation
+}
@@ -70,4 +70,9 @@ public class Rule37CalculationRun implements TenantAware {
 
     @Column(name = "expires_at", nullable = false)
     private OffsetDateTime expiresAt;
+
+    /** True once this run's contribution was added to the dashboard rollups. */
+    @Column(name = "rollup_applied", nullable = false)
+    @Builder.Default
+    private boolean rollupApplied = false;
 }
@@ -0,0 +1,63 @@
+package com.learning.backendservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Open (unpaid, not yet breached) purchase indexed by payment deadline.
+ * Sequence ids with allocation size 50 keep inserts JDBC-batched on large ledgers.
+ */
+@Entity
+@Table(name = "rule37_open_purchases")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37OpenPurchase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rule37_open_purchases_seq")
+    @SequenceGenerator(name = "rule37_open_purchases_seq", sequenceName = "rule37_open_purchases_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "ledger_name", nullable = false, length = 255)
+    private String ledgerName;
+
+    @Column(name = "supplier", nullable = false, length = 255)
+    private String supplier;
+
+    @Column(name = "purchase_date", nullable = false)
+    private LocalDate purchaseDate;
+
+    @Column(name = "payment_deadline", nullable = false)
+    private LocalDate paymentDeadline;
+
+    @Column(name = "principal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal principal;
+
+    @Column(name = "itc_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal itcAmount;
+
+    @Column(name = "as_on_date", nullable = false)
+    private LocalDate asOnDate;
+}
@@ -0,0 +1,40 @@
+package com.learning.backendservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Per-tenant Rule 37 rate defaults; supplier slab overrides live in {@link Rule37SupplierGstRate}.
+ */
+@Entity
+@Table(name = "rule37_rate_profiles")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37RateProfile {
+
+    @Id
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+
+    @Column(name = "gst_rate_percent", nullable = false, precision = 5, scale = 2)
+    private BigDecimal gstRatePercent;
+
+    @Column(name = "interest_rate", nullable = false, precision = 6, scale = 4)
+    private BigDecimal interestRate;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.learning.backendservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * GST slab override for one supplier of a tenant.
+ */
+@Entity
+@Table(name = "rule37_supplier_gst_rates")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37SupplierGstRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "supplier_key", nullable = false, length = 255)
+    private String supplierKey;
+
+    @Column(name = "supplier", nullable = false, length = 255)
+    private String supplier;
+
+    @Column(name = "gst_rate_percent", nullable = false, precision = 5, scale = 2)
+    private BigDecimal gstRatePercent;
+}
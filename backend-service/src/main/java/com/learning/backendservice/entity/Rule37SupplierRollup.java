@@ -0,0 +1,62 @@
+package com.learning.backendservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Per-supplier Rule 37 aggregates for the dashboard (top suppliers by interest).
+ * Written only through {@link com.learning.backendservice.repository.Rule37SupplierRollupRepository#applyDelta};
+ * one row per (tenant, supplier).
+ */
+@Entity
+@Table(name = "rule37_supplier_rollups")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37SupplierRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "supplier", nullable = false, length = 255)
+    private String supplier;
+
+    @Column(name = "run_count", nullable = false)
+    private int runCount;
+
+    @Column(name = "total_interest", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalInterest;
+
+    @Column(name = "total_itc_reversal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalItcReversal;
+
+    @Column(name = "at_risk_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal atRiskAmount;
+
+    @Column(name = "at_risk_count", nullable = false)
+    private int atRiskCount;
+
+    @Column(name = "breached_count", nullable = false)
+    private int breachedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
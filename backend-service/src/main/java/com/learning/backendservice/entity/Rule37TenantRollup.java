@@ -0,0 +1,63 @@
+package com.learning.backendservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Monthly per-tenant Rule 37 aggregates for the dashboard.
+ * Written only through {@link com.learning.backendservice.repository.Rule37TenantRollupRepository#applyDelta};
+ * one row per (tenant, month of as_on_date).
+ */
+@Entity
+@Table(name = "rule37_tenant_rollups")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Rule37TenantRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Column(name = "run_count", nullable = false)
+    private int runCount;
+
+    @Column(name = "total_interest", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalInterest;
+
+    @Column(name = "total_itc_reversal", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalItcReversal;
+
+    @Column(name = "at_risk_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal atRiskAmount;
+
+    @Column(name = "at_risk_count", nullable = false)
+    private int atRiskCount;
+
+    @Column(name = "breached_count", nullable = false)
+    private int breachedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,59 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface Rule37OpenPurchaseRepository extends JpaRepository<Rule37OpenPurchase, Long> {
+
+    Page<Rule37OpenPurchase> findByTenantIdAndPaymentDeadlineBetweenOrderByPaymentDeadlineAsc(
+            String tenantId, LocalDate from, LocalDate to, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Rule37OpenPurchase p WHERE p.runId = :runId")
+    int deleteByRunId(@Param("runId") Long runId);
+
+    /**
+     * Drops entries of older runs for the same ledgers so the index holds only the latest upload per ledger.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM Rule37OpenPurchase p
+            WHERE p.tenantId = :tenantId AND p.ledgerName IN :ledgerNames AND p.runId <> :runId
+            """)
+    int deleteSuperseded(@Param("tenantId") String tenantId,
+                         @Param("ledgerNames") Collection<String> ledgerNames,
+                         @Param("runId") Long runId);
+
+    List<Rule37OpenPurchase> findByTenantIdAndPurchaseDate(String tenantId, LocalDate purchaseDate);
+
+    List<Rule37OpenPurchase> findByTenantIdAndPaymentDeadline(String tenantId, LocalDate paymentDeadline);
+
+    /**
+     * Distinct (tenant, purchase date, deadline) triples still ahead of {@code from}; one alert trigger each.
+     */
+    @Query("""
+            SELECT DISTINCT p.tenantId AS tenantId, p.purchaseDate AS purchaseDate, p.paymentDeadline AS paymentDeadline
+            FROM Rule37OpenPurchase p
+            WHERE p.paymentDeadline >= :from
+            """)
+    List<AlertTriggerView> findAlertTriggers(@Param("from") LocalDate from);
+
+    interface AlertTriggerView {
+        String getTenantId();
+
+        LocalDate getPurchaseDate();
+
+        LocalDate getPaymentDeadline();
+    }
+}
@@ -0,0 +1,9 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.Rule37RateProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface Rule37RateProfileRepository extends JpaRepository<Rule37RateProfile, String> {
+}
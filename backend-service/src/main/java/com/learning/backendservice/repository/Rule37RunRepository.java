@@ -4,8 +4,13 @@ import com.learning.backendservice.entity.Rule37CalculationRun;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +21,21 @@ public interface Rule37RunRepository extends JpaRepository<Rule37CalculationRun,
     Optional<Rule37CalculationRun> findByIdAndTenantId(Long id, String tenantId);
 
     boolean existsByIdAndTenantId(Long id, String tenantId);
+
+    List<Rule37CalculationRun> findByExpiresAtBeforeOrderByExpiresAtAsc(OffsetDateTime cutoff, Pageable pageable);
+
+    /**
+     * Deletes a run by id; returns 0 when another transaction already removed it,
+     * so callers revert derived data (rollups) exactly once.
+     */
+    @Modifying
+    @Query("DELETE FROM Rule37CalculationRun r WHERE r.id = :id")
+    int deleteRunById(@Param("id") Long id);
+
+    /**
+     * Records that a run was added to the dashboard rollups, so only such runs are later subtracted.
+     */
+    @Modifying
+    @Query("UPDATE Rule37CalculationRun r SET r.rollupApplied = true WHERE r.id = :id")
+    int markRollupApplied(@Param("id") Long id);
 }
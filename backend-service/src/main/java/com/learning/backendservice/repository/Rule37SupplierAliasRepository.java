@@ -0,0 +1,30 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.Rule37SupplierAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface Rule37SupplierAliasRepository extends JpaRepository<Rule37SupplierAlias, Long> {
+
+    List<Rule37SupplierAlias> findByTenantIdAndAliasKeyIn(String tenantId, Collection<String> aliasKeys);
+
+    /**
+     * Inserts an alias unless the tenant already has one for the key (first merge wins across concurrent uploads).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO rule37_supplier_aliases (tenant_id, alias_key, canonical_name)
+            VALUES (:tenantId, :aliasKey, :canonicalName)
+            ON CONFLICT (tenant_id, alias_key) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("tenantId") String tenantId,
+                       @Param("aliasKey") String aliasKey,
+                       @Param("canonicalName") String canonicalName);
+}
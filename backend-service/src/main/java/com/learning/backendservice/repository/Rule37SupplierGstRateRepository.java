@@ -0,0 +1,20 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.Rule37SupplierGstRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface Rule37SupplierGstRateRepository extends JpaRepository<Rule37SupplierGstRate, Long> {
+
+    List<Rule37SupplierGstRate> findByTenantIdOrderBySupplierAsc(String tenantId);
+
+    @Modifying
+    @Query("DELETE FROM Rule37SupplierGstRate r WHERE r.tenantId = :tenantId")
+    int deleteByTenantId(@Param("tenantId") String tenantId);
+}
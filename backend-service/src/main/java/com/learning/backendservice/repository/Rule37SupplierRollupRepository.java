@@ -0,0 +1,49 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.Rule37SupplierRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface Rule37SupplierRollupRepository extends JpaRepository<Rule37SupplierRollup, Long> {
+
+    List<Rule37SupplierRollup> findByTenantIdOrderByTotalInterestDesc(String tenantId, Pageable pageable);
+
+    /**
+     * Adds (or, with negative values, subtracts) one run's contribution for a supplier.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO rule37_supplier_rollups (tenant_id, supplier, run_count, total_interest,
+                    total_itc_reversal, at_risk_amount, at_risk_count, breached_count, updated_at)
+            VALUES (:tenantId, :supplier, :runCount, :totalInterest,
+                    :totalItcReversal, :atRiskAmount, :atRiskCount, :breachedCount, NOW())
+            ON CONFLICT (tenant_id, supplier) DO UPDATE SET
+                run_count = rule37_supplier_rollups.run_count + EXCLUDED.run_count,
+                total_interest = rule37_supplier_rollups.total_interest + EXCLUDED.total_interest,
+                total_itc_reversal = rule37_supplier_rollups.total_itc_reversal + EXCLUDED.total_itc_reversal,
+                at_risk_amount = rule37_supplier_rollups.at_risk_amount + EXCLUDED.at_risk_amount,
+                at_risk_count = rule37_supplier_rollups.at_risk_count + EXCLUDED.at_risk_count,
+                breached_count = rule37_supplier_rollups.breached_count + EXCLUDED.breached_count,
+                updated_at = NOW()
+            """, nativeQuery = true)
+    void applyDelta(@Param("tenantId") String tenantId,
+                    @Param("supplier") String supplier,
+                    @Param("runCount") int runCount,
+                    @Param("totalInterest") BigDecimal totalInterest,
+                    @Param("totalItcReversal") BigDecimal totalItcReversal,
+                    @Param("atRiskAmount") BigDecimal atRiskAmount,
+                    @Param("atRiskCount") int atRiskCount,
+                    @Param("breachedCount") int breachedCount);
+
+    @Modifying
+    @Query("DELETE FROM Rule37SupplierRollup r WHERE r.tenantId = :tenantId AND r.runCount <= 0")
+    int deleteEmpty(@Param("tenantId") String tenantId);
+}
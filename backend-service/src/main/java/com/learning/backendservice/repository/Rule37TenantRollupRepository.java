@@ -0,0 +1,79 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.Rule37TenantRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface Rule37TenantRollupRepository extends JpaRepository<Rule37TenantRollup, Long> {
+
+    List<Rule37TenantRollup> findByTenantIdOrderByPeriodMonthDesc(String tenantId, Pageable pageable);
+
+    @Query("""
+            SELECT COALESCE(SUM(r.runCount), 0) AS runCount,
+                   COALESCE(SUM(r.totalInterest), 0) AS totalInterest,
+                   COALESCE(SUM(r.totalItcReversal), 0) AS totalItcReversal,
+                   COALESCE(SUM(r.atRiskAmount), 0) AS atRiskAmount,
+                   COALESCE(SUM(r.atRiskCount), 0) AS atRiskCount,
+                   COALESCE(SUM(r.breachedCount), 0) AS breachedCount
+            FROM Rule37TenantRollup r
+            WHERE r.tenantId = :tenantId
+            """)
+    TotalsView sumByTenantId(@Param("tenantId") String tenantId);
+
+    /**
+     * Adds (or, with negative values, subtracts) one run's contribution to the monthly bucket.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO rule37_tenant_rollups (tenant_id, period_month, run_count, total_interest,
+                    total_itc_reversal, at_risk_amount, at_risk_count, breached_count, updated_at)
+            VALUES (:tenantId, :periodMonth, :runCount, :totalInterest,
+                    :totalItcReversal, :atRiskAmount, :atRiskCount, :breachedCount, NOW())
+            ON CONFLICT (tenant_id, period_month) DO UPDATE SET
+                run_count = rule37_tenant_rollups.run_count + EXCLUDED.run_count,
+                total_interest = rule37_tenant_rollups.total_interest + EXCLUDED.total_interest,
+                total_itc_reversal = rule37_tenant_rollups.total_itc_reversal + EXCLUDED.total_itc_reversal,
+                at_risk_amount = rule37_tenant_rollups.at_risk_amount + EXCLUDED.at_risk_amount,
+                at_risk_count = rule37_tenant_rollups.at_risk_count + EXCLUDED.at_risk_count,
+                breached_count = rule37_tenant_rollups.breached_count + EXCLUDED.breached_count,
+                updated_at = NOW()
+            """, nativeQuery = true)
+    void applyDelta(@Param("tenantId") String tenantId,
+                    @Param("periodMonth") LocalDate periodMonth,
+                    @Param("runCount") int runCount,
+                    @Param("totalInterest") BigDecimal totalInterest,
+                    @Param("totalItcReversal") BigDecimal totalItcReversal,
+                    @Param("atRiskAmount") BigDecimal atRiskAmount,
+                    @Param("atRiskCount") int atRiskCount,
+                    @Param("breachedCount") int breachedCount);
+
+    @Modifying
+    @Query("DELETE FROM Rule37TenantRollup r WHERE r.tenantId = :tenantId AND r.runCount <= 0")
+    int deleteEmpty(@Param("tenantId") String tenantId);
+
+    /**
+     * Tenant-wide totals projection.
+     */
+    interface TotalsView {
+        long getRunCount();
+
+        BigDecimal getTotalInterest();
+
+        BigDecimal getTotalItcReversal();
+
+        BigDecimal getAtRiskAmount();
+
+        long getAtRiskCount();
+
+        long getBreachedCount();
+    }
+}
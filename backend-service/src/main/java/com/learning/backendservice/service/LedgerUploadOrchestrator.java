@@ -2,6 +2,8 @@ package com.learning.backendservice.service;
 
 import com.learning.backendservice.config.UploadProperties;
 import com.learning.backendservice.domain.ledger.LedgerFileProcessor;
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
+import com.learning.backendservice.domain.rule37.CalculationOptions;
 import com.learning.backendservice.domain.rule37.LedgerResult;
 import com.learning.backendservice.dto.UploadResult;
 import com.learning.backendservice.entity.Rule37CalculationRun;
@@ -12,14 +14,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Multi-file ledger upload orchestrator. OOM-safe: processes files sequentially.
@@ -31,64 +31,62 @@ public class LedgerUploadOrchestrator {
 
     private final LedgerFileProcessor ledgerFileProcessor;
     private final Rule37RunRepository runRepository;
+    private final Rule37RollupService rollupService;
+    private final Rule37RiskIndexService riskIndexService;
+    private final Rule37RateProfileService rateProfileService;
     private final UploadProperties uploadProperties;
+    private final LedgerUploadSupport uploadSupport;
     private final int retentionDays;
 
     public LedgerUploadOrchestrator(LedgerFileProcessor ledgerFileProcessor,
                                     Rule37RunRepository runRepository,
+                                    Rule37RollupService rollupService,
+                                    Rule37RiskIndexService riskIndexService,
+                                    Rule37RateProfileService rateProfileService,
                                     UploadProperties uploadProperties,
+                                    LedgerUploadSupport uploadSupport,
                                     @Value("${app.retention.days:7}") int retentionDays) {
         this.ledgerFileProcessor = ledgerFileProcessor;
         this.runRepository = runRepository;
+        this.rollupService = rollupService;
+        this.riskIndexService = riskIndexService;
+        this.rateProfileService = rateProfileService;
         this.uploadProperties = uploadProperties;
+        this.uploadSupport = uploadSupport;
         this.retentionDays = retentionDays;
     }
 
     public UploadResult processUpload(List<MultipartFile> files, java.time.LocalDate asOnDate, String createdBy) {
-        validateRequest(files);
+        uploadSupport.validateRequest(files);
 
         List<LedgerResult> results = new ArrayList<>();
         List<UploadResult.FileUploadError> errors = new ArrayList<>();
-        DataSize maxSize = uploadProperties.getMaxFileSize();
+        CalculationOptions options = rateProfileService.resolveOptions(TenantContext.getCurrentTenant());
+        SupplierDictionary suppliers = new SupplierDictionary(uploadProperties.getSupplierNormalization());
 
         for (MultipartFile file : files) {
-            if (file.isEmpty()) {
-                errors.add(UploadResult.FileUploadError.builder()
-                        .filename(file.getOriginalFilename())
-                        .message("File is empty")
-                        .build());
-                continue;
-            }
-            if (file.getSize() > maxSize.toBytes()) {
-                errors.add(UploadResult.FileUploadError.builder()
-                        .filename(file.getOriginalFilename())
-                        .message("File exceeds max size " + maxSize)
-                        .build());
+            var rejected = uploadSupport.rejectFile(file);
+            if (rejected.isPresent()) {
+                errors.add(rejected.get());
                 continue;
             }
 
             try {
-                LedgerResult result = ledgerFileProcessor.process(file.getInputStream(), file.getOriginalFilename(), asOnDate);
+                LedgerResult result = ledgerFileProcessor.process(file.getInputStream(), file.getOriginalFilename(),
+                        asOnDate, options, suppliers);
                 results.add(result);
             } catch (LedgerParseException e) {
                 log.warn("Parse error for {}: {}", file.getOriginalFilename(), e.getMessage());
-                errors.add(UploadResult.FileUploadError.builder()
-                        .filename(file.getOriginalFilename())
-                        .message(e.getMessage())
-                        .build());
+                errors.add(LedgerUploadSupport.fileError(file.getOriginalFilename(), e.getMessage()));
             } catch (Exception e) {
                 log.warn("Processing error for {}: {}", file.getOriginalFilename(), e.getMessage());
-                errors.add(UploadResult.FileUploadError.builder()
-                        .filename(file.getOriginalFilename())
-                        .message("Processing failed: " + e.getMessage())
-                        .build());
+                errors.add(LedgerUploadSupport.fileError(file.getOriginalFilename(),
+                        "Processing failed: " + e.getMessage()));
             }
         }
 
         if (results.isEmpty()) {
-            throw new IllegalArgumentException("All files failed. " + errors.stream()
-                    .map(e -> e.getFilename() + ": " + e.getMessage())
-                    .collect(Collectors.joining("; ")));
+            throw LedgerUploadSupport.allFilesFailed(errors);
         }
 
         double totalInterest = results.stream()
@@ -117,11 +115,13 @@ public class LedgerUploadOrchestrator {
                 .build();
 
         run = runRepository.save(run);
+        rollupService.applyRun(run);
+        riskIndexService.indexRun(run);
 
         List<UploadResult.LedgerResultDto> resultDtos = results.stream()
                 .map(r -> UploadResult.LedgerResultDto.builder()
                         .ledgerName(r.getLedgerName())
-                        .summary(toSummaryDto(r.getSummary()))
+                        .summary(LedgerUploadSupport.toSummaryDto(r.getSummary()))
                         .build())
                 .toList();
 
@@ -132,38 +132,4 @@ public class LedgerUploadOrchestrator {
                 .errors(errors)
                 .build();
     }
-
-    private void validateRequest(List<MultipartFile> files) {
-        if (files == null || files.isEmpty()) {
-            throw new IllegalArgumentException("No files provided");
-        }
-        if (files.size() > uploadProperties.getMaxFiles()) {
-            throw new IllegalArgumentException("Too many files. Max: " + uploadProperties.getMaxFiles());
-        }
-    }
-
-    private static UploadResult.CalculationSummaryDto toSummaryDto(com.learning.backendservice.domain.rule37.CalculationSummary s) {
-        return UploadResult.CalculationSummaryDto.builder()
-                .totalInterest(s.getTotalInterest())
-                .totalItcReversal(s.getTotalItcReversal())
-                .details(s.getDetails().stream()
-                        .map(r -> UploadResult.InterestRowDto.builder()
-                                .supplier(r.getSupplier())
-                                .purchaseDate(r.getPurchaseDate() != null ? r.getPurchaseDate().toString() : null)
-                                .paymentDate(r.getPaymentDate() != null ? r.getPaymentDate().toString() : "Unpaid")
-                                .principal(r.getPrincipal())
-                                .delayDays(r.getDelayDays())
-                                .itcAmount(r.getItcAmount())
-                                .interest(r.getInterest())
-                                .status(r.getStatus().name())
-                                .build())
-                        .toList())
-                .build();
-    }
-
-    private static String getFileNameWithoutExtension(String filename) {
-        if (filename == null) return "Unknown";
-        int dot = filename.lastIndexOf('.');
-        return dot > 0 ? filename.substring(0, dot) : filename;
-    }
 }
@@ -0,0 +1,87 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.dto.UploadResult;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Request validation and result mapping shared by persisted uploads ({@link LedgerUploadOrchestrator})
+ * and what-if sessions ({@link WhatIfSessionService}), so both accept and report files identically.
+ */
+@Component
+class LedgerUploadSupport {
+
+    private final UploadProperties uploadProperties;
+
+    LedgerUploadSupport(UploadProperties uploadProperties) {
+        this.uploadProperties = uploadProperties;
+    }
+
+    void validateRequest(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("No files provided");
+        }
+        if (files.size() > uploadProperties.getMaxFiles()) {
+            throw new IllegalArgumentException("Too many files. Max: " + uploadProperties.getMaxFiles());
+        }
+    }
+
+    /**
+     * Returns the error for a file that must be skipped before parsing (empty or over the size limit).
+     */
+    Optional<UploadResult.FileUploadError> rejectFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            return Optional.of(fileError(file.getOriginalFilename(), "File is empty"));
+        }
+        DataSize maxSize = uploadProperties.getMaxFileSize();
+        if (file.getSize() > maxSize.toBytes()) {
+            return Optional.of(fileError(file.getOriginalFilename(), "File exceeds max size " + maxSize));
+        }
+        return Optional.empty();
+    }
+
+    static IllegalArgumentException allFilesFailed(List<UploadResult.FileUploadError> errors) {
+        return new IllegalArgumentException("All files failed. " + errors.stream()
+                .map(e -> e.getFilename() + ": " + e.getMessage())
+                .collect(Collectors.joining("; ")));
+    }
+
+    static UploadResult.FileUploadError fileError(String filename, String message) {
+        return UploadResult.FileUploadError.builder()
+                .filename(filename)
+                .message(message)
+                .build();
+    }
+
+    static String ledgerName(String filename) {
+        if (filename == null) return "Unknown";
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    static UploadResult.CalculationSummaryDto toSummaryDto(CalculationSummary s) {
+        return UploadResult.CalculationSummaryDto.builder()
+                .totalInterest(s.getTotalInterest())
+                .totalItcReversal(s.getTotalItcReversal())
+                .details(s.getDetails().stream()
+                        .map(r -> UploadResult.InterestRowDto.builder()
+                                .supplier(r.getSupplier())
+                                .purchaseDate(r.getPurchaseDate() != null ? r.getPurchaseDate().toString() : null)
+                                .paymentDate(r.getPaymentDate() != null ? r.getPaymentDate().toString() : "Unpaid")
+                                .principal(r.getPrincipal())
+                                .delayDays(r.getDelayDays())
+                                .itcAmount(r.getItcAmount())
+                                .interest(r.getInterest())
+                                .status(r.getStatus().name())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
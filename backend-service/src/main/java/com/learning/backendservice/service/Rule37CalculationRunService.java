@@ -21,18 +21,22 @@ public class Rule37CalculationRunService {
 
     private final LedgerUploadOrchestrator ledgerUploadOrchestrator;
     private final Rule37RunRepository runRepository;
+    private final Rule37RollupService rollupService;
+    private final Rule37RiskIndexService riskIndexService;
 
     @Transactional
     public UploadResult processUpload(List<MultipartFile> files, java.time.LocalDate asOnDate, String createdBy) {
         return ledgerUploadOrchestrator.processUpload(files, asOnDate, createdBy);
     }
 
+    @Transactional(readOnly = true)
     public Page<Rule37RunResponse> listRuns(Pageable pageable) {
         String tenantId = TenantContext.getCurrentTenant();
         return runRepository.findByTenantIdOrderByCreatedAtDesc(tenantId, pageable)
                 .map(this::toResponse);
     }
 
+    @Transactional(readOnly = true)
     public Rule37RunResponse getRun(Long id) {
         String tenantId = TenantContext.getCurrentTenant();
         return runRepository.findByIdAndTenantId(id, tenantId)
@@ -43,12 +47,15 @@ public class Rule37CalculationRunService {
     @Transactional
     public void deleteRun(Long id) {
         String tenantId = TenantContext.getCurrentTenant();
-        if (!runRepository.existsByIdAndTenantId(id, tenantId)) {
-            throw new NotFoundException("Rule37 run not found: " + id);
+        Rule37CalculationRun run = runRepository.findByIdAndTenantId(id, tenantId)
+                .orElseThrow(() -> new NotFoundException("Rule37 run not found: " + id));
+        if (runRepository.deleteRunById(id) == 1) {
+            rollupService.revertRun(run);
+            riskIndexService.reindexAfterDelete(run);
         }
-        runRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public Rule37CalculationRun getRunEntity(Long id) {
         String tenantId = TenantContext.getCurrentTenant();
         return runRepository.findByIdAndTenantId(id, tenantId)
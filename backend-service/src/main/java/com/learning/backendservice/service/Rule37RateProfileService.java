@@ -0,0 +1,105 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.domain.rule37.CalculationOptions;
+import com.learning.backendservice.dto.Rule37RateProfileDto;
+import com.learning.backendservice.entity.Rule37RateProfile;
+import com.learning.backendservice.entity.Rule37SupplierAlias;
+import com.learning.backendservice.entity.Rule37SupplierGstRate;
+import com.learning.backendservice.repository.Rule37RateProfileRepository;
+import com.learning.backendservice.repository.Rule37SupplierAliasRepository;
+import com.learning.backendservice.repository.Rule37SupplierGstRateRepository;
+import com.learning.common.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tenant rate profiles (default GST rate, interest rate, per-supplier GST slabs).
+ * Resolved once per upload or what-if session into {@link CalculationOptions}.
+ */
+@Service
+@RequiredArgsConstructor
+public class Rule37RateProfileService {
+
+    private final Rule37RateProfileRepository profileRepository;
+    private final Rule37SupplierGstRateRepository supplierRateRepository;
+    private final Rule37SupplierAliasRepository aliasRepository;
+
+    @Transactional(readOnly = true)
+    public CalculationOptions resolveOptions(String tenantId) {
+        var profile = profileRepository.findById(tenantId);
+        List<Rule37SupplierGstRate> supplierRates = supplierRateRepository.findByTenantIdOrderBySupplierAsc(tenantId);
+        if (profile.isEmpty() && supplierRates.isEmpty()) {
+            return CalculationOptions.DEFAULTS;
+        }
+
+        Map<String, Double> bySupplier = new HashMap<>();
+        supplierRates.forEach(r -> bySupplier.put(CalculationOptions.supplierKey(r.getSupplier()),
+                r.getGstRatePercent().doubleValue()));
+        // A stored alias (e.g. a GSTIN merge) renames the supplier to a canonical spelling with another key
+        if (!bySupplier.isEmpty()) {
+            for (Rule37SupplierAlias alias : aliasRepository.findByTenantIdAndAliasKeyIn(tenantId,
+                    Set.copyOf(bySupplier.keySet()))) {
+                bySupplier.putIfAbsent(CalculationOptions.supplierKey(alias.getCanonicalName()),
+                        bySupplier.get(alias.getAliasKey()));
+            }
+        }
+        var builder = CalculationOptions.DEFAULTS.toBuilder().supplierGstRates(Map.copyOf(bySupplier));
+        profile.ifPresent(p -> builder
+                .gstRatePercent(p.getGstRatePercent().doubleValue())
+                .interestRate(p.getInterestRate().doubleValue()));
+        return builder.build();
+    }
+
+    @Transactional(readOnly = true)
+    public Rule37RateProfileDto getProfile() {
+        String tenantId = TenantContext.getCurrentTenant();
+        CalculationOptions defaults = CalculationOptions.DEFAULTS;
+        var profile = profileRepository.findById(tenantId);
+        return Rule37RateProfileDto.builder()
+                .gstRatePercent(profile.map(p -> p.getGstRatePercent().doubleValue()).orElse(defaults.getGstRatePercent()))
+                .interestRate(profile.map(p -> p.getInterestRate().doubleValue()).orElse(defaults.getInterestRate()))
+                .supplierRates(supplierRateRepository.findByTenantIdOrderBySupplierAsc(tenantId).stream()
+                        .map(r -> Rule37RateProfileDto.SupplierRate.builder()
+                                .supplier(r.getSupplier())
+                                .gstRatePercent(r.getGstRatePercent().doubleValue())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Transactional
+    public Rule37RateProfileDto updateProfile(Rule37RateProfileDto request) {
+        String tenantId = TenantContext.getCurrentTenant();
+        profileRepository.save(Rule37RateProfile.builder()
+                .tenantId(tenantId)
+                .gstRatePercent(BigDecimal.valueOf(request.getGstRatePercent()))
+                .interestRate(BigDecimal.valueOf(request.getInterestRate()))
+                .updatedAt(OffsetDateTime.now())
+                .build());
+
+        // Last entry wins for suppliers that normalize to the same key
+        Map<String, Rule37RateProfileDto.SupplierRate> byKey = new LinkedHashMap<>();
+        request.getSupplierRates().forEach(r -> byKey.put(CalculationOptions.supplierKey(r.getSupplier()), r));
+
+        supplierRateRepository.deleteByTenantId(tenantId);
+        supplierRateRepository.flush();
+        supplierRateRepository.saveAll(byKey.entrySet().stream()
+                .map(e -> Rule37SupplierGstRate.builder()
+                        .tenantId(tenantId)
+                        .supplierKey(e.getKey())
+                        .supplier(e.getValue().getSupplier().trim())
+                        .gstRatePercent(BigDecimal.valueOf(e.getValue().getGstRatePercent()))
+                        .build())
+                .toList());
+        return getProfile();
+    }
+}
@@ -0,0 +1,69 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.entity.Rule37CalculationRun;
+import com.learning.backendservice.repository.Rule37RunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Purges runs past {@code expires_at} and reverts their dashboard rollup contribution.
+ * Works in small batches, one transaction per batch, so a large backlog never holds long locks.
+ */
+@Component
+public class Rule37RetentionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(Rule37RetentionScheduler.class);
+
+    private final Rule37RunRepository runRepository;
+    private final Rule37RollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public Rule37RetentionScheduler(Rule37RunRepository runRepository,
+                                    Rule37RollupService rollupService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.retention.purge-batch-size:100}") int batchSize) {
+        this.runRepository = runRepository;
+        this.rollupService = rollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.retention.purge-cron:0 15 * * * *}")
+    public void purgeExpiredRuns() {
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        int total = 0;
+        int purged;
+        do {
+            purged = purgeBatch(cutoff);
+            total += purged;
+        } while (purged == batchSize);
+        if (total > 0) {
+            log.info("Purged {} expired Rule37 runs (cutoff={})", total, cutoff);
+        }
+    }
+
+    int purgeBatch(OffsetDateTime cutoff) {
+        Integer purged = transactionTemplate.execute(status -> {
+            List<Rule37CalculationRun> expired = runRepository.findByExpiresAtBeforeOrderByExpiresAtAsc(
+                    cutoff, PageRequest.of(0, batchSize));
+            for (Rule37CalculationRun run : expired) {
+                // Concurrent purge on another replica wins the delete; only the winner reverts rollups
+                if (runRepository.deleteRunById(run.getId()) == 1) {
+                    rollupService.revertRun(run);
+                }
+            }
+            return expired.size();
+        });
+        return purged != null ? purged : 0;
+    }
+}
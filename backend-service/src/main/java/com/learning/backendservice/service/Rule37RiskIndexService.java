@@ -0,0 +1,190 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.domain.rule37.Rule37InterestCalculationService;
+import com.learning.backendservice.dto.Rule37OpenPurchaseResponse;
+import com.learning.backendservice.entity.Rule37CalculationRun;
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+import com.learning.backendservice.repository.Rule37OpenPurchaseRepository;
+import com.learning.backendservice.repository.Rule37RunRepository;
+import com.learning.backendservice.service.alert.Rule37DeadlineAlertScheduler;
+import com.learning.common.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the open-purchase risk index so "who is about to breach" is a single range scan
+ * on (tenant_id, payment_deadline) instead of deserializing every run's JSONB.
+ * Only the latest run per ledger is indexed; removal follows the run via FK cascade, and deleting a run
+ * re-indexes its ledgers from the runs that remain.
+ *
+ * <p>Rows without purchase date or deadline are skipped and names are clamped to the column width,
+ * so one malformed row never fails the upload transaction.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class Rule37RiskIndexService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int REINDEX_PAGE_SIZE = 50;
+
+    private final Rule37OpenPurchaseRepository openPurchaseRepository;
+    private final Rule37RunRepository runRepository;
+    private final Rule37DeadlineAlertScheduler alertScheduler;
+    private final Clock rule37Clock;
+
+    @Transactional
+    public void indexRun(Rule37CalculationRun run) {
+        List<LedgerResult> ledgers = run.getCalculationData();
+        if (ledgers == null || ledgers.isEmpty()) {
+            return;
+        }
+
+        Set<String> ledgerNames = new LinkedHashSet<>();
+        List<Rule37OpenPurchase> entries = new ArrayList<>();
+        int skipped = 0;
+        for (LedgerResult ledger : ledgers) {
+            String ledgerName = indexName(ledger.getLedgerName());
+            ledgerNames.add(ledgerName);
+            skipped += addEntries(run, ledger, ledgerName, entries);
+        }
+
+        int superseded = openPurchaseRepository.deleteSuperseded(run.getTenantId(), ledgerNames, run.getId());
+        openPurchaseRepository.saveAll(entries);
+        alertScheduler.scheduleAll(entries);
+        if (skipped > 0) {
+            log.warn("Skipped {} open purchases without dates for run {}", skipped, run.getId());
+        }
+        log.debug("Indexed {} open purchases for run {} (superseded {})", entries.size(), run.getId(), superseded);
+    }
+
+    /**
+     * Restores the index after {@code deleted} was removed, taking its own entries with it via FK cascade.
+     * Each of its ledgers without a newer run is re-indexed from the latest older run that contains it;
+     * run ids grow with upload order.
+     */
+    @Transactional
+    public void reindexAfterDelete(Rule37CalculationRun deleted) {
+        List<LedgerResult> ledgers = deleted.getCalculationData();
+        if (ledgers == null || ledgers.isEmpty()) {
+            return;
+        }
+
+        Set<String> pending = new LinkedHashSet<>();
+        ledgers.forEach(ledger -> pending.add(indexName(ledger.getLedgerName())));
+        List<Rule37OpenPurchase> entries = new ArrayList<>();
+        Pageable page = PageRequest.of(0, REINDEX_PAGE_SIZE);
+        while (!pending.isEmpty()) {
+            Page<Rule37CalculationRun> runs = runRepository.findByTenantIdOrderByCreatedAtDesc(
+                    deleted.getTenantId(), page);
+            for (Rule37CalculationRun run : runs) {
+                List<LedgerResult> runLedgers = run.getCalculationData() != null ? run.getCalculationData() : List.of();
+                Set<String> claimed = new LinkedHashSet<>();
+                runLedgers.forEach(ledger -> claimed.add(indexName(ledger.getLedgerName())));
+                claimed.retainAll(pending);
+                pending.removeAll(claimed);
+                if (run.getId() > deleted.getId()) {
+                    continue; // A newer run already owns these ledgers in the index
+                }
+                for (LedgerResult ledger : runLedgers) {
+                    String ledgerName = indexName(ledger.getLedgerName());
+                    if (claimed.contains(ledgerName)) {
+                        addEntries(run, ledger, ledgerName, entries);
+                    }
+                }
+            }
+            if (!runs.hasNext()) {
+                break;
+            }
+            page = runs.nextPageable();
+        }
+
+        openPurchaseRepository.saveAll(entries);
+        alertScheduler.scheduleAll(entries);
+        log.debug("Re-indexed {} open purchases after deleting run {}", entries.size(), deleted.getId());
+    }
+
+    /**
+     * Adds index entries for the ledger's open purchases; returns the number of rows skipped for missing dates.
+     */
+    private static int addEntries(Rule37CalculationRun run, LedgerResult ledger, String ledgerName,
+            List<Rule37OpenPurchase> entries) {
+        if (ledger.getSummary() == null || ledger.getSummary().getOpenPurchases() == null) {
+            return 0;
+        }
+        int skipped = 0;
+        for (InterestRow row : ledger.getSummary().getOpenPurchases()) {
+            if (row.getPurchaseDate() == null || row.getPaymentDeadline() == null) {
+                skipped++;
+                continue;
+            }
+            entries.add(Rule37OpenPurchase.builder()
+                    .runId(run.getId())
+                    .tenantId(run.getTenantId())
+                    .ledgerName(ledgerName)
+                    .supplier(indexName(row.getSupplier()))
+                    .purchaseDate(row.getPurchaseDate())
+                    .paymentDeadline(row.getPaymentDeadline())
+                    .principal(BigDecimal.valueOf(row.getPrincipal()))
+                    .itcAmount(BigDecimal.valueOf(row.getItcAmount()))
+                    .asOnDate(run.getAsOnDate())
+                    .build());
+        }
+        return skipped;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Rule37OpenPurchaseResponse> findApproachingDeadline(int withinDays, Pageable pageable) {
+        String tenantId = TenantContext.getCurrentTenant();
+        LocalDate today = LocalDate.now(rule37Clock);
+        return openPurchaseRepository
+                .findByTenantIdAndPaymentDeadlineBetweenOrderByPaymentDeadlineAsc(
+                        tenantId, today, today.plusDays(withinDays), pageable)
+                .map(entry -> toResponse(entry, today));
+    }
+
+    private static String indexName(String name) {
+        if (name == null || name.isBlank()) {
+            return "Unknown";
+        }
+        String trimmed = name.trim();
+        return trimmed.length() > MAX_NAME_LENGTH ? trimmed.substring(0, MAX_NAME_LENGTH) : trimmed;
+    }
+
+    private static Rule37OpenPurchaseResponse toResponse(Rule37OpenPurchase entry, LocalDate today) {
+        int daysToDeadline = (int) ChronoUnit.DAYS.between(today, entry.getPaymentDeadline());
+        InterestRow.RiskCategory category = daysToDeadline < 0
+                ? InterestRow.RiskCategory.BREACHED
+                : daysToDeadline <= Rule37InterestCalculationService.AT_RISK_WINDOW_DAYS
+                        ? InterestRow.RiskCategory.AT_RISK
+                        : InterestRow.RiskCategory.SAFE;
+        return Rule37OpenPurchaseResponse.builder()
+                .runId(entry.getRunId())
+                .ledgerName(entry.getLedgerName())
+                .supplier(entry.getSupplier())
+                .purchaseDate(entry.getPurchaseDate())
+                .paymentDeadline(entry.getPaymentDeadline())
+                .daysToDeadline(daysToDeadline)
+                .riskCategory(category)
+                .principal(entry.getPrincipal())
+                .itcAmount(entry.getItcAmount())
+                .asOnDate(entry.getAsOnDate())
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.dto.Rule37DashboardResponse;
+import com.learning.backendservice.entity.Rule37CalculationRun;
+import com.learning.backendservice.repository.Rule37RunRepository;
+import com.learning.backendservice.repository.Rule37SupplierRollupRepository;
+import com.learning.backendservice.repository.Rule37TenantRollupRepository;
+import com.learning.common.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the Rule 37 dashboard rollups and answers dashboard queries from them.
+ *
+ * <p>
+ * Rollups are updated incrementally: a saved run adds its contribution, a deleted or purged run
+ * subtracts the same contribution. Callers must invoke these methods inside the transaction that
+ * saves or deletes the run so rollups never drift from {@code rule37_calculation_runs}.
+ *
+ * <p>
+ * Applying a run also sets its {@code rollup_applied} marker; reverting skips runs without it (e.g. runs
+ * saved before the rollup tables existed), so counts never go negative and live rows are never pruned.
+ */
+@Service
+@RequiredArgsConstructor
+public class Rule37RollupService {
+
+    private static final int MAX_SUPPLIER_LENGTH = 255;
+
+    private final Rule37TenantRollupRepository tenantRollupRepository;
+    private final Rule37SupplierRollupRepository supplierRollupRepository;
+    private final Rule37RunRepository runRepository;
+
+    @Transactional
+    public void applyRun(Rule37CalculationRun run) {
+        applyContribution(run, 1);
+        runRepository.markRollupApplied(run.getId());
+        run.setRollupApplied(true);
+    }
+
+    @Transactional
+    public void revertRun(Rule37CalculationRun run) {
+        if (!run.isRollupApplied()) {
+            return;
+        }
+        applyContribution(run, -1);
+        tenantRollupRepository.deleteEmpty(run.getTenantId());
+        supplierRollupRepository.deleteEmpty(run.getTenantId());
+    }
+
+    @Transactional(readOnly = true)
+    public Rule37DashboardResponse getDashboard(int months, int topSuppliers) {
+        String tenantId = TenantContext.getCurrentTenant();
+        Rule37TenantRollupRepository.TotalsView totals = tenantRollupRepository.sumByTenantId(tenantId);
+
+        return Rule37DashboardResponse.builder()
+                .totals(Rule37DashboardResponse.Totals.builder()
+                        .runCount(totals.getRunCount())
+                        .totalInterest(totals.getTotalInterest())
+                        .totalItcReversal(totals.getTotalItcReversal())
+                        .atRiskAmount(totals.getAtRiskAmount())
+                        .atRiskCount(totals.getAtRiskCount())
+                        .breachedCount(totals.getBreachedCount())
+                        .build())
+                .trend(tenantRollupRepository
+                        .findByTenantIdOrderByPeriodMonthDesc(tenantId, PageRequest.of(0, months)).stream()
+                        .map(r -> Rule37DashboardResponse.PeriodRollup.builder()
+                                .periodMonth(r.getPeriodMonth())
+                                .runCount(r.getRunCount())
+                                .totalInterest(r.getTotalInterest())
+                                .totalItcReversal(r.getTotalItcReversal())
+                                .atRiskAmount(r.getAtRiskAmount())
+                                .atRiskCount(r.getAtRiskCount())
+                                .breachedCount(r.getBreachedCount())
+                                .build())
+                        .toList())
+                .topSuppliers(supplierRollupRepository
+                        .findByTenantIdOrderByTotalInterestDesc(tenantId, PageRequest.of(0, topSuppliers)).stream()
+                        .map(r -> Rule37DashboardResponse.SupplierRollup.builder()
+                                .supplier(r.getSupplier())
+                                .runCount(r.getRunCount())
+                                .totalInterest(r.getTotalInterest())
+                                .totalItcReversal(r.getTotalItcReversal())
+                                .atRiskAmount(r.getAtRiskAmount())
+                                .atRiskCount(r.getAtRiskCount())
+                                .breachedCount(r.getBreachedCount())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Folds one run into the monthly and per-supplier rollups; {@code sign} is +1 on save, -1 on removal.
+     */
+    private void applyContribution(Rule37CalculationRun run, int sign) {
+        if (run.getCalculationData() == null) {
+            return;
+        }
+        String tenantId = run.getTenantId();
+        RollupMetrics runTotals = new RollupMetrics();
+        Map<String, RollupMetrics> bySupplier = new HashMap<>();
+
+        for (LedgerResult ledger : run.getCalculationData()) {
+            CalculationSummary summary = ledger.getSummary();
+            if (summary == null) {
+                continue;
+            }
+            runTotals.addSummary(summary);
+            if (summary.getDetails() != null) {
+                for (InterestRow row : summary.getDetails()) {
+                    bySupplier.computeIfAbsent(supplierKey(row.getSupplier()), k -> new RollupMetrics()).addRow(row);
+                }
+            }
+            if (summary.getOpenPurchases() != null) {
+                for (InterestRow row : summary.getOpenPurchases()) {
+                    bySupplier.computeIfAbsent(supplierKey(row.getSupplier()), k -> new RollupMetrics())
+                            .addOpenPurchase(row);
+                }
+            }
+        }
+
+        tenantRollupRepository.applyDelta(tenantId, periodMonth(run.getAsOnDate()), sign,
+                money(runTotals.interest, sign), money(runTotals.itcReversal, sign),
+                money(runTotals.atRiskAmount, sign), sign * runTotals.atRiskCount, sign * runTotals.breachedCount);
+
+        bySupplier.forEach((supplier, m) -> supplierRollupRepository.applyDelta(tenantId, supplier, sign,
+                money(m.interest, sign), money(m.itcReversal, sign),
+                money(m.atRiskAmount, sign), sign * m.atRiskCount, sign * m.breachedCount));
+    }
+
+    private static LocalDate periodMonth(LocalDate asOnDate) {
+        return asOnDate.withDayOfMonth(1);
+    }
+
+    private static String supplierKey(String supplier) {
+        if (supplier == null || supplier.isBlank()) {
+            return "Unknown";
+        }
+        return supplier.length() > MAX_SUPPLIER_LENGTH ? supplier.substring(0, MAX_SUPPLIER_LENGTH) : supplier;
+    }
+
+    private static BigDecimal money(double value, int sign) {
+        return BigDecimal.valueOf(value * sign).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Mutable accumulator for one rollup key.
+     */
+    private static final class RollupMetrics {
+        private double interest;
+        private double itcReversal;
+        private double atRiskAmount;
+        private int atRiskCount;
+        private int breachedCount;
+
+        void addSummary(CalculationSummary summary) {
+            interest += summary.getTotalInterest();
+            itcReversal += summary.getTotalItcReversal();
+            atRiskAmount += summary.getAtRiskAmount();
+            atRiskCount += summary.getAtRiskCount();
+            breachedCount += summary.getBreachedCount();
+        }
+
+        void addRow(InterestRow row) {
+            interest += row.getInterest();
+            if (row.getStatus() == InterestRow.InterestStatus.UNPAID) {
+                itcReversal += row.getItcAmount();
+            }
+            if (row.getRiskCategory() == InterestRow.RiskCategory.BREACHED) {
+                breachedCount++;
+            }
+        }
+
+        void addOpenPurchase(InterestRow row) {
+            if (row.getRiskCategory() == InterestRow.RiskCategory.AT_RISK) {
+                atRiskAmount += row.getPrincipal();
+                atRiskCount++;
+            }
+        }
+    }
+}
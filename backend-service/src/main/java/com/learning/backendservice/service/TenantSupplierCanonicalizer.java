@@ -0,0 +1,95 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.ledger.SupplierCanonicalizer;
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
+import com.learning.backendservice.domain.ledger.SupplierNameIndex;
+import com.learning.backendservice.entity.Rule37SupplierAlias;
+import com.learning.backendservice.repository.Rule37SupplierAliasRepository;
+import com.learning.common.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link SupplierCanonicalizer} backed by the tenant's stored aliases. Exact (key or GSTIN) merges found by
+ * {@link SupplierNameIndex} are stored so later uploads resolve the same spellings to the same canonical name.
+ * Fuzzy merges apply to the current upload only and are logged as suggestions; storing one would silently fold
+ * a distinct supplier into another for every later upload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantSupplierCanonicalizer implements SupplierCanonicalizer {
+
+    private static final int MAX_ALIAS_LENGTH = 255;
+
+    private final Rule37SupplierAliasRepository aliasRepository;
+    private final UploadProperties uploadProperties;
+
+    @Override
+    @Transactional
+    public List<LedgerEntry> canonicalize(List<LedgerEntry> entries, SupplierDictionary suppliers) {
+        return canonicalize(entries, suppliers, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LedgerEntry> preview(List<LedgerEntry> entries, SupplierDictionary suppliers) {
+        return canonicalize(entries, suppliers, false);
+    }
+
+    private List<LedgerEntry> canonicalize(List<LedgerEntry> entries, SupplierDictionary suppliers,
+                                           boolean storeAliases) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (LedgerEntry entry : entries) {
+            if (entry.getSupplier() != null) distinct.add(entry.getSupplier());
+        }
+        if (distinct.isEmpty()) return entries;
+
+        List<String> names = new ArrayList<>(distinct);
+        String tenantId = TenantContext.getCurrentTenant();
+        Set<String> keys = new LinkedHashSet<>();
+        names.forEach(name -> keys.add(SupplierNameIndex.key(name)));
+        Map<String, String> aliases = new HashMap<>();
+        for (Rule37SupplierAlias alias : aliasRepository.findByTenantIdAndAliasKeyIn(tenantId, keys)) {
+            aliases.put(alias.getAliasKey(), alias.getCanonicalName());
+        }
+
+        SupplierNameIndex.Result result = SupplierNameIndex.canonicalize(
+                names, aliases, uploadProperties.getSupplierSimilarity());
+
+        if (storeAliases) {
+            result.newAliases().forEach((key, canonical) -> {
+                if (key.length() <= MAX_ALIAS_LENGTH && canonical.length() <= MAX_ALIAS_LENGTH) {
+                    aliasRepository.insertIfAbsent(tenantId, key, canonical);
+                }
+            });
+        }
+        if (!result.suggestedAliases().isEmpty()) {
+            log.info("Suggested supplier aliases for tenant {} (not stored): {}", tenantId, result.suggestedAliases());
+        }
+
+        Map<String, String> canonicalByName = result.canonicalByName();
+        if (canonicalByName.isEmpty()) return entries;
+        log.debug("Merged {} supplier spellings for tenant {}", canonicalByName.size(), tenantId);
+
+        Map<String, Integer> canonicalIds = new HashMap<>();
+        for (LedgerEntry entry : entries) {
+            String canonical = canonicalByName.get(entry.getSupplier());
+            if (canonical == null) continue;
+            entry.setSupplier(canonical);
+            entry.setSupplierId(canonicalIds.computeIfAbsent(canonical, suppliers::intern));
+        }
+        return entries;
+    }
+}
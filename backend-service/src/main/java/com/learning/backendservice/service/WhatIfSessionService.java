@@ -0,0 +1,187 @@
+package com.learning.backendservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.config.WhatIfProperties;
+import com.learning.backendservice.domain.ledger.ColumnarLedger;
+import com.learning.backendservice.domain.ledger.LedgerParser;
+import com.learning.backendservice.domain.ledger.SupplierCanonicalizer;
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
+import com.learning.backendservice.domain.rule37.CalculationOptions;
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.domain.rule37.Rule37InterestCalculator;
+import com.learning.backendservice.dto.UploadResult;
+import com.learning.backendservice.dto.WhatIfRequest;
+import com.learning.backendservice.dto.WhatIfSessionResponse;
+import com.learning.backendservice.exception.LedgerParseException;
+import com.learning.backendservice.exception.ResourceNotFoundException;
+import com.learning.common.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Parse-once / calculate-many sessions for interactive what-if analysis.
+ *
+ * <p>Uploaded ledgers are parsed once into {@link ColumnarLedger}s and held in a Caffeine cache bounded by
+ * total row count and evicted after {@code app.what-if.ttl} of inactivity. Recalculation skips the workbook
+ * entirely. Sessions are not persisted and never create runs, rollups or risk index entries.</p>
+ */
+@Slf4j
+@Service
+public class WhatIfSessionService {
+
+    private final LedgerParser ledgerParser;
+    private final SupplierCanonicalizer canonicalizer;
+    private final Rule37InterestCalculator calculator;
+    private final UploadProperties uploadProperties;
+    private final LedgerUploadSupport uploadSupport;
+    private final Rule37RateProfileService rateProfileService;
+    private final Cache<String, WhatIfSession> sessions;
+
+    @Autowired
+    public WhatIfSessionService(LedgerParser ledgerParser,
+                                SupplierCanonicalizer canonicalizer,
+                                Rule37InterestCalculator calculator,
+                                UploadProperties uploadProperties,
+                                LedgerUploadSupport uploadSupport,
+                                Rule37RateProfileService rateProfileService,
+                                WhatIfProperties whatIfProperties) {
+        this(ledgerParser, canonicalizer, calculator, uploadProperties, uploadSupport, rateProfileService,
+                whatIfProperties, Ticker.systemTicker());
+    }
+
+    WhatIfSessionService(LedgerParser ledgerParser,
+                         SupplierCanonicalizer canonicalizer,
+                         Rule37InterestCalculator calculator,
+                         UploadProperties uploadProperties,
+                         LedgerUploadSupport uploadSupport,
+                         Rule37RateProfileService rateProfileService,
+                         WhatIfProperties whatIfProperties,
+                         Ticker ticker) {
+        this.ledgerParser = ledgerParser;
+        this.canonicalizer = canonicalizer;
+        this.calculator = calculator;
+        this.uploadProperties = uploadProperties;
+        this.uploadSupport = uploadSupport;
+        this.rateProfileService = rateProfileService;
+        this.sessions = Caffeine.newBuilder()
+                .maximumWeight(whatIfProperties.getMaxTotalRows())
+                .weigher((String id, WhatIfSession session) -> session.totalRows())
+                .expireAfterAccess(whatIfProperties.getTtl())
+                .ticker(ticker)
+                .build();
+    }
+
+    public WhatIfSessionResponse createSession(List<MultipartFile> files, LocalDate asOnDate) {
+        uploadSupport.validateRequest(files);
+
+        List<NamedLedger> ledgers = new ArrayList<>();
+        List<UploadResult.FileUploadError> errors = new ArrayList<>();
+        SupplierDictionary suppliers = new SupplierDictionary(uploadProperties.getSupplierNormalization());
+
+        for (MultipartFile file : files) {
+            String filename = file.getOriginalFilename();
+            var rejected = uploadSupport.rejectFile(file);
+            if (rejected.isPresent()) {
+                errors.add(rejected.get());
+                continue;
+            }
+            try (InputStream in = file.getInputStream()) {
+                ledgers.add(new NamedLedger(LedgerUploadSupport.ledgerName(filename),
+                        ColumnarLedger.of(canonicalizer.preview(
+                                ledgerParser.parse(in, filename, suppliers), suppliers))));
+            } catch (LedgerParseException e) {
+                log.warn("What-if parse error for {}: {}", filename, e.getMessage());
+                errors.add(LedgerUploadSupport.fileError(filename, e.getMessage()));
+            } catch (Exception e) {
+                log.warn("What-if processing error for {}: {}", filename, e.getMessage());
+                errors.add(LedgerUploadSupport.fileError(filename, "Processing failed: " + e.getMessage()));
+            }
+        }
+
+        if (ledgers.isEmpty()) {
+            throw LedgerUploadSupport.allFilesFailed(errors);
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        String tenantId = TenantContext.getCurrentTenant();
+        WhatIfSession session = new WhatIfSession(tenantId, List.copyOf(ledgers), rateProfileService.resolveOptions(tenantId));
+        sessions.put(sessionId, session);
+
+        WhatIfSessionResponse response = calculate(sessionId, session,
+                WhatIfRequest.builder().asOnDate(asOnDate).build());
+        response.setErrors(errors);
+        return response;
+    }
+
+    public WhatIfSessionResponse recalculate(String sessionId, WhatIfRequest request) {
+        return calculate(sessionId, getSession(sessionId), request);
+    }
+
+    public void deleteSession(String sessionId) {
+        getSession(sessionId);
+        sessions.invalidate(sessionId);
+    }
+
+    private WhatIfSession getSession(String sessionId) {
+        WhatIfSession session = sessions.getIfPresent(sessionId);
+        if (session == null || !session.tenantId().equals(TenantContext.getCurrentTenant())) {
+            throw new ResourceNotFoundException("What-if session not found or expired: " + sessionId);
+        }
+        return session;
+    }
+
+    private WhatIfSessionResponse calculate(String sessionId, WhatIfSession session, WhatIfRequest request) {
+        // Request values override the tenant profile captured at session creation
+        CalculationOptions.CalculationOptionsBuilder builder = session.baseOptions().toBuilder();
+        if (request.getGstRatePercent() != null) builder.gstRatePercent(request.getGstRatePercent());
+        if (request.getInterestRate() != null) builder.interestRate(request.getInterestRate());
+        if (request.getMatchingMode() != null) builder.matchingMode(request.getMatchingMode());
+        CalculationOptions options = builder.build();
+
+        long start = System.nanoTime();
+        List<UploadResult.LedgerResultDto> results = new ArrayList<>(session.ledgers().size());
+        double totalInterest = 0;
+        double totalItcReversal = 0;
+        for (NamedLedger ledger : session.ledgers()) {
+            CalculationSummary summary = calculator.calculate(ledger.ledger().toEntries(), request.getAsOnDate(), options);
+            totalInterest += summary.getTotalInterest();
+            totalItcReversal += summary.getTotalItcReversal();
+            results.add(UploadResult.LedgerResultDto.builder()
+                    .ledgerName(ledger.name())
+                    .summary(LedgerUploadSupport.toSummaryDto(summary))
+                    .build());
+        }
+
+        return WhatIfSessionResponse.builder()
+                .sessionId(sessionId)
+                .asOnDate(request.getAsOnDate())
+                .gstRatePercent(options.getGstRatePercent())
+                .interestRate(options.getInterestRate())
+                .matchingMode(options.getMatchingMode())
+                .totalInterest(totalInterest)
+                .totalItcReversal(totalItcReversal)
+                .calculationMillis((System.nanoTime() - start) / 1_000_000)
+                .results(results)
+                .build();
+    }
+
+    private record NamedLedger(String name, ColumnarLedger ledger) {
+    }
+
+    private record WhatIfSession(String tenantId, List<NamedLedger> ledgers, CalculationOptions baseOptions) {
+        int totalRows() {
+            return ledgers.stream().mapToInt(l -> l.ledger().size()).sum();
+        }
+    }
+}
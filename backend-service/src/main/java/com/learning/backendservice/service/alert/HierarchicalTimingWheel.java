@@ -0,0 +1,143 @@
+package com.learning.backendservice.service.alert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: O(1) insert, amortized O(1) expiry per tick, independent of how many
+ * items are scheduled or how far ahead they are.
+ *
+ * <p>Level {@code i} has tick {@code tickMs * wheelSize^i}; items too far ahead for a level go to the
+ * next one and cascade down as time reaches their bucket. Items never fire early; they fire at most
+ * one tick late. Driven externally by {@link #advance(long)}; all methods are synchronized.</p>
+ *
+ * @param <T> scheduled item type
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be > 0 and wheelSize >= 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = Math.floorDiv(startMs, tickMs) * tickMs;
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedules an item.
+     *
+     * @return false if the item is already due (caller should fire it now); true if scheduled
+     */
+    public synchronized boolean add(T item, long expirationMs) {
+        if (expirationMs < currentTime) {
+            return false;
+        }
+        insert(new Entry<>(item, expirationMs));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMs} and returns every item whose expiration has passed.
+     */
+    public synchronized List<T> advance(long nowMs) {
+        List<T> fired = new ArrayList<>();
+        if (size == 0) {
+            currentTime = Math.max(currentTime, Math.floorDiv(nowMs, tickMs) * tickMs);
+            return fired;
+        }
+        while (nowMs >= currentTime + tickMs) {
+            // Drain the bucket just passed before cascading, which may reuse its slot
+            List<Entry<T>> due = levels.get(0).drain(currentTime / tickMs);
+            for (Entry<T> entry : due) {
+                fired.add(entry.item);
+            }
+            size -= due.size();
+            currentTime += tickMs;
+            // Cascade higher levels whose bucket boundary was just reached, top-down
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tickMs == 0) {
+                    for (Entry<T> entry : level.drain(currentTime / level.tickMs)) {
+                        insert(entry);
+                    }
+                }
+            }
+            if (size == 0) {
+                currentTime = Math.max(currentTime, Math.floorDiv(nowMs, tickMs) * tickMs);
+                break;
+            }
+        }
+        return fired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        levels.forEach(Level::clear);
+        size = 0;
+    }
+
+    private void insert(Entry<T> entry) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> top = levels.get(i - 1);
+                levels.add(new Level<>(top.tickMs * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long start = Math.floorDiv(currentTime, level.tickMs) * level.tickMs;
+            if (entry.expirationMs < start + level.intervalMs) {
+                level.add(entry, entry.expirationMs / level.tickMs);
+                return;
+            }
+        }
+    }
+
+    private record Entry<T>(T item, long expirationMs) {
+    }
+
+    private static final class Level<T> {
+        final long tickMs;
+        final long intervalMs;
+        final List<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.intervalMs = tickMs * wheelSize;
+            this.buckets = new List[wheelSize];
+        }
+
+        void add(Entry<T> entry, long virtualId) {
+            int index = (int) (virtualId % buckets.length);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+        }
+
+        List<Entry<T>> drain(long virtualId) {
+            int index = (int) (virtualId % buckets.length);
+            List<Entry<T>> bucket = buckets[index];
+            if (bucket == null) {
+                return List.of();
+            }
+            buckets[index] = null;
+            return bucket;
+        }
+
+        void clear() {
+            java.util.Arrays.fill(buckets, null);
+        }
+    }
+}
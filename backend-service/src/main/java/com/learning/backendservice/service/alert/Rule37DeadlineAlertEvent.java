@@ -0,0 +1,19 @@
+package com.learning.backendservice.service.alert;
+
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Batch of open purchases of one tenant that crossed a Rule 37 threshold on {@code date}.
+ * Published once per (tenant, threshold, date) across all replicas.
+ *
+ * @param threshold {@code AT_RISK} (day 151) or {@code BREACHED} (day 181)
+ */
+public record Rule37DeadlineAlertEvent(String tenantId,
+                                       InterestRow.RiskCategory threshold,
+                                       LocalDate date,
+                                       List<Rule37OpenPurchase> purchases) {
+}
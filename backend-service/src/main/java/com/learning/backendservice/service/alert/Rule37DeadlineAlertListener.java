@@ -0,0 +1,20 @@
+package com.learning.backendservice.service.alert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default alert sink: structured log line per batch. Notification channels (email, webhook)
+ * subscribe to {@link Rule37DeadlineAlertEvent} the same way.
+ */
+@Slf4j
+@Component
+public class Rule37DeadlineAlertListener {
+
+    @EventListener
+    public void onDeadlineAlert(Rule37DeadlineAlertEvent event) {
+        log.info("Rule37 deadline alert: tenant={} threshold={} date={} purchases={}",
+                event.tenantId(), event.threshold(), event.date(), event.purchases().size());
+    }
+}
@@ -0,0 +1,144 @@
+package com.learning.backendservice.service.alert;
+
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.domain.rule37.Rule37InterestCalculationService;
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+import com.learning.backendservice.repository.Rule37OpenPurchaseRepository;
+import com.learning.common.infra.cache.DistributedLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires {@link Rule37DeadlineAlertEvent}s when open purchases cross the thresholds used by
+ * {@code categorizeRisk}: day 151 (AT_RISK) and day 181 (BREACHED).
+ *
+ * <p>The wheel holds one trigger per (tenant, threshold, date), not one per purchase; the batch is
+ * read from the risk index at fire time, so superseded or purged runs never alert. The wheel is rebuilt
+ * from the index on startup and extended as runs are indexed.</p>
+ *
+ * <p>Each batch is claimed with a lock that is left to expire rather than released, so exactly one
+ * replica dispatches it. Delivery is at-most-once: a replica dying mid-dispatch drops that batch.</p>
+ */
+@Component
+public class Rule37DeadlineAlertScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(Rule37DeadlineAlertScheduler.class);
+
+    static final int AT_RISK_DAY = Rule37InterestCalculationService.AT_RISK_THRESHOLD + 1;  // First day past SAFE
+    private static final int WHEEL_SIZE = 64;
+
+    private final Rule37OpenPurchaseRepository openPurchaseRepository;
+    private final DistributedLockService lockService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final Duration claimLease;
+    private final HierarchicalTimingWheel<AlertTrigger> wheel;
+    private final Set<AlertTrigger> scheduled = ConcurrentHashMap.newKeySet();
+    private final Set<AlertTrigger> dispatched = ConcurrentHashMap.newKeySet();
+
+    public Rule37DeadlineAlertScheduler(Rule37OpenPurchaseRepository openPurchaseRepository,
+                                        DistributedLockService lockService,
+                                        ApplicationEventPublisher eventPublisher,
+                                        Clock rule37Clock,
+                                        @Value("${app.alerts.deadline.tick:1m}") Duration tick,
+                                        @Value("${app.alerts.deadline.claim-lease:36h}") Duration claimLease) {
+        this.openPurchaseRepository = openPurchaseRepository;
+        this.lockService = lockService;
+        this.eventPublisher = eventPublisher;
+        this.clock = rule37Clock;
+        this.zone = rule37Clock.getZone();
+        this.claimLease = claimLease;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_SIZE, rule37Clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        wheel.clear();
+        scheduled.clear();
+        LocalDate today = LocalDate.now(clock);
+        List<Rule37OpenPurchaseRepository.AlertTriggerView> triggers = openPurchaseRepository.findAlertTriggers(today.minusDays(1));
+        for (Rule37OpenPurchaseRepository.AlertTriggerView trigger : triggers) {
+            schedule(trigger.getTenantId(), trigger.getPurchaseDate(), trigger.getPaymentDeadline());
+        }
+        log.info("Rule37 deadline alert wheel rebuilt: {} triggers from {} index groups in {} ms",
+                wheel.size(), triggers.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds triggers for newly indexed open purchases. Triggers already scheduled are ignored.
+     */
+    public void scheduleAll(Collection<Rule37OpenPurchase> purchases) {
+        for (Rule37OpenPurchase purchase : purchases) {
+            schedule(purchase.getTenantId(), purchase.getPurchaseDate(), purchase.getPaymentDeadline());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.alerts.deadline.tick:1m}")
+    public void tick() {
+        for (AlertTrigger trigger : wheel.advance(clock.millis())) {
+            dispatch(trigger);
+        }
+        LocalDate today = LocalDate.now(clock);
+        dispatched.removeIf(trigger -> trigger.date().isBefore(today));
+    }
+
+    private void schedule(String tenantId, LocalDate purchaseDate, LocalDate paymentDeadline) {
+        LocalDate today = LocalDate.now(clock);
+        add(new AlertTrigger(tenantId, InterestRow.RiskCategory.AT_RISK, purchaseDate.plusDays(AT_RISK_DAY)), today);
+        add(new AlertTrigger(tenantId, InterestRow.RiskCategory.BREACHED, paymentDeadline.plusDays(1)), today);
+    }
+
+    private void add(AlertTrigger trigger, LocalDate today) {
+        // Missed days are not replayed; only today's and future crossings alert
+        if (trigger.date().isBefore(today) || dispatched.contains(trigger) || !scheduled.add(trigger)) {
+            return;
+        }
+        // Crossings due today fire on the next tick, keeping dispatch off the caller's thread
+        long fireAt = Math.max(trigger.date().atStartOfDay(zone).toInstant().toEpochMilli(), clock.millis());
+        wheel.add(trigger, fireAt);
+    }
+
+    void dispatch(AlertTrigger trigger) {
+        scheduled.remove(trigger);
+        if (!dispatched.add(trigger)) {
+            return;
+        }
+        String lockName = "rule37:deadline-alert:" + trigger.tenantId() + ":" + trigger.threshold() + ":" + trigger.date();
+        // Not unlocked: the lease marks the batch as claimed for every replica until it expires
+        if (!lockService.tryLock(lockName, Duration.ZERO, claimLease)) {
+            log.debug("Deadline alert {} claimed by another replica", lockName);
+            return;
+        }
+        try {
+            List<Rule37OpenPurchase> batch = trigger.threshold() == InterestRow.RiskCategory.AT_RISK
+                    ? openPurchaseRepository.findByTenantIdAndPurchaseDate(trigger.tenantId(), trigger.date().minusDays(AT_RISK_DAY))
+                    : openPurchaseRepository.findByTenantIdAndPaymentDeadline(trigger.tenantId(), trigger.date().minusDays(1));
+            if (!batch.isEmpty()) {
+                eventPublisher.publishEvent(new Rule37DeadlineAlertEvent(
+                        trigger.tenantId(), trigger.threshold(), trigger.date(), batch));
+            }
+        } catch (RuntimeException e) {
+            log.error("Deadline alert dispatch failed for {}: {}", lockName, e.getMessage());
+        }
+    }
+
+    record AlertTrigger(String tenantId, InterestRow.RiskCategory threshold, LocalDate date) {
+    }
+}
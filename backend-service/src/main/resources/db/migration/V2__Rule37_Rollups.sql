@@ -0,0 +1,46 @@
+/*
+  # Phase 1: Rule 37 — Dashboard Rollups
+
+  ## Summary
+  - CREATE rule37_tenant_rollups: per-tenant monthly aggregates (bucketed by as_on_date)
+  - CREATE rule37_supplier_rollups: per-tenant, per-supplier aggregates
+
+  ## Maintenance
+  - Incremented when a run is saved, decremented when a run is deleted or purged
+  - Rows whose run_count drops to zero are removed
+  - Dashboard reads only these tables; calculation_data JSONB is never scanned
+*/
+
+CREATE TABLE rule37_tenant_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    period_month DATE NOT NULL,
+    run_count INTEGER NOT NULL DEFAULT 0,
+    total_interest DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_itc_reversal DECIMAL(15,2) NOT NULL DEFAULT 0,
+    at_risk_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    at_risk_count INTEGER NOT NULL DEFAULT 0,
+    breached_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_rule37_tenant_rollups UNIQUE (tenant_id, period_month)
+);
+
+CREATE TABLE rule37_supplier_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    supplier VARCHAR(255) NOT NULL,
+    run_count INTEGER NOT NULL DEFAULT 0,
+    total_interest DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_itc_reversal DECIMAL(15,2) NOT NULL DEFAULT 0,
+    at_risk_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    at_risk_count INTEGER NOT NULL DEFAULT 0,
+    breached_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_rule37_supplier_rollups UNIQUE (tenant_id, supplier)
+);
+
+CREATE INDEX idx_rule37_supplier_rollups_interest ON rule37_supplier_rollups(tenant_id, total_interest DESC);
+
+COMMENT ON TABLE rule37_tenant_rollups IS 'Rule 37 dashboard: monthly per-tenant aggregates maintained on run save/delete/purge';
+COMMENT ON TABLE rule37_supplier_rollups IS 'Rule 37 dashboard: per-supplier aggregates maintained on run save/delete/purge';
+COMMENT ON COLUMN rule37_tenant_rollups.period_month IS 'First day of the as_on_date month';
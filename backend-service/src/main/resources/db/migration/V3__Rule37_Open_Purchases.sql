@@ -0,0 +1,34 @@
+/*
+  # Phase 1: Rule 37 — Open Purchase Risk Index
+
+  ## Summary
+  - CREATE rule37_open_purchases: unpaid purchases still inside the 180-day window
+  - One row per open purchase of the latest run per (tenant, ledger)
+
+  ## Maintenance
+  - Populated when a run is saved; rows of older runs for the same ledger are superseded
+  - Removed with the run (deleted or purged) via ON DELETE CASCADE
+  - Queried by (tenant_id, payment_deadline) for "who is about to breach" across all ledgers
+*/
+
+CREATE SEQUENCE rule37_open_purchases_seq INCREMENT BY 50;
+
+CREATE TABLE rule37_open_purchases (
+    id BIGINT PRIMARY KEY DEFAULT nextval('rule37_open_purchases_seq'),
+    run_id BIGINT NOT NULL REFERENCES rule37_calculation_runs(id) ON DELETE CASCADE,
+    tenant_id VARCHAR(64) NOT NULL,
+    ledger_name VARCHAR(255) NOT NULL,
+    supplier VARCHAR(255) NOT NULL,
+    purchase_date DATE NOT NULL,
+    payment_deadline DATE NOT NULL,
+    principal DECIMAL(15,2) NOT NULL,
+    itc_amount DECIMAL(15,2) NOT NULL,
+    as_on_date DATE NOT NULL
+);
+
+CREATE INDEX idx_rule37_open_purchases_deadline ON rule37_open_purchases(tenant_id, payment_deadline);
+CREATE INDEX idx_rule37_open_purchases_run ON rule37_open_purchases(run_id);
+CREATE INDEX idx_rule37_open_purchases_ledger ON rule37_open_purchases(tenant_id, ledger_name);
+
+COMMENT ON TABLE rule37_open_purchases IS 'Rule 37 risk index: open (unpaid, not yet breached) purchases by deadline';
+COMMENT ON COLUMN rule37_open_purchases.payment_deadline IS 'purchase_date + 180 days; ITC reversal due after this date';
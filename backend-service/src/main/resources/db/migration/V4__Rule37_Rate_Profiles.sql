@@ -0,0 +1,29 @@
+/*
+  # Phase 1: Rule 37 — Rate Profiles
+
+  ## Summary
+  - CREATE rule37_rate_profiles: per-tenant default GST rate and interest rate
+  - CREATE rule37_supplier_gst_rates: per-supplier GST slab overrides (5%/12%/28% ...)
+
+  ## Usage
+  - Resolved once per upload / what-if session into the calculator's slab lookup table
+  - Tenants without a row use the statutory defaults (18% GST, 18% p.a. interest)
+*/
+
+CREATE TABLE rule37_rate_profiles (
+    tenant_id VARCHAR(64) PRIMARY KEY,
+    gst_rate_percent DECIMAL(5,2) NOT NULL DEFAULT 18.00,
+    interest_rate DECIMAL(6,4) NOT NULL DEFAULT 0.1800,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE rule37_supplier_gst_rates (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    supplier_key VARCHAR(255) NOT NULL,
+    supplier VARCHAR(255) NOT NULL,
+    gst_rate_percent DECIMAL(5,2) NOT NULL,
+    CONSTRAINT uq_rule37_supplier_gst_rates UNIQUE (tenant_id, supplier_key)
+);
+
+COMMENT ON COLUMN rule37_supplier_gst_rates.supplier_key IS 'Trimmed upper-case supplier name used for matching ledger rows';
@@ -0,0 +1,21 @@
+/*
+  # Phase 1: Rule 37 — Supplier Aliases
+
+  ## Summary
+  - CREATE rule37_supplier_aliases: per-tenant spelling variant → canonical supplier name
+
+  ## Usage
+  - Written when an upload merges spelling variants ("ABC Traders", "A.B.C. Traders PVT LTD")
+  - Read on later uploads so the same variants resolve to the same canonical name
+*/
+
+CREATE TABLE rule37_supplier_aliases (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    alias_key VARCHAR(255) NOT NULL,
+    canonical_name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_rule37_supplier_aliases UNIQUE (tenant_id, alias_key)
+);
+
+COMMENT ON COLUMN rule37_supplier_aliases.alias_key IS 'Normalized token key of the variant (upper-case, punctuation and legal suffixes dropped)';
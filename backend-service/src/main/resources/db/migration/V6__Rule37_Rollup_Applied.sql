@@ -0,0 +1,14 @@
+/*
+  # Phase 1: Rule 37 — Rollup Applied Marker
+
+  ## Summary
+  - ALTER rule37_calculation_runs: add rollup_applied
+
+  ## Usage
+  - Set in the same transaction that adds a run's contribution to the dashboard rollups
+  - Runs saved before V2 keep FALSE; delete and purge only subtract runs that were actually added
+*/
+
+ALTER TABLE rule37_calculation_runs ADD COLUMN rollup_applied BOOLEAN NOT NULL DEFAULT FALSE;
+
+COMMENT ON COLUMN rule37_calculation_runs.rollup_applied IS 'TRUE once the run has been added to rule37_tenant_rollups / rule37_supplier_rollups';
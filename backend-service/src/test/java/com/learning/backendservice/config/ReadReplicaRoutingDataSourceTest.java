@@ -0,0 +1,86 @@
+package com.learning.backendservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReadReplicaRoutingDataSource.
+ * Tests read-only routing and fallback to the primary pool.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReadReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (routing != null) {
+            routing.destroy();
+        }
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransaction_UsesReplica() throws Exception {
+        // Given
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When/Then
+        routing = routing(replica);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void getConnection_ReadWriteTransaction_UsesPrimary() throws Exception {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // When/Then
+        routing = routing(replica);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void getConnection_ReplicaDown_FallsBackToPrimary() throws Exception {
+        // Given
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When/Then
+        routing = routing(replica);
+        assertSame(primaryConnection, routing.getConnection());
+        assertFalse(routing.isReplicaAvailable());
+    }
+
+    @Test
+    void getConnection_NoReplicaConfigured_UsesPrimary() throws Exception {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When/Then
+        routing = routing(null);
+        assertSame(primaryConnection, routing.getConnection());
+        assertFalse(routing.isReplicaAvailable());
+    }
+
+    private ReadReplicaRoutingDataSource routing(DataSource replicaDataSource) {
+        return new ReadReplicaRoutingDataSource(primary, replicaDataSource, Duration.ofSeconds(10), Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,142 @@
+package com.learning.backendservice.domain.ledger;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for LedgerExcelParser.
+ * Verifies optional column detection (bill reference, tax rate) on in-memory workbooks.
+ */
+class LedgerExcelParserTest {
+
+    private final LedgerExcelParser parser = new LedgerExcelParser();
+
+    @Test
+    void parse_BillNoColumnNextToDecoyReferenceColumn_UsesBillNo() throws IOException {
+        // Given
+        byte[] xlsx = workbook(
+                new Object[]{"Date", "Party Name", "Reference", "Bill No", "Debit", "Credit"},
+                new Object[]{"2025-01-10", "ABC Traders", "PO-77", "INV-1", "", 1180.0},
+                new Object[]{"2025-02-10", "ABC Traders", "UTR-9", "INV-1", 1180.0, ""});
+
+        // When
+        List<LedgerEntry> entries = parse(xlsx);
+
+        // Then
+        assertThat(entries).extracting(LedgerEntry::getBillRef).containsExactly("INV-1", "INV-1");
+    }
+
+    @Test
+    void parse_OnlyDecoyHeaders_HasNoBillReference() throws IOException {
+        // Given
+        byte[] xlsx = workbook(
+                new Object[]{"Date", "Party Name", "Reference", "Ref. Ledger", "Debit", "Credit"},
+                new Object[]{"2025-01-10", "ABC Traders", "PO-77", "Purchases", "", 1180.0});
+
+        // When
+        List<LedgerEntry> entries = parse(xlsx);
+
+        // Then
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getBillRef()).isNull();
+        assertThat(entries.get(0).getSupplier()).isEqualTo("ABC Traders");
+    }
+
+    @Test
+    void parse_TallyAgstRefColumn_IsBillReference() throws IOException {
+        // Given
+        byte[] xlsx = workbook(
+                new Object[]{"Date", "Particulars", "Agst Ref", "Debit", "Credit"},
+                new Object[]{"2025-01-10", "ABC Traders", "INV-7", "", 1180.0});
+
+        // When
+        List<LedgerEntry> entries = parse(xlsx);
+
+        // Then
+        assertThat(entries.get(0).getBillRef()).isEqualTo("INV-7");
+    }
+
+    @Test
+    void parse_PercentFormattedRateCells_ReadAsFractions() throws IOException {
+        // Given: cells display 18% and 0.25% but store 0.18 and 0.0025
+        byte[] xlsx = workbook(
+                new Object[]{"Date", "Party Name", "Debit", "Credit", "GST Rate"},
+                new Object[]{"2025-01-10", "ABC Traders", "", 1180.0, new Percent(0.18)},
+                new Object[]{"2025-01-11", "Gold House", "", 1002.5, new Percent(0.0025)});
+
+        // When
+        List<LedgerEntry> entries = parse(xlsx);
+
+        // Then
+        assertThat(entries.get(0).getItcAmount()).isCloseTo(180.0, within(0.001));
+        assertThat(entries.get(1).getItcAmount()).isCloseTo(2.5, within(0.001));
+    }
+
+    @Test
+    void parse_PlainRateCells_ReadAsPercentagePoints() throws IOException {
+        // Given: 0.25 and 0.1 are the 0.25% and 0.1% slabs, not 25% and 10%
+        byte[] xlsx = workbook(
+                new Object[]{"Date", "Party Name", "Debit", "Credit", "GST %"},
+                new Object[]{"2025-01-10", "ABC Traders", "", 1180.0, 18.0},
+                new Object[]{"2025-01-11", "Gold House", "", 1002.5, 0.25},
+                new Object[]{"2025-01-12", "Export House", "", 1001.0, 0.1},
+                new Object[]{"2025-01-13", "XYZ Supplies", "", 1050.0, "5%"});
+
+        // When
+        List<LedgerEntry> entries = parse(xlsx);
+
+        // Then
+        assertThat(entries.get(0).getItcAmount()).isCloseTo(180.0, within(0.001));
+        assertThat(entries.get(1).getItcAmount()).isCloseTo(2.5, within(0.001));
+        assertThat(entries.get(2).getItcAmount()).isCloseTo(1.0, within(0.001));
+        assertThat(entries.get(3).getItcAmount()).isCloseTo(50.0, within(0.001));
+    }
+
+    private List<LedgerEntry> parse(byte[] xlsx) {
+        return parser.parse(new ByteArrayInputStream(xlsx), "ledger.xlsx", new SupplierDictionary());
+    }
+
+    private static byte[] workbook(Object[]... rows) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            CellStyle percentStyle = workbook.createCellStyle();
+            percentStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00%"));
+            for (int r = 0; r < rows.length; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    Object value = rows[r][c];
+                    if (value instanceof Percent p) {
+                        Cell cell = row.createCell(c);
+                        cell.setCellValue(p.fraction());
+                        cell.setCellStyle(percentStyle);
+                    } else if (value instanceof Number n) {
+                        row.createCell(c).setCellValue(n.doubleValue());
+                    } else {
+                        row.createCell(c).setCellValue(value.toString());
+                    }
+                }
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Numeric cell with a percentage display format, as Excel stores a typed-in "18%".
+     */
+    private record Percent(double fraction) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.learning.backendservice.domain.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SupplierDictionary.
+ * Verifies id assignment and each normalization mode.
+ */
+class SupplierDictionaryTest {
+
+    @Test
+    void intern_Exact_KeepsDistinctSpellingsApart() {
+        // Given
+        SupplierDictionary dictionary = new SupplierDictionary();
+
+        // When
+        int first = dictionary.intern(" ABC Traders ");
+        int same = dictionary.intern("ABC Traders");
+        int other = dictionary.intern("abc traders");
+
+        // Then
+        assertThat(same).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(dictionary.name(first)).isEqualTo("ABC Traders");
+    }
+
+    @Test
+    void intern_CaseInsensitive_FoldsCaseAndPunctuationToFirstSpelling() {
+        // Given
+        SupplierDictionary dictionary = new SupplierDictionary(SupplierDictionary.Normalization.CASE_INSENSITIVE);
+
+        // When
+        int first = dictionary.intern("ABC Traders.");
+        int folded = dictionary.intern("abc  traders");
+
+        // Then
+        assertThat(folded).isEqualTo(first);
+        assertThat(dictionary.name(folded)).isEqualTo("ABC Traders.");
+        assertThat(dictionary.size()).isEqualTo(1);
+    }
+
+    @Test
+    void intern_Gstin_MergesNamesSharingGstin() {
+        // Given
+        SupplierDictionary dictionary = new SupplierDictionary(SupplierDictionary.Normalization.GSTIN);
+
+        // When
+        int first = dictionary.intern("ABC Traders (27AAPFU0939F1ZV)");
+        int renamed = dictionary.intern("ABC Trading Co 27aapfu0939f1zv");
+        int noGstin = dictionary.intern("abc traders");
+
+        // Then
+        assertThat(renamed).isEqualTo(first);
+        assertThat(noGstin).isNotEqualTo(first);
+    }
+}
@@ -0,0 +1,75 @@
+package com.learning.backendservice.domain.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SupplierNameIndex.
+ * Verifies token-key, GSTIN, fuzzy and stored-alias merges, and that fuzzy merges neither chain nor become
+ * stored aliases.
+ */
+class SupplierNameIndexTest {
+
+    @Test
+    void canonicalize_SpellingVariants_MergeToFirstSpelling() {
+        // Given
+        List<String> names = List.of("ABC Traders", "ABC TRADERS PVT LTD", "A.B.C. Traders", "XYZ Metals");
+
+        // When
+        SupplierNameIndex.Result result = SupplierNameIndex.canonicalize(names, Map.of(), 0.85);
+
+        // Then
+        assertThat(result.canonicalByName()).containsOnly(
+                Map.entry("ABC TRADERS PVT LTD", "ABC Traders"),
+                Map.entry("A.B.C. Traders", "ABC Traders"));
+        assertThat(result.newAliases()).containsEntry("ABC TRADERS", "ABC Traders");
+    }
+
+    @Test
+    void canonicalize_SharedGstinOrSmallTypo_Merges() {
+        // Given
+        List<String> names = List.of("Shree Ganesh Steels 27AAPFU0939F1ZV", "Ganesh Steel Co (27AAPFU0939F1ZV)",
+                "Mahalaxmi Enterprises", "Mahalaxmi Enterprise", "Mahavir Enterprises");
+
+        // When
+        SupplierNameIndex.Result result = SupplierNameIndex.canonicalize(names, Map.of(), 0.8);
+
+        // Then
+        assertThat(result.canonicalByName()).containsOnly(
+                Map.entry("Ganesh Steel Co (27AAPFU0939F1ZV)", "Shree Ganesh Steels 27AAPFU0939F1ZV"),
+                Map.entry("Mahalaxmi Enterprise", "Mahalaxmi Enterprises"));
+        assertThat(result.newAliases()).doesNotContainKey("MAHALAXMI ENTERPRISE");
+        assertThat(result.suggestedAliases()).containsOnly(Map.entry("MAHALAXMI ENTERPRISE", "Mahalaxmi Enterprises"));
+    }
+
+    @Test
+    void canonicalize_FuzzyChain_DoesNotMergeTransitively() {
+        // Given: trigram similarity 0.79 for the first pair, 0.64 for the second, 0.5 end to end
+        List<String> names = List.of("Sharma Steels", "Sharma Steel", "Varma Steel");
+
+        // When
+        SupplierNameIndex.Result result = SupplierNameIndex.canonicalize(names, Map.of(), 0.6);
+
+        // Then
+        assertThat(result.canonicalByName()).containsOnly(Map.entry("Sharma Steel", "Sharma Steels"));
+        assertThat(result.newAliases()).isEmpty();
+    }
+
+    @Test
+    void canonicalize_StoredAlias_WinsAndIsNotRewritten() {
+        // Given
+        Map<String, String> aliases = Map.of("ABC TRADERS", "ABC Traders Pvt Ltd");
+
+        // When
+        SupplierNameIndex.Result result = SupplierNameIndex.canonicalize(
+                List.of("A B C Traders", "Unrelated Supplier"), aliases, 0.85);
+
+        // Then
+        assertThat(result.canonicalByName()).containsOnly(Map.entry("A B C Traders", "ABC Traders Pvt Ltd"));
+        assertThat(result.newAliases()).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.learning.backendservice.domain.rule37;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BillReferenceMatchingStrategy.
+ * Verifies exact-invoice matching by reference and FIFO fallback for leftovers.
+ */
+class BillReferenceMatchingStrategyTest {
+
+    private final BillReferenceMatchingStrategy strategy = new BillReferenceMatchingStrategy(new FifoMatchingStrategy());
+
+    @Test
+    void match_PaymentWithReference_SettlesThatInvoiceNotOldest() {
+        // Given
+        MatchItem oldBill = new MatchItem(LocalDate.of(2025, 1, 1), 1000, "INV-1");
+        MatchItem newBill = new MatchItem(LocalDate.of(2025, 2, 1), 500, "INV-2");
+        MatchItem payment = new MatchItem(LocalDate.of(2025, 3, 1), 500, "inv-2 ");
+        List<String> matches = new ArrayList<>();
+
+        // When
+        strategy.match(List.of(oldBill, newBill), List.of(payment),
+                (purchase, pay, amount) -> matches.add(purchase.billRef() + ":" + amount));
+
+        // Then
+        assertThat(matches).containsExactly("INV-2:500.0");
+        assertThat(oldBill.amount()).isEqualTo(1000);
+        assertThat(newBill.isExhausted()).isTrue();
+    }
+
+    @Test
+    void match_UnreferencedAndLeftoverAmounts_FallBackToFifo() {
+        // Given
+        MatchItem bill1 = new MatchItem(LocalDate.of(2025, 1, 1), 1000, "INV-1");
+        MatchItem bill2 = new MatchItem(LocalDate.of(2025, 2, 1), 400, "INV-2");
+        MatchItem overpayment = new MatchItem(LocalDate.of(2025, 3, 1), 600, "INV-2");
+        MatchItem onAccount = new MatchItem(LocalDate.of(2025, 4, 1), 300, null);
+        List<String> matches = new ArrayList<>();
+
+        // When
+        strategy.match(List.of(bill1, bill2), List.of(overpayment, onAccount),
+                (purchase, pay, amount) -> matches.add(purchase.billRef() + ":" + pay.date() + ":" + amount));
+
+        // Then - 200 left on the INV-2 payment and the unreferenced 300 go to the oldest bill
+        assertThat(matches).containsExactly(
+                "INV-2:2025-03-01:400.0",
+                "INV-1:2025-03-01:200.0",
+                "INV-1:2025-04-01:300.0");
+        assertThat(bill1.amount()).isEqualTo(500);
+    }
+}
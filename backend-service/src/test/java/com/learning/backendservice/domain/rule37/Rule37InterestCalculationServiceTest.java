@@ -0,0 +1,101 @@
+package com.learning.backendservice.domain.rule37;
+
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for Rule37InterestCalculationService rate handling.
+ * Verifies statutory defaults, per-supplier GST slab overrides and exact ITC from ledger tax columns.
+ */
+class Rule37InterestCalculationServiceTest {
+
+    private static final LocalDate AS_ON = LocalDate.of(2025, 12, 31);
+
+    private final Rule37InterestCalculationService calculator = new Rule37InterestCalculationService(
+            List.of(new FifoMatchingStrategy(), new BillReferenceMatchingStrategy(new FifoMatchingStrategy())));
+
+    @Test
+    void calculate_DefaultOptions_Uses18PercentGst() {
+        // When
+        CalculationSummary summary = calculator.calculate(List.of(purchase("ABC Traders", 11800)), AS_ON);
+
+        // Then
+        assertThat(summary.getDetails()).hasSize(1);
+        assertThat(summary.getTotalItcReversal()).isEqualTo(1800.0);
+    }
+
+    @Test
+    void calculate_SupplierSlabOverride_AppliesOnlyToThatSupplier() {
+        // Given
+        CalculationOptions options = CalculationOptions.builder()
+                .supplierGstRates(Map.of(CalculationOptions.supplierKey(" xyz ltd"), 5.0))
+                .build();
+
+        // When
+        CalculationSummary summary = calculator.calculate(
+                List.of(purchase("ABC Traders", 11800), purchase("XYZ Ltd", 10500)), AS_ON, options);
+
+        // Then
+        assertThat(summary.getDetails())
+                .extracting(InterestRow::getSupplier, InterestRow::getItcAmount)
+                .containsExactlyInAnyOrder(
+                        tuple("ABC Traders", 1800.0),
+                        tuple("XYZ Ltd", 500.0));
+    }
+
+    @Test
+    void calculate_SlabOverrideForMergedSpelling_AppliesToCanonicalName() {
+        // Given - slab set for the spelling the tenant typed, ledger canonicalized to another spelling
+        CalculationOptions options = CalculationOptions.builder()
+                .supplierGstRates(Map.of(CalculationOptions.supplierKey("Acme Traders"), 5.0))
+                .build();
+
+        // When
+        CalculationSummary summary = calculator.calculate(
+                List.of(purchase("ACME TRADERS PVT LTD", 10500)), AS_ON, options);
+
+        // Then
+        assertThat(summary.getDetails()).singleElement()
+                .extracting(InterestRow::getItcAmount)
+                .isEqualTo(500.0);
+    }
+
+    @Test
+    void calculate_ExactItcFromLedger_OverridesRateAndSplitsProRata() {
+        // Given - 28% invoice with exact ITC, half paid late, half unpaid
+        LedgerEntry invoice = purchase("ABC Traders", 12800);
+        invoice.setItcAmount(2800.0);
+        LedgerEntry payment = LedgerEntry.builder()
+                .date(LocalDate.of(2025, 8, 1))
+                .entryType(LedgerEntry.LedgerEntryType.PAYMENT)
+                .supplier("ABC Traders")
+                .amount(6400)
+                .build();
+
+        // When
+        CalculationSummary summary = calculator.calculate(List.of(invoice, payment), AS_ON);
+
+        // Then
+        assertThat(summary.getDetails())
+                .extracting(InterestRow::getStatus, InterestRow::getItcAmount)
+                .containsExactly(
+                        tuple(InterestRow.InterestStatus.PAID_LATE, 1400.0),
+                        tuple(InterestRow.InterestStatus.UNPAID, 1400.0));
+    }
+
+    private static LedgerEntry purchase(String supplier, double amount) {
+        return LedgerEntry.builder()
+                .date(LocalDate.of(2025, 1, 1))
+                .entryType(LedgerEntry.LedgerEntryType.PURCHASE)
+                .supplier(supplier)
+                .amount(amount)
+                .build();
+    }
+}
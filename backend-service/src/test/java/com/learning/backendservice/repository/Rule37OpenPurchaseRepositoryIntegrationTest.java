@@ -0,0 +1,81 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.BaseIntegrationTest;
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for Rule37OpenPurchaseRepository against PostgreSQL.
+ * Verifies that deleteSuperseded keeps only the latest run per ledger and tenant.
+ */
+@Transactional
+class Rule37OpenPurchaseRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private Rule37OpenPurchaseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void deleteSuperseded_RemovesOlderRunsOfSameLedgerOnly() {
+        // Given
+        repository.saveAll(List.of(
+                entry("acme", 1L, "Ledger A"),
+                entry("acme", 1L, "Ledger B"),
+                entry("acme", 2L, "Ledger A"),
+                entry("other", 1L, "Ledger A")));
+
+        // When
+        int deleted = repository.deleteSuperseded("acme", Set.of("Ledger A"), 2L);
+
+        // Then
+        assertEquals(1, deleted);
+        List<Rule37OpenPurchase> remaining = repository.findAll();
+        assertEquals(3, remaining.size());
+        assertEquals(0, remaining.stream()
+                .filter(p -> p.getTenantId().equals("acme") && p.getLedgerName().equals("Ledger A")
+                        && p.getRunId() == 1L)
+                .count());
+    }
+
+    @Test
+    void deleteSuperseded_KeepsEntriesOfCurrentRun() {
+        // Given
+        repository.saveAll(List.of(entry("acme", 2L, "Ledger A"), entry("acme", 2L, "Ledger A")));
+
+        // When
+        int deleted = repository.deleteSuperseded("acme", Set.of("Ledger A"), 2L);
+
+        // Then
+        assertEquals(0, deleted);
+        assertEquals(2, repository.count());
+    }
+
+    private static Rule37OpenPurchase entry(String tenantId, Long runId, String ledgerName) {
+        LocalDate purchaseDate = LocalDate.of(2025, 1, 10);
+        return Rule37OpenPurchase.builder()
+                .runId(runId)
+                .tenantId(tenantId)
+                .ledgerName(ledgerName)
+                .supplier("ABC Traders")
+                .purchaseDate(purchaseDate)
+                .paymentDeadline(purchaseDate.plusDays(180))
+                .principal(new BigDecimal("1000.00"))
+                .itcAmount(new BigDecimal("152.54"))
+                .asOnDate(LocalDate.of(2025, 6, 30))
+                .build();
+    }
+}
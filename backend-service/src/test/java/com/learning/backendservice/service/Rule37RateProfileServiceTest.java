@@ -0,0 +1,76 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.domain.ledger.SupplierNameIndex;
+import com.learning.backendservice.domain.rule37.CalculationOptions;
+import com.learning.backendservice.entity.Rule37SupplierAlias;
+import com.learning.backendservice.entity.Rule37SupplierGstRate;
+import com.learning.backendservice.repository.Rule37RateProfileRepository;
+import com.learning.backendservice.repository.Rule37SupplierAliasRepository;
+import com.learning.backendservice.repository.Rule37SupplierGstRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for Rule37RateProfileService.
+ * Verifies that supplier slabs follow the canonical names suppliers are renamed to.
+ */
+class Rule37RateProfileServiceTest {
+
+    private Rule37SupplierGstRateRepository supplierRateRepository;
+    private Rule37SupplierAliasRepository aliasRepository;
+    private Rule37RateProfileService service;
+
+    @BeforeEach
+    void setUp() {
+        Rule37RateProfileRepository profileRepository = mock(Rule37RateProfileRepository.class);
+        when(profileRepository.findById("acme")).thenReturn(Optional.empty());
+        supplierRateRepository = mock(Rule37SupplierGstRateRepository.class);
+        aliasRepository = mock(Rule37SupplierAliasRepository.class);
+        service = new Rule37RateProfileService(profileRepository, supplierRateRepository, aliasRepository);
+    }
+
+    @Test
+    void resolveOptions_SlabForAliasedSpelling_AlsoKeyedByCanonicalName() {
+        // Given: the slab was set for a spelling that a stored GSTIN merge renames
+        when(supplierRateRepository.findByTenantIdOrderBySupplierAsc("acme")).thenReturn(List.of(
+                Rule37SupplierGstRate.builder().tenantId("acme").supplier("Ganesh Steel Co")
+                        .supplierKey(CalculationOptions.supplierKey("Ganesh Steel Co"))
+                        .gstRatePercent(BigDecimal.valueOf(12)).build()));
+        when(aliasRepository.findByTenantIdAndAliasKeyIn(eq("acme"), any())).thenReturn(List.of(
+                Rule37SupplierAlias.builder().tenantId("acme").aliasKey(SupplierNameIndex.key("Ganesh Steel Co"))
+                        .canonicalName("Shree Ganesh Steels 27AAPFU0939F1ZV").build()));
+
+        // When
+        CalculationOptions options = service.resolveOptions("acme");
+
+        // Then
+        assertThat(options.getSupplierGstRates())
+                .containsEntry(CalculationOptions.supplierKey("Ganesh Steel Co"), 12.0)
+                .containsEntry(CalculationOptions.supplierKey("Shree Ganesh Steels 27AAPFU0939F1ZV"), 12.0);
+    }
+
+    @Test
+    void resolveOptions_NoSlabs_SkipsAliasLookup() {
+        // Given
+        when(supplierRateRepository.findByTenantIdOrderBySupplierAsc("acme")).thenReturn(List.of());
+
+        // When
+        CalculationOptions options = service.resolveOptions("acme");
+
+        // Then
+        assertThat(options).isSameAs(CalculationOptions.DEFAULTS);
+        verify(aliasRepository, never()).findByTenantIdAndAliasKeyIn(any(), any());
+    }
+}
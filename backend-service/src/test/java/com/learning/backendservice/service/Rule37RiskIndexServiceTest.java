@@ -0,0 +1,186 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.entity.Rule37CalculationRun;
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+import com.learning.backendservice.repository.Rule37OpenPurchaseRepository;
+import com.learning.backendservice.repository.Rule37RunRepository;
+import com.learning.backendservice.service.alert.Rule37DeadlineAlertScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for Rule37RiskIndexService.
+ * Verifies index entries built from a run, supersession of older runs, re-indexing after a delete and
+ * tolerance of malformed rows.
+ */
+class Rule37RiskIndexServiceTest {
+
+    private Rule37OpenPurchaseRepository repository;
+    private Rule37RunRepository runRepository;
+    private Rule37DeadlineAlertScheduler alertScheduler;
+    private Rule37RiskIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(Rule37OpenPurchaseRepository.class);
+        runRepository = mock(Rule37RunRepository.class);
+        alertScheduler = mock(Rule37DeadlineAlertScheduler.class);
+        service = new Rule37RiskIndexService(repository, runRepository, alertScheduler, Clock.systemUTC());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexRun_SupersedesOlderRunsAndIndexesOpenPurchases() {
+        // Given
+        Rule37CalculationRun run = run("Ledger A", List.of(
+                openPurchase("ABC Traders", LocalDate.of(2025, 1, 10))));
+
+        // When
+        service.indexRun(run);
+
+        // Then
+        verify(repository).deleteSuperseded("acme", Set.of("Ledger A"), 42L);
+        ArgumentCaptor<List<Rule37OpenPurchase>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        Rule37OpenPurchase entry = saved.getValue().get(0);
+        assertEquals(42L, entry.getRunId());
+        assertEquals("Ledger A", entry.getLedgerName());
+        assertEquals("ABC Traders", entry.getSupplier());
+        assertEquals(LocalDate.of(2025, 7, 9), entry.getPaymentDeadline());
+        verify(alertScheduler).scheduleAll(saved.getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexRun_ClampsLongAndMissingNamesAndSkipsRowsWithoutDates() {
+        // Given
+        String longSupplier = "S".repeat(300);
+        InterestRow undated = InterestRow.builder().supplier("No Date").principal(10.0).build();
+        Rule37CalculationRun run = run(null, List.of(
+                openPurchase(longSupplier, LocalDate.of(2025, 1, 10)),
+                openPurchase(null, LocalDate.of(2025, 1, 11)),
+                undated));
+
+        // When
+        service.indexRun(run);
+
+        // Then
+        verify(repository).deleteSuperseded("acme", Set.of("Unknown"), 42L);
+        ArgumentCaptor<List<Rule37OpenPurchase>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        List<Rule37OpenPurchase> entries = saved.getValue();
+        assertEquals(2, entries.size());
+        assertEquals(255, entries.get(0).getSupplier().length());
+        assertEquals("Unknown", entries.get(0).getLedgerName());
+        assertEquals("Unknown", entries.get(1).getSupplier());
+    }
+
+    @Test
+    void indexRun_RunWithoutLedgers_TouchesNothing() {
+        // Given
+        Rule37CalculationRun run = Rule37CalculationRun.builder().id(42L).tenantId("acme").build();
+
+        // When
+        service.indexRun(run);
+
+        // Then
+        verifyNoInteractions(repository, alertScheduler);
+    }
+
+    @Test
+    void indexRun_LedgerWithoutOpenPurchases_StillSupersedesOlderEntries() {
+        // Given
+        Rule37CalculationRun run = run("Ledger A", null);
+
+        // When
+        service.indexRun(run);
+
+        // Then
+        verify(repository).deleteSuperseded(eq("acme"), eq(Set.of("Ledger A")), eq(42L));
+        verify(repository).saveAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reindexAfterDelete_RestoresLedgersFromLatestOlderRun() {
+        // Given: run 42 (Ledger A, Ledger B) deleted; run 50 still owns Ledger B, run 30 is the older upload of both
+        Rule37CalculationRun deleted = run(42L, ledger("Ledger A", LocalDate.of(2025, 3, 1)),
+                ledger("Ledger B", LocalDate.of(2025, 3, 2)));
+        Rule37CalculationRun newer = run(50L, ledger("Ledger B", LocalDate.of(2025, 4, 1)));
+        Rule37CalculationRun older = run(30L, ledger("Ledger A", LocalDate.of(2025, 1, 10)),
+                ledger("Ledger B", LocalDate.of(2025, 1, 11)));
+        when(runRepository.findByTenantIdOrderByCreatedAtDesc(eq("acme"), any()))
+                .thenReturn(new PageImpl<>(List.of(newer, older)));
+
+        // When
+        service.reindexAfterDelete(deleted);
+
+        // Then
+        ArgumentCaptor<List<Rule37OpenPurchase>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        Rule37OpenPurchase entry = saved.getValue().get(0);
+        assertEquals(30L, entry.getRunId());
+        assertEquals("Ledger A", entry.getLedgerName());
+        assertEquals(LocalDate.of(2025, 1, 10), entry.getPurchaseDate());
+        verify(alertScheduler).scheduleAll(saved.getValue());
+    }
+
+    private static LedgerResult ledger(String ledgerName, LocalDate purchaseDate) {
+        return LedgerResult.builder()
+                .ledgerName(ledgerName)
+                .summary(CalculationSummary.builder()
+                        .openPurchases(List.of(openPurchase("ABC Traders", purchaseDate)))
+                        .build())
+                .build();
+    }
+
+    private static Rule37CalculationRun run(Long id, LedgerResult... ledgers) {
+        return Rule37CalculationRun.builder()
+                .id(id)
+                .tenantId("acme")
+                .asOnDate(LocalDate.of(2025, 6, 30))
+                .calculationData(List.of(ledgers))
+                .build();
+    }
+
+    private static InterestRow openPurchase(String supplier, LocalDate purchaseDate) {
+        return InterestRow.builder()
+                .supplier(supplier)
+                .purchaseDate(purchaseDate)
+                .paymentDeadline(purchaseDate.plusDays(180))
+                .principal(1000.0)
+                .itcAmount(152.54)
+                .riskCategory(InterestRow.RiskCategory.AT_RISK)
+                .build();
+    }
+
+    private static Rule37CalculationRun run(String ledgerName, List<InterestRow> openPurchases) {
+        CalculationSummary summary = CalculationSummary.builder().openPurchases(openPurchases).build();
+        return Rule37CalculationRun.builder()
+                .id(42L)
+                .tenantId("acme")
+                .asOnDate(LocalDate.of(2025, 6, 30))
+                .calculationData(List.of(LedgerResult.builder().ledgerName(ledgerName).summary(summary).build()))
+                .build();
+    }
+}
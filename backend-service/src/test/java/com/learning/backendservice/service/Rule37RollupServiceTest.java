@@ -0,0 +1,108 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.entity.Rule37CalculationRun;
+import com.learning.backendservice.repository.Rule37RunRepository;
+import com.learning.backendservice.repository.Rule37SupplierRollupRepository;
+import com.learning.backendservice.repository.Rule37TenantRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for Rule37RollupService.
+ * Verifies that save and delete apply symmetric deltas to the rollup tables.
+ */
+class Rule37RollupServiceTest {
+
+    private Rule37TenantRollupRepository tenantRepo;
+    private Rule37SupplierRollupRepository supplierRepo;
+    private Rule37RunRepository runRepo;
+    private Rule37RollupService service;
+
+    @BeforeEach
+    void setUp() {
+        tenantRepo = mock(Rule37TenantRollupRepository.class);
+        supplierRepo = mock(Rule37SupplierRollupRepository.class);
+        runRepo = mock(Rule37RunRepository.class);
+        service = new Rule37RollupService(tenantRepo, supplierRepo, runRepo);
+    }
+
+    @Test
+    void applyRun_AddsMonthlyAndSupplierContribution() {
+        // When
+        service.applyRun(run());
+
+        // Then
+        verify(tenantRepo).applyDelta("acme", LocalDate.of(2025, 3, 1), 1,
+                new BigDecimal("120.50"), new BigDecimal("300.00"), new BigDecimal("0.00"), 0, 2);
+        verify(supplierRepo).applyDelta("acme", "ABC Traders", 1,
+                new BigDecimal("100.00"), new BigDecimal("300.00"), new BigDecimal("0.00"), 0, 1);
+        verify(supplierRepo).applyDelta("acme", "XYZ Ltd", 1,
+                new BigDecimal("20.50"), new BigDecimal("0.00"), new BigDecimal("0.00"), 0, 1);
+        verify(tenantRepo, never()).deleteEmpty(anyString());
+        verify(runRepo).markRollupApplied(7L);
+    }
+
+    @Test
+    void revertRun_SubtractsContributionAndPrunesEmptyRows() {
+        // Given
+        Rule37CalculationRun run = run();
+        run.setRollupApplied(true);
+
+        // When
+        service.revertRun(run);
+
+        // Then
+        verify(tenantRepo).applyDelta("acme", LocalDate.of(2025, 3, 1), -1,
+                new BigDecimal("-120.50"), new BigDecimal("-300.00"), new BigDecimal("0.00"), 0, -2);
+        verify(supplierRepo).applyDelta("acme", "ABC Traders", -1,
+                new BigDecimal("-100.00"), new BigDecimal("-300.00"), new BigDecimal("0.00"), 0, -1);
+        verify(tenantRepo).deleteEmpty("acme");
+        verify(supplierRepo).deleteEmpty("acme");
+    }
+
+    @Test
+    void revertRun_SkipsRunSavedBeforeRollupsExisted() {
+        // Given: a pre-migration run was never added to the rollups
+        Rule37CalculationRun run = run();
+
+        // When
+        service.revertRun(run);
+
+        // Then
+        verifyNoInteractions(tenantRepo, supplierRepo);
+    }
+
+    private static Rule37CalculationRun run() {
+        InterestRow unpaid = InterestRow.builder()
+                .supplier("ABC Traders").principal(1966.67).itcAmount(300.0).interest(100.0)
+                .status(InterestRow.InterestStatus.UNPAID).riskCategory(InterestRow.RiskCategory.BREACHED)
+                .build();
+        InterestRow paidLate = InterestRow.builder()
+                .supplier("XYZ Ltd").principal(1000.0).itcAmount(152.54).interest(20.5)
+                .status(InterestRow.InterestStatus.PAID_LATE).riskCategory(InterestRow.RiskCategory.BREACHED)
+                .build();
+        CalculationSummary summary = CalculationSummary.builder()
+                .totalInterest(120.5).totalItcReversal(300.0).breachedCount(2)
+                .details(List.of(unpaid, paidLate))
+                .build();
+        return Rule37CalculationRun.builder()
+                .id(7L)
+                .tenantId("acme")
+                .asOnDate(LocalDate.of(2025, 3, 20))
+                .calculationData(List.of(LedgerResult.builder().ledgerName("ledger").summary(summary).build()))
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
+import com.learning.backendservice.entity.Rule37SupplierAlias;
+import com.learning.backendservice.repository.Rule37SupplierAliasRepository;
+import com.learning.common.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TenantSupplierCanonicalizer.
+ * Verifies that only exact merges are stored, near-miss names stay separate and previews store nothing.
+ */
+class TenantSupplierCanonicalizerTest {
+
+    private Rule37SupplierAliasRepository aliasRepository;
+    private TenantSupplierCanonicalizer canonicalizer;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("acme");
+        aliasRepository = mock(Rule37SupplierAliasRepository.class);
+        when(aliasRepository.findByTenantIdAndAliasKeyIn(eq("acme"), any())).thenReturn(List.of());
+        UploadProperties uploadProperties = new UploadProperties();
+        uploadProperties.setSupplierSimilarity(0.6);
+        canonicalizer = new TenantSupplierCanonicalizer(aliasRepository, uploadProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void canonicalize_NearMissThroughFuzzyChain_StaysSeparate() {
+        // Given: Sharma Steels ~ Sharma Steel ~ Varma Steel, but Varma Steel is not similar to Sharma Steels
+        List<LedgerEntry> entries = entries("Sharma Steels", "Sharma Steel", "Varma Steel");
+
+        // When
+        canonicalizer.canonicalize(entries, new SupplierDictionary());
+
+        // Then
+        assertThat(entries).extracting(LedgerEntry::getSupplier)
+                .containsExactly("Sharma Steels", "Sharma Steels", "Varma Steel");
+        verify(aliasRepository, never()).insertIfAbsent(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void canonicalize_ExactKeyMerge_IsStored() {
+        // Given
+        List<LedgerEntry> entries = entries("ABC Traders", "A.B.C. Traders Pvt Ltd");
+
+        // When
+        canonicalizer.canonicalize(entries, new SupplierDictionary());
+
+        // Then
+        assertThat(entries).extracting(LedgerEntry::getSupplier).containsOnly("ABC Traders");
+        verify(aliasRepository).insertIfAbsent("acme", "ABC TRADERS", "ABC Traders");
+    }
+
+    @Test
+    void canonicalize_StoredAlias_Applied() {
+        // Given
+        when(aliasRepository.findByTenantIdAndAliasKeyIn(eq("acme"), any())).thenReturn(List.of(
+                Rule37SupplierAlias.builder().tenantId("acme").aliasKey("ABC TRADERS")
+                        .canonicalName("ABC Traders Pvt Ltd").build()));
+        List<LedgerEntry> entries = entries("ABC Traders");
+
+        // When
+        canonicalizer.canonicalize(entries, new SupplierDictionary());
+
+        // Then
+        assertThat(entries.get(0).getSupplier()).isEqualTo("ABC Traders Pvt Ltd");
+        verify(aliasRepository, never()).insertIfAbsent(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void preview_ExactKeyMerge_AppliedButNotStored() {
+        // Given
+        List<LedgerEntry> entries = entries("ABC Traders", "ABC TRADERS PVT LTD");
+
+        // When
+        canonicalizer.preview(entries, new SupplierDictionary());
+
+        // Then
+        assertThat(entries).extracting(LedgerEntry::getSupplier).containsOnly("ABC Traders");
+        verify(aliasRepository, never()).insertIfAbsent(anyString(), anyString(), anyString());
+    }
+
+    private static List<LedgerEntry> entries(String... suppliers) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (String supplier : suppliers) {
+            entries.add(LedgerEntry.builder()
+                    .date(LocalDate.of(2025, 1, 10))
+                    .entryType(LedgerEntry.LedgerEntryType.PURCHASE)
+                    .supplier(supplier)
+                    .amount(1000)
+                    .build());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,163 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.config.WhatIfProperties;
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.ledger.LedgerParser;
+import com.learning.backendservice.domain.ledger.SupplierCanonicalizer;
+import com.learning.backendservice.domain.ledger.SupplierDictionary;
+import com.learning.backendservice.domain.rule37.CalculationOptions;
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.domain.rule37.Rule37InterestCalculator;
+import com.learning.backendservice.dto.WhatIfRequest;
+import com.learning.backendservice.dto.WhatIfSessionResponse;
+import com.learning.backendservice.exception.ResourceNotFoundException;
+import com.learning.common.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for WhatIfSessionService.
+ * Verifies parse-once recalculation, tenant isolation, deletion and inactivity expiry.
+ */
+class WhatIfSessionServiceTest {
+
+    private static final LocalDate AS_ON = LocalDate.of(2025, 6, 30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private LedgerParser parser;
+    private Rule37InterestCalculator calculator;
+    private WhatIfSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("acme");
+        parser = mock(LedgerParser.class);
+        SupplierCanonicalizer canonicalizer = mock(SupplierCanonicalizer.class);
+        when(canonicalizer.preview(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        calculator = mock(Rule37InterestCalculator.class);
+        when(calculator.calculate(any(), any(), any())).thenReturn(
+                CalculationSummary.builder().totalInterest(12.5).totalItcReversal(180).details(List.of()).build());
+        Rule37RateProfileService rateProfiles = mock(Rule37RateProfileService.class);
+        when(rateProfiles.resolveOptions("acme")).thenReturn(
+                CalculationOptions.builder().gstRatePercent(18.0).interestRate(0.18).build());
+        when(parser.parse(any(InputStream.class), anyString(), any(SupplierDictionary.class))).thenReturn(List.of(
+                LedgerEntry.builder().date(AS_ON.minusDays(200)).entryType(LedgerEntry.LedgerEntryType.PURCHASE)
+                        .supplier("ABC Traders").amount(1180).build()));
+
+        UploadProperties uploadProperties = new UploadProperties();
+        WhatIfProperties whatIfProperties = new WhatIfProperties();
+        whatIfProperties.setTtl(Duration.ofMinutes(30));
+        service = new WhatIfSessionService(parser, canonicalizer, calculator, uploadProperties,
+                new LedgerUploadSupport(uploadProperties), rateProfiles, whatIfProperties, nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void recalculate_ReusesParsedLedgerWithOverriddenOptions() {
+        // Given
+        WhatIfSessionResponse created = service.createSession(List.of(file("ledger.xlsx")), AS_ON);
+
+        // When
+        WhatIfSessionResponse recalculated = service.recalculate(created.getSessionId(),
+                WhatIfRequest.builder().asOnDate(AS_ON.plusDays(30)).gstRatePercent(5.0).build());
+
+        // Then
+        verify(parser, times(1)).parse(any(InputStream.class), anyString(), any(SupplierDictionary.class));
+        ArgumentCaptor<CalculationOptions> options = ArgumentCaptor.forClass(CalculationOptions.class);
+        verify(calculator).calculate(any(), eq(AS_ON.plusDays(30)), options.capture());
+        assertThat(options.getValue().getGstRatePercent()).isEqualTo(5.0);
+        assertThat(options.getValue().getInterestRate()).isEqualTo(0.18);
+        assertThat(recalculated.getSessionId()).isEqualTo(created.getSessionId());
+        assertThat(recalculated.getResults()).singleElement()
+                .satisfies(result -> assertThat(result.getLedgerName()).isEqualTo("ledger"));
+    }
+
+    @Test
+    void recalculate_OtherTenant_IsNotFound() {
+        // Given
+        String sessionId = service.createSession(List.of(file("ledger.xlsx")), AS_ON).getSessionId();
+        TenantContext.setCurrentTenant("other");
+
+        // When/Then
+        assertThatThrownBy(() -> service.recalculate(sessionId, WhatIfRequest.builder().asOnDate(AS_ON).build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void deleteSession_RemovesSession() {
+        // Given
+        String sessionId = service.createSession(List.of(file("ledger.xlsx")), AS_ON).getSessionId();
+
+        // When
+        service.deleteSession(sessionId);
+
+        // Then
+        assertThatThrownBy(() -> service.recalculate(sessionId, WhatIfRequest.builder().asOnDate(AS_ON).build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void recalculate_AfterInactivityTtl_SessionExpired() {
+        // Given
+        String sessionId = service.createSession(List.of(file("ledger.xlsx")), AS_ON).getSessionId();
+
+        // When: activity within the TTL keeps the session alive
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        service.recalculate(sessionId, WhatIfRequest.builder().asOnDate(AS_ON).build());
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        service.recalculate(sessionId, WhatIfRequest.builder().asOnDate(AS_ON).build());
+        nanos.addAndGet(Duration.ofMinutes(31).toNanos());
+
+        // Then
+        assertThatThrownBy(() -> service.recalculate(sessionId, WhatIfRequest.builder().asOnDate(AS_ON).build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void createSession_EmptyAndValidFiles_ReportsEmptyFileError() {
+        // When
+        WhatIfSessionResponse response = service.createSession(
+                List.of(new MockMultipartFile("files", "empty.xlsx", null, new byte[0]), file("ledger.xlsx")), AS_ON);
+
+        // Then
+        assertThat(response.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("File is empty"));
+        assertThat(response.getResults()).hasSize(1);
+    }
+
+    @Test
+    void createSession_NoFiles_Rejected() {
+        assertThatThrownBy(() -> service.createSession(List.of(), AS_ON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No files provided");
+    }
+
+    private static MultipartFile file(String name) {
+        return new MockMultipartFile("files", name, null, new byte[]{1, 2, 3});
+    }
+}
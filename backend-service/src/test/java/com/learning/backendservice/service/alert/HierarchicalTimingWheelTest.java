@@ -0,0 +1,76 @@
+package com.learning.backendservice.service.alert;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HierarchicalTimingWheel.
+ * Verifies items fire no earlier than their expiration and at most one tick late, across levels.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    void add_ExpiredItem_ReturnsFalse() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 10_000);
+
+        // When/Then
+        assertThat(wheel.add("late", 9_000)).isFalse();
+        assertThat(wheel.add("now", 10_000)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void advance_ItemInFirstLevel_FiresWithinOneTick() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 0);
+        wheel.add("a", 3_500);
+
+        // When/Then
+        assertThat(wheel.advance(3_999)).isEmpty();
+        assertThat(wheel.advance(4_000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_ItemsAcrossOverflowLevels_CascadeAndFireInOrder() {
+        // Given - wheel of 4: level spans 4s, 16s, 64s, 256s
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        long[] expirations = {200_300, 2_000, 17_000, 63_999, 64_000, 5_100, 130_000};
+        for (long expiration : expirations) {
+            wheel.add(expiration, expiration);
+        }
+
+        // When - advance one tick at a time, recording when each item fires
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 202_000; now += TICK) {
+            for (Long expiration : wheel.advance(now)) {
+                assertThat(now).isGreaterThanOrEqualTo(expiration).isLessThanOrEqualTo(expiration + TICK);
+                fired.add(expiration);
+            }
+        }
+
+        // Then
+        assertThat(fired).containsExactly(2_000L, 5_100L, 17_000L, 63_999L, 64_000L, 130_000L, 200_300L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_LargeJump_FiresEverythingDue() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+        wheel.add("soon", 1_000);
+        wheel.add("far", 1_000_000);
+        wheel.add("later", 2_000_000);
+
+        // When/Then
+        assertThat(wheel.advance(1_500_000)).containsExactlyInAnyOrder("soon", "far");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+}
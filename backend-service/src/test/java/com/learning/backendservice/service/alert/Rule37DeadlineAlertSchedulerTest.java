@@ -0,0 +1,181 @@
+package com.learning.backendservice.service.alert;
+
+import com.learning.backendservice.domain.rule37.InterestRow;
+import com.learning.backendservice.entity.Rule37OpenPurchase;
+import com.learning.backendservice.repository.Rule37OpenPurchaseRepository;
+import com.learning.common.infra.cache.DistributedLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for Rule37DeadlineAlertScheduler.
+ * Verifies threshold crossings fire at local midnight of the configured zone and that each batch
+ * is dispatched by exactly one replica sharing the claim lock.
+ */
+class Rule37DeadlineAlertSchedulerTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final Duration TICK = Duration.ofMinutes(1);
+    private static final Duration LEASE = Duration.ofHours(36);
+
+    private final Set<String> claimedLocks = ConcurrentHashMap.newKeySet();
+    private Rule37OpenPurchaseRepository repository;
+    private DistributedLockService lockService;
+    private ApplicationEventPublisher publisher;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(Rule37OpenPurchaseRepository.class);
+        publisher = mock(ApplicationEventPublisher.class);
+        // Shared in-memory lock: the first tryLock for a name wins, like a Redis lock within its lease
+        lockService = mock(DistributedLockService.class);
+        when(lockService.tryLock(anyString(), any(), any()))
+                .thenAnswer(invocation -> claimedLocks.add(invocation.getArgument(0)));
+        // 23:30 IST on 9 July 2025
+        clock = new MutableClock(Instant.parse("2025-07-09T18:00:00Z"), IST);
+    }
+
+    @Test
+    void tick_CrossingFiresAtLocalMidnightOfZone() {
+        // Given: AT_RISK threshold crossed on 10 July (IST)
+        LocalDate crossing = LocalDate.of(2025, 7, 10);
+        Rule37OpenPurchase purchase = purchase(crossing.minusDays(Rule37DeadlineAlertScheduler.AT_RISK_DAY));
+        when(repository.findByTenantIdAndPurchaseDate("acme", purchase.getPurchaseDate()))
+                .thenReturn(List.of(purchase));
+        Rule37DeadlineAlertScheduler scheduler = scheduler();
+        scheduler.scheduleAll(List.of(purchase));
+
+        // When: 23:50 IST, still 9 July locally
+        clock.set(Instant.parse("2025-07-09T18:20:00Z"));
+        scheduler.tick();
+
+        // Then
+        verify(publisher, never()).publishEvent(any(Object.class));
+
+        // When: 00:02 IST on 10 July
+        clock.set(Instant.parse("2025-07-09T18:32:00Z"));
+        scheduler.tick();
+
+        // Then
+        verify(publisher).publishEvent(new Rule37DeadlineAlertEvent(
+                "acme", InterestRow.RiskCategory.AT_RISK, crossing, List.of(purchase)));
+    }
+
+    @Test
+    void dispatch_SameTriggerTwiceOnOneReplica_PublishesOnce() {
+        // Given
+        Rule37OpenPurchase purchase = purchase(LocalDate.of(2025, 1, 10));
+        when(repository.findByTenantIdAndPaymentDeadline("acme", purchase.getPaymentDeadline()))
+                .thenReturn(List.of(purchase));
+        Rule37DeadlineAlertScheduler scheduler = scheduler();
+        var trigger = breachedTrigger(purchase);
+
+        // When
+        scheduler.dispatch(trigger);
+        scheduler.dispatch(trigger);
+
+        // Then
+        verify(publisher, times(1)).publishEvent(any(Rule37DeadlineAlertEvent.class));
+    }
+
+    @Test
+    void dispatch_TwoReplicasSharingLock_OnlyOnePublishes() {
+        // Given
+        Rule37OpenPurchase purchase = purchase(LocalDate.of(2025, 1, 10));
+        when(repository.findByTenantIdAndPaymentDeadline("acme", purchase.getPaymentDeadline()))
+                .thenReturn(List.of(purchase));
+        Rule37DeadlineAlertScheduler first = scheduler();
+        Rule37DeadlineAlertScheduler second = scheduler();
+        var trigger = breachedTrigger(purchase);
+
+        // When
+        first.dispatch(trigger);
+        second.dispatch(trigger);
+
+        // Then
+        verify(publisher, times(1)).publishEvent(any(Rule37DeadlineAlertEvent.class));
+        verify(lockService, times(2)).tryLock(anyString(), any(), any());
+        assertThat(claimedLocks).containsExactly("rule37:deadline-alert:acme:BREACHED:" + trigger.date());
+    }
+
+    @Test
+    void dispatch_EmptyBatch_PublishesNothing() {
+        // Given: the run was superseded or purged before the crossing
+        Rule37DeadlineAlertScheduler scheduler = scheduler();
+
+        // When
+        scheduler.dispatch(breachedTrigger(purchase(LocalDate.of(2025, 1, 10))));
+
+        // Then
+        verify(publisher, never()).publishEvent(any(Object.class));
+    }
+
+    private Rule37DeadlineAlertScheduler scheduler() {
+        return new Rule37DeadlineAlertScheduler(repository, lockService, publisher, clock, TICK, LEASE);
+    }
+
+    private static Rule37DeadlineAlertScheduler.AlertTrigger breachedTrigger(Rule37OpenPurchase purchase) {
+        return new Rule37DeadlineAlertScheduler.AlertTrigger(
+                "acme", InterestRow.RiskCategory.BREACHED, purchase.getPaymentDeadline().plusDays(1));
+    }
+
+    private static Rule37OpenPurchase purchase(LocalDate purchaseDate) {
+        return Rule37OpenPurchase.builder()
+                .runId(1L)
+                .tenantId("acme")
+                .ledgerName("Ledger A")
+                .supplier("ABC Traders")
+                .purchaseDate(purchaseDate)
+                .paymentDeadline(purchaseDate.plusDays(180))
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+        private final ZoneId zone;
+
+        MutableClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -12,5 +12,7 @@ public final class HeaderNames {
     public static final String AUTHORITIES = "X-Authorities";
     public static final String REQUEST_ID = "X-Request-Id";
     public static final String AUTH_SIGNATURE = "X-Auth-Signature";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
 }
 
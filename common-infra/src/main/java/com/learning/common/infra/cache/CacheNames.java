@@ -62,6 +62,16 @@ public final class CacheNames {
      */
     public static final String USER_ALL_PERMISSIONS = "userAllPermissions";
 
+    // === Idempotency (backend-service, auth-service) ===
+
+    /**
+     * [DISTRIBUTED] Stored responses for Idempotency-Key requests.
+     * Key: sha256(tenant:user:path:idempotencyKey), plus :bodyFingerprint when tenant and user are both absent
+     * Value: JSON-serialized IdempotencyFilter.StoredResponse
+     * TTL: per entry (in-flight marker: lock lease; completed: 24 hours)
+     */
+    public static final String IDEMPOTENCY = "idempotency";
+
     // === Cache Sets for Routing ===
 
     /**
@@ -71,7 +81,8 @@ public final class CacheNames {
     public static final Set<String> DISTRIBUTED_CACHES = Set.of(
             PERMISSIONS,
             USER_PERMISSIONS,
-            USER_ALL_PERMISSIONS);
+            USER_ALL_PERMISSIONS,
+            IDEMPOTENCY);
 
     /**
      * Caches that can be local (Caffeine).
@@ -95,7 +106,7 @@ public final class CacheNames {
      * @return set of all cache names
      */
     public static Set<String> all() {
-        return Set.of(PERMISSIONS, USER_PERMISSIONS, USER_ALL_PERMISSIONS);
+        return Set.of(PERMISSIONS, USER_PERMISSIONS, USER_ALL_PERMISSIONS, IDEMPOTENCY);
     }
 
     private CacheNames() {
@@ -0,0 +1,353 @@
+package com.learning.common.infra.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.common.constants.HeaderNames;
+import com.learning.common.infra.cache.CacheNames;
+import com.learning.common.infra.cache.CacheService;
+import com.learning.common.infra.cache.DistributedLockService;
+import com.learning.common.infra.util.JsonResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Servlet filter that makes POSTs carrying an {@code Idempotency-Key} header run at most once.
+ * 
+ * <h3>Request Flow:</h3>
+ * <pre>
+ * stored for a different body → 422 (key reused for another request)
+ * completed result stored     → replay it (Idempotent-Replayed: true)
+ * otherwise                   → DistributedLockService lock on the key
+ *                               → in-flight marker → run → store result → unlock
+ * </pre>
+ * 
+ * <h3>Design Decisions:</h3>
+ * <ul>
+ *   <li>Keys are scoped by tenant, user and path. Anonymous requests (no tenant and no user, e.g. signup) have
+ *       nothing to bind the key to, so their scope also includes the body fingerprint: two clients that pick
+ *       the same key never share an entry unless they send the identical request</li>
+ *   <li>Each entry stores a SHA-256 fingerprint of the request body (multipart parts by name, filename and
+ *       content); reusing a key with a different body is rejected with 422 instead of replaying</li>
+ *   <li>Concurrent duplicates block on the lock and replay the first request's result once it completes;
+ *       if it is still running after {@code waitTime}, they get 409 with Retry-After</li>
+ *   <li>The in-flight marker covers a lock lease that expires while the first request is still running:
+ *       the next holder sees it and answers 409 instead of running the work again</li>
+ *   <li>Only responses below 500 are stored, so a failed attempt can be retried with the same key</li>
+ * </ul>
+ * 
+ * <p>Not a component: each service registers it with a {@code FilterRegistrationBean} for its own paths,
+ * configured from {@link IdempotencyProperties}.</p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String LOCK_PREFIX = "idempotency:";
+
+    private final CacheService cacheService;
+    private final DistributedLockService lockService;
+    private final ObjectMapper objectMapper;
+    private final Duration resultTtl;
+    private final Duration waitTime;
+    private final Duration leaseTime;
+
+    /**
+     * @param resultTtl how long completed responses are replayed
+     * @param waitTime  how long a duplicate waits for the first request before getting 409
+     * @param leaseTime lock lease and in-flight marker TTL; should exceed the slowest request
+     */
+    public IdempotencyFilter(CacheService cacheService, DistributedLockService lockService,
+            ObjectMapper objectMapper, Duration resultTtl, Duration waitTime, Duration leaseTime) {
+        this.cacheService = cacheService;
+        this.lockService = lockService;
+        this.objectMapper = objectMapper;
+        this.resultTtl = resultTtl;
+        this.waitTime = waitTime;
+        this.leaseTime = leaseTime;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HeaderNames.IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HeaderNames.IDEMPOTENCY_KEY).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            JsonResponseWriter.writeServlet(request, response, HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        FingerprintedRequest fingerprinted = fingerprint(request);
+        request = fingerprinted.request();
+        String fingerprint = fingerprinted.fingerprint();
+        String scope = scope(request, idempotencyKey, fingerprint);
+
+        Optional<StoredResponse> stored = lookup(scope);
+        if (stored.isPresent() && (stored.get().completed() || !stored.get().matches(fingerprint))) {
+            replayOrConflict(stored, fingerprint, request, response);
+            return;
+        }
+
+        String lockName = LOCK_PREFIX + scope;
+        if (!lockService.tryLock(lockName, waitTime, leaseTime)) {
+            replayOrConflict(lookup(scope), fingerprint, request, response);
+            return;
+        }
+        try {
+            stored = lookup(scope);
+            if (stored.isPresent()) {
+                replayOrConflict(stored, fingerprint, request, response);
+                return;
+            }
+            execute(scope, fingerprint, request, response, filterChain);
+        } finally {
+            lockService.unlock(lockName);
+        }
+    }
+
+    private void execute(String scope, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        cacheService.put(CacheNames.IDEMPOTENCY, scope, serialize(StoredResponse.inFlight(fingerprint)), leaseTime);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                StoredResponse completed = new StoredResponse(true, wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), fingerprint);
+                cacheService.put(CacheNames.IDEMPOTENCY, scope, serialize(completed), resultTtl);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                cacheService.evict(CacheNames.IDEMPOTENCY, scope);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replayOrConflict(Optional<StoredResponse> stored, String fingerprint, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (stored.isPresent() && !stored.get().matches(fingerprint)) {
+            log.debug("Idempotency-Key reused with a different body: {}", request.getRequestURI());
+            JsonResponseWriter.writeServlet(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "IDEMPOTENCY_KEY_REUSED", "Idempotency-Key was already used for a different request");
+            return;
+        }
+        if (stored.isPresent() && stored.get().completed()) {
+            replay(stored.get(), response);
+            return;
+        }
+        log.debug("Idempotency-Key still in flight: {}", request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, waitTime.toSeconds())));
+        JsonResponseWriter.writeServlet(request, response, HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_USE",
+                "A request with this Idempotency-Key is still being processed");
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(HeaderNames.IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private Optional<StoredResponse> lookup(String scope) {
+        return cacheService.get(CacheNames.IDEMPOTENCY, scope, String.class).flatMap(json -> {
+            try {
+                return Optional.of(objectMapper.readValue(json, StoredResponse.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable idempotency entry: {}", e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    private String serialize(StoredResponse stored) {
+        try {
+            return objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private static String scope(HttpServletRequest request, String idempotencyKey, String fingerprint) {
+        String tenantId = nullToEmpty(request.getHeader(HeaderNames.TENANT_ID));
+        String userId = nullToEmpty(request.getHeader(HeaderNames.USER_ID));
+        String raw = tenantId + ':' + userId + ':' + request.getRequestURI() + ':' + idempotencyKey;
+        if (tenantId.isEmpty() && userId.isEmpty()) {
+            raw += ':' + fingerprint;
+        }
+        return HexFormat.of().formatHex(sha256().digest(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Hashes the request body. Multipart parts are read through {@link HttpServletRequest#getParts()}, which the
+     * container keeps for the multipart resolver; form posts through the parameter map; any other body is
+     * buffered and the returned request replays it downstream.
+     */
+    private static FingerprintedRequest fingerprint(HttpServletRequest request) throws IOException, ServletException {
+        MessageDigest digest = sha256();
+        String contentType = nullToEmpty(request.getContentType()).toLowerCase(Locale.ROOT);
+        if (contentType.startsWith("multipart/")) {
+            for (Part part : request.getParts()) {
+                update(digest, part.getName());
+                update(digest, nullToEmpty(part.getSubmittedFileName()));
+                try (InputStream in = part.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return new FingerprintedRequest(request, HexFormat.of().formatHex(digest.digest()));
+        }
+        if (contentType.startsWith("application/x-www-form-urlencoded")) {
+            for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                update(digest, param.getKey());
+                for (String value : param.getValue()) {
+                    update(digest, value);
+                }
+            }
+            return new FingerprintedRequest(request, HexFormat.of().formatHex(digest.digest()));
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        return new FingerprintedRequest(new CachedBodyRequest(request, body),
+                HexFormat.of().formatHex(digest.digest(body)));
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Cached entry: an in-flight marker, or the completed response to replay, with the fingerprint of the request
+     * body that produced it.
+     */
+    public record StoredResponse(boolean completed, int status, String contentType, byte[] body,
+            String fingerprint) {
+
+        static StoredResponse inFlight(String fingerprint) {
+            return new StoredResponse(false, 0, null, new byte[0], fingerprint);
+        }
+
+        boolean matches(String requestFingerprint) {
+            return requestFingerprint.equals(fingerprint);
+        }
+    }
+
+    private record FingerprintedRequest(HttpServletRequest request, String fingerprint) {
+    }
+
+    /**
+     * Replays a body that was read for fingerprinting.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is buffered; async reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
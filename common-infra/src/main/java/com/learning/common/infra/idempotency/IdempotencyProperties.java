@@ -0,0 +1,25 @@
+package com.learning.common.infra.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@link IdempotencyFilter} timings, bound from {@code app.idempotency} by each service that registers the filter.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /** How long completed responses are replayed */
+    private Duration resultTtl = Duration.ofHours(24);
+
+    /** How long a concurrent duplicate waits for the first request before getting 409 */
+    private Duration waitTime = Duration.ofSeconds(30);
+
+    /** Lock lease and in-flight marker lifetime; must exceed the slowest request */
+    private Duration leaseTime = Duration.ofMinutes(10);
+}
@@ -0,0 +1,8 @@
+/**
+ * Idempotency-Key support for expensive, non-idempotent endpoints.
+ * 
+ * <p>{@link com.learning.common.infra.idempotency.IdempotencyFilter} stores in-flight markers and completed
+ * responses through {@link com.learning.common.infra.cache.CacheService} and serializes duplicates with
+ * {@link com.learning.common.infra.cache.DistributedLockService}. Services register it for their own paths.</p>
+ */
+package com.learning.common.infra.idempotency;
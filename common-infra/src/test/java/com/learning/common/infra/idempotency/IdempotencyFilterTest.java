@@ -0,0 +1,238 @@
+package com.learning.common.infra.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.common.constants.HeaderNames;
+import com.learning.common.infra.cache.CacheNames;
+import com.learning.common.infra.cache.CaffeineCacheService;
+import com.learning.common.infra.cache.DistributedLockService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.mock.web.MockPart;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private final CaffeineCacheService cacheService = new CaffeineCacheService();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(cacheService, new InMemoryLockService(), new ObjectMapper(),
+                Duration.ofHours(1), Duration.ofSeconds(5), Duration.ofMinutes(1));
+    }
+
+    private MockHttpServletRequest upload(String tenant, String key) {
+        return upload(tenant, key, "ledger");
+    }
+
+    private MockHttpServletRequest upload(String tenant, String key, String ledger) {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.setRequestURI("/api/v1/ledgers/upload");
+        request.setContentType("multipart/form-data; boundary=test");
+        request.addPart(new MockPart("files", "ledger.xlsx", ledger.getBytes(StandardCharsets.UTF_8)));
+        request.addHeader(HeaderNames.TENANT_ID, tenant);
+        request.addHeader(HeaderNames.USER_ID, "user-1");
+        if (key != null) {
+            request.addHeader(HeaderNames.IDEMPOTENCY_KEY, key);
+        }
+        return request;
+    }
+
+    private MockHttpServletRequest signup(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/signup");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.addHeader(HeaderNames.IDEMPOTENCY_KEY, key);
+        return request;
+    }
+
+    private FilterChain respondingWith(int status, String body) {
+        return (req, res) -> {
+            executions.incrementAndGet();
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.getWriter().write(body);
+        };
+    }
+
+    @Test
+    void replaysCompletedResponseForRepeatedKey() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(upload("acme", "k-1"), first, respondingWith(201, "{\"runs\":[1]}"));
+        MockHttpServletResponse repeat = new MockHttpServletResponse();
+        filter.doFilter(upload("acme", "k-1"), repeat, respondingWith(201, "{\"runs\":[2]}"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo("{\"runs\":[1]}");
+        assertThat(repeat.getStatus()).isEqualTo(201);
+        assertThat(repeat.getContentAsString()).isEqualTo("{\"runs\":[1]}");
+        assertThat(repeat.getHeader(HeaderNames.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    void runsAgainAfterServerError() throws Exception {
+        filter.doFilter(upload("acme", "k-1"), new MockHttpServletResponse(), respondingWith(503, "{}"));
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(upload("acme", "k-1"), retry, respondingWith(201, "{\"ok\":true}"));
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getContentAsString()).isEqualTo("{\"ok\":true}");
+    }
+
+    @Test
+    void scopesKeysByTenant() throws Exception {
+        filter.doFilter(upload("acme", "k-1"), new MockHttpServletResponse(), respondingWith(201, "{}"));
+        filter.doFilter(upload("globex", "k-1"), new MockHttpServletResponse(), respondingWith(201, "{}"));
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentBody() throws Exception {
+        filter.doFilter(upload("acme", "k-1", "ledger-a"), new MockHttpServletResponse(), respondingWith(201, "{}"));
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(upload("acme", "k-1", "ledger-b"), reused, respondingWith(201, "{}"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(reused.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    void scopesAnonymousKeysByBody() throws Exception {
+        MockHttpServletResponse alice = new MockHttpServletResponse();
+        filter.doFilter(signup("k-1", "{\"email\":\"alice@example.com\"}"), alice, echoBody());
+        MockHttpServletResponse bob = new MockHttpServletResponse();
+        filter.doFilter(signup("k-1", "{\"email\":\"bob@example.com\"}"), bob, echoBody());
+        MockHttpServletResponse aliceRetry = new MockHttpServletResponse();
+        filter.doFilter(signup("k-1", "{\"email\":\"alice@example.com\"}"), aliceRetry, echoBody());
+
+        assertThat(executions).hasValue(2);
+        assertThat(bob.getStatus()).isEqualTo(201);
+        assertThat(bob.getContentAsString()).isEqualTo("{\"email\":\"bob@example.com\"}");
+        assertThat(aliceRetry.getContentAsString()).isEqualTo("{\"email\":\"alice@example.com\"}");
+        assertThat(aliceRetry.getHeader(HeaderNames.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    void ignoresRequestsWithoutKey() throws Exception {
+        filter.doFilter(upload("acme", null), new MockHttpServletResponse(), respondingWith(201, "{}"));
+        filter.doFilter(upload("acme", null), new MockHttpServletResponse(), respondingWith(201, "{}"));
+
+        assertThat(executions).hasValue(2);
+        assertThat(cacheService.keys(CacheNames.IDEMPOTENCY)).isEmpty();
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstAndReplaysIt() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        FilterChain slow = (req, res) -> {
+            executions.incrementAndGet();
+            firstStarted.countDown();
+            try {
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) res).setStatus(201);
+            res.getWriter().write("{\"first\":true}");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+            Future<?> first = executor.submit(() -> {
+                filter.doFilter(upload("acme", "k-1"), firstResponse, slow);
+                return null;
+            });
+            assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse duplicateResponse = new MockHttpServletResponse();
+            Future<?> duplicate = executor.submit(() -> {
+                filter.doFilter(upload("acme", "k-1"), duplicateResponse, respondingWith(201, "{\"second\":true}"));
+                return null;
+            });
+            releaseFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            duplicate.get(5, TimeUnit.SECONDS);
+
+            assertThat(executions).hasValue(1);
+            assertThat(duplicateResponse.getContentAsString()).isEqualTo("{\"first\":true}");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Responds with the request body it read, to show the fingerprinted body still reaches the handler.
+     */
+    private FilterChain echoBody() {
+        return (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(201);
+            res.getWriter().write(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        };
+    }
+
+    /**
+     * Thread-bound locks with real waiting, like Redisson's RLock on a single node.
+     */
+    private static final class InMemoryLockService implements DistributedLockService {
+
+        private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean tryLock(String lockName, Duration waitTime, Duration leaseTime) {
+            try {
+                return locks.computeIfAbsent(lockName, k -> new ReentrantLock())
+                        .tryLock(waitTime.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public void unlock(String lockName) {
+            locks.get(lockName).unlock();
+        }
+
+        @Override
+        public boolean isHeldByCurrentThread(String lockName) {
+            ReentrantLock lock = locks.get(lockName);
+            return lock != null && lock.isHeldByCurrentThread();
+        }
+
+        @Override
+        public <T> T executeWithLock(String lockName, Duration waitTime, Duration leaseTime, Supplier<T> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean executeWithLock(String lockName, Duration waitTime, Duration leaseTime, Runnable action) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
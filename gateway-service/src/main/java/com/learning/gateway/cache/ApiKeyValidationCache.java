@@ -0,0 +1,197 @@
+package com.learning.gateway.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.learning.gateway.filter.ApiKeyAuthenticationFilter.ApiKeyValidationResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache of API key validation results (local Caffeine, then Redis, then platform-service).
+ *
+ * <p>
+ * Keys are stored by SHA-256 hash only. Valid results live for
+ * {@code gateway.api-key-cache.positive-ttl}, definite rejections (invalid, revoked, expired) for the shorter
+ * {@code negative-ttl}; lookup failures are never cached. Concurrent misses for one key share a single
+ * in-flight load (Caffeine {@link AsyncCache} single-flight).
+ * </p>
+ *
+ * <p>
+ * Revocations are published on {@code gateway.api-key-cache.channel} with either the key hash or the key id
+ * as payload; every gateway node drops matching local and Redis entries. Redis entries are keyed by hash, so a
+ * key id → hash index is stored next to each valid entry, with the same TTL, to resolve revocations by key id.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ApiKeyValidationCache {
+
+    private static final String REDIS_KEY_PREFIX = "gateway:apikey:";
+    private static final String REDIS_KEY_ID_PREFIX = "gateway:apikey:id:";
+    private static final Set<String> CACHEABLE_REJECTIONS = Set.of(
+            "API_KEY_INVALID", "API_KEY_REVOKED", "API_KEY_EXPIRED");
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration positiveTtl;
+    private final Duration negativeTtl;
+    private final String channel;
+    private final AsyncCache<String, ApiKeyValidationResult> localCache;
+    private Disposable subscription;
+
+    public ApiKeyValidationCache(
+            ReactiveStringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${gateway.api-key-cache.positive-ttl:60s}") Duration positiveTtl,
+            @Value("${gateway.api-key-cache.negative-ttl:10s}") Duration negativeTtl,
+            @Value("${gateway.api-key-cache.max-size:10000}") long maxSize,
+            @Value("${gateway.api-key-cache.channel:gateway:apikey:revoked}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.positiveTtl = positiveTtl;
+        this.negativeTtl = negativeTtl;
+        this.channel = channel;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, ApiKeyValidationResult>creating((hash, result) -> ttlFor(result)))
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached result for the key, loading it through Redis and then {@code origin} on a miss.
+     */
+    public Mono<ApiKeyValidationResult> get(String apiKey, Function<String, Mono<ApiKeyValidationResult>> origin) {
+        String hash = hash(apiKey);
+        CompletableFuture<ApiKeyValidationResult> future = localCache.get(hash,
+                (k, executor) -> loadFromRedis(k)
+                        .switchIfEmpty(Mono.defer(() -> origin.apply(apiKey)
+                                .flatMap(result -> storeInRedis(k, result).thenReturn(result))))
+                        .toFuture());
+        // Cancelling one subscriber must not cancel the load shared with other waiters
+        return Mono.fromFuture(future, true)
+                .doOnNext(result -> {
+                    if (!isCacheable(result)) {
+                        localCache.asMap().remove(hash, future);
+                    }
+                });
+    }
+
+    /**
+     * Drops entries whose key hash or key id equals {@code hashOrKeyId} on this node and in Redis.
+     */
+    public Mono<Void> invalidate(String hashOrKeyId) {
+        var local = localCache.synchronous().asMap();
+        local.entrySet().removeIf(e -> e.getKey().equals(hashOrKeyId)
+                || hashOrKeyId.equals(e.getValue().keyId()));
+        String indexKey = REDIS_KEY_ID_PREFIX + hashOrKeyId;
+        return redisTemplate.opsForValue().get(indexKey)
+                .map(hash -> List.of(REDIS_KEY_PREFIX + hashOrKeyId, indexKey, REDIS_KEY_PREFIX + hash))
+                .defaultIfEmpty(List.of(REDIS_KEY_PREFIX + hashOrKeyId))
+                .flatMap(keys -> redisTemplate.delete(Flux.fromIterable(keys)))
+                .onErrorResume(e -> Mono.just(0L))
+                .then();
+    }
+
+    /**
+     * Publishes a revocation so every gateway node invalidates the key.
+     */
+    public Mono<Long> publishRevocation(String hashOrKeyId) {
+        return redisTemplate.convertAndSend(channel, hashOrKeyId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToRevocations() {
+        subscription = redisTemplate.listenTo(ChannelTopic.of(channel))
+                .flatMap(message -> {
+                    log.debug("API key revoked, invalidating cache entry: {}", message.getMessage());
+                    return invalidate(message.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(s -> log.warn("API key revocation subscription failed, retrying: {}",
+                                s.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Duration ttlFor(ApiKeyValidationResult result) {
+        return result.valid() ? positiveTtl : negativeTtl;
+    }
+
+    private Mono<ApiKeyValidationResult> loadFromRedis(String hash) {
+        return redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + hash)
+                .flatMap(json -> {
+                    try {
+                        return Mono.just(objectMapper.readValue(json, ApiKeyValidationResult.class));
+                    } catch (JsonProcessingException e) {
+                        return Mono.empty();
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.debug("API key cache Redis read failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static boolean isCacheable(ApiKeyValidationResult result) {
+        return result.valid() || CACHEABLE_REJECTIONS.contains(result.errorCode());
+    }
+
+    private Mono<Boolean> storeInRedis(String hash, ApiKeyValidationResult result) {
+        if (!isCacheable(result)) {
+            return Mono.just(false);
+        }
+        try {
+            String json = objectMapper.writeValueAsString(result);
+            Mono<Boolean> stored = redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + hash, json, ttlFor(result));
+            if (result.keyId() != null) {
+                stored = stored.flatMap(ok -> redisTemplate.opsForValue()
+                        .set(REDIS_KEY_ID_PREFIX + result.keyId(), hash, ttlFor(result)));
+            }
+            return stored
+                    .onErrorResume(e -> {
+                        log.debug("API key cache Redis write failed: {}", e.getMessage());
+                        return Mono.just(false);
+                    });
+        } catch (JsonProcessingException e) {
+            return Mono.just(false);
+        }
+    }
+
+    static String hash(String apiKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
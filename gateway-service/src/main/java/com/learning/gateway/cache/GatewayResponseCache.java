@@ -0,0 +1,108 @@
+package com.learning.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived per-node cache of idempotent GET responses, scoped by tenant, user, path and query.
+ *
+ * <p>
+ * Invalidation is per tenant and O(1): every key embeds the tenant's current generation, and a mutation bumps
+ * that generation so older entries are simply never read again (they age out with the TTL). Mutations are
+ * published on {@code gateway.response-cache.channel} so every gateway node bumps the same tenant.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GatewayResponseCache {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String channel;
+    private final Cache<String, CachedResponse> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private Disposable subscription;
+
+    public GatewayResponseCache(
+            ReactiveStringRedisTemplate redisTemplate,
+            @Value("${gateway.response-cache.ttl:10s}") Duration ttl,
+            @Value("${gateway.response-cache.max-size:10000}") long maxSize,
+            @Value("${gateway.response-cache.channel:gateway:response-cache:invalidate}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public String key(String tenantId, String userId, String pathAndQuery) {
+        long generation = generations.computeIfAbsent(tenantId, t -> new AtomicLong()).get();
+        return tenantId + '\n' + generation + '\n' + userId + '\n' + pathAndQuery;
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    /**
+     * Invalidates the tenant locally and on every other gateway node.
+     */
+    public Mono<Void> invalidateTenant(String tenantId) {
+        invalidateLocally(tenantId);
+        return redisTemplate.convertAndSend(channel, tenantId)
+                .onErrorResume(e -> {
+                    log.warn("Response cache invalidation publish failed for tenant {}: {}", tenantId, e.getMessage());
+                    return Mono.just(0L);
+                })
+                .then();
+    }
+
+    void invalidateLocally(String tenantId) {
+        generations.computeIfAbsent(tenantId, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToInvalidations() {
+        subscription = redisTemplate.listenTo(ChannelTopic.of(channel))
+                .doOnNext(message -> invalidateLocally(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(s -> log.warn("Response cache invalidation subscription failed, retrying: {}",
+                                s.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Cached 200 response; {@code body} is shared by every hit and must not be modified.
+     */
+    public record CachedResponse(byte[] body, @Nullable String contentType, String etag) {
+    }
+}
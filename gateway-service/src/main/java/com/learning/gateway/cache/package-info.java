@@ -0,0 +1,13 @@
+/**
+ * Gateway-side caches.
+ *
+ * <p>
+ * Two-tier (local Caffeine + Redis) caches that keep hot lookups off the
+ * request path, with Redis pub/sub invalidation across gateway nodes.
+ */
+@NonNullApi
+@NonNullFields
+package com.learning.gateway.cache;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
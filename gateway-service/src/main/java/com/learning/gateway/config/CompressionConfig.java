@@ -0,0 +1,74 @@
+package com.learning.gateway.config;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Negotiated response compression for JSON and CSV payloads (run details, exports).
+ *
+ * <p>
+ * Compression happens in Netty's {@code HttpContentCompressor}, which encodes each body chunk as it is
+ * written, so bodies are never buffered. The encoding is negotiated from {@code Accept-Encoding}: zstd
+ * (zstd-jni), brotli when a brotli4j codec is on the classpath, then gzip and deflate. Responses are left as-is
+ * when they already carry a {@code Content-Encoding}, when their {@code Content-Length} is below
+ * {@code gateway.compression.min-response-size}, or when their type is not listed (e.g. xlsx, which is
+ * already zip-compressed).
+ * </p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "gateway.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public NettyServerCustomizer compressionCustomizer(
+            @Value("${gateway.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${gateway.compression.mime-types:application/json,application/*+json,text/csv}") List<String> mimeTypes) {
+        List<MimeType> compressible = mimeTypes.stream().map(MimeTypeUtils::parseMimeType).toList();
+        long minBytes = minResponseSize.toBytes();
+        log.info("Gateway response compression enabled: types={}, minResponseSize={}", mimeTypes, minResponseSize);
+        return httpServer -> httpServer.compress((request, response) ->
+                shouldCompress(response.responseHeaders(), compressible, minBytes));
+    }
+
+    static boolean shouldCompress(HttpHeaders headers, List<MimeType> compressible, long minBytes) {
+        String contentEncoding = headers.get(HttpHeaderNames.CONTENT_ENCODING);
+        if (contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding)) {
+            return false;
+        }
+        String contentType = headers.get(HttpHeaderNames.CONTENT_TYPE);
+        if (contentType == null || contentType.isEmpty()) {
+            return false;
+        }
+        MimeType mimeType;
+        try {
+            mimeType = MimeTypeUtils.parseMimeType(contentType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (compressible.stream().noneMatch(type -> type.includes(mimeType))) {
+            return false;
+        }
+        // Streamed (chunked) responses have no length and are typically the large ones
+        String contentLength = headers.get(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return true;
+        }
+        try {
+            return Long.parseLong(contentLength) >= minBytes;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.learning.gateway.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the Cognito JWKS in memory as ready-to-use RSA signature verifiers.
+ *
+ * <p>
+ * Keys are loaded at startup and refreshed in the background every {@code gateway.jwks.refresh-interval}
+ * (or half the response's {@code max-age}, whichever is shorter), so rotated keys are known before tokens
+ * signed with them arrive. A failed refresh keeps the last good key set and retries after
+ * {@code retry-interval}. Only a token with an unknown {@code kid} triggers a fetch on the request path,
+ * at most once per {@code min-refetch-interval}, shared by all waiting requests.
+ * </p>
+ */
+@Slf4j
+@Component
+public class JwksManager {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final Duration retryInterval;
+    private final Duration minRefetchInterval;
+    private final Duration startupTimeout;
+
+    private volatile Map<String, JWSVerifier> verifiers = Map.of();
+    private volatile long lastFetchNanos;
+    private Mono<Duration> inFlight;
+    private Disposable refreshTask;
+
+    public JwksManager(
+            WebClient.Builder webClientBuilder,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${gateway.jwks.refresh-interval:15m}") Duration refreshInterval,
+            @Value("${gateway.jwks.retry-interval:30s}") Duration retryInterval,
+            @Value("${gateway.jwks.min-refetch-interval:30s}") Duration minRefetchInterval,
+            @Value("${gateway.jwks.startup-timeout:10s}") Duration startupTimeout) {
+        this.webClient = webClientBuilder.build();
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.retryInterval = retryInterval;
+        this.minRefetchInterval = minRefetchInterval;
+        this.startupTimeout = startupTimeout;
+        this.lastFetchNanos = System.nanoTime() - minRefetchInterval.toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        Duration next;
+        try {
+            next = refresh().block(startupTimeout);
+            log.info("Loaded {} JWKS signing keys from {}", verifiers.size(), jwkSetUri);
+        } catch (RuntimeException e) {
+            log.warn("Initial JWKS load from {} failed, retrying in background: {}", jwkSetUri, e.getMessage());
+            next = retryInterval;
+        }
+        scheduleRefresh(next);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.dispose();
+        }
+    }
+
+    /**
+     * Returns the verifier for {@code kid}; refetches the key set only for an unknown kid.
+     */
+    public Mono<JWSVerifier> verifier(String kid) {
+        if (kid == null) {
+            return Mono.error(new BadJwtException("Missing signing key id"));
+        }
+        JWSVerifier verifier = verifiers.get(kid);
+        if (verifier != null) {
+            return Mono.just(verifier);
+        }
+        if (System.nanoTime() - lastFetchNanos < minRefetchInterval.toNanos()) {
+            return Mono.error(new BadJwtException("Unknown signing key: " + kid));
+        }
+        return refresh()
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.defer(() -> {
+                    JWSVerifier refreshed = verifiers.get(kid);
+                    return refreshed != null
+                            ? Mono.just(refreshed)
+                            : Mono.error(new BadJwtException("Unknown signing key: " + kid));
+                }));
+    }
+
+    /**
+     * Fetches the key set (joining an in-flight fetch) and returns the delay until the next refresh.
+     */
+    public synchronized Mono<Duration> refresh() {
+        if (inFlight == null) {
+            inFlight = webClient.get()
+                    .uri(jwkSetUri)
+                    .retrieve()
+                    .toEntity(String.class)
+                    .map(this::apply)
+                    // Clear before the result is emitted so a refresh() right after completion fetches again
+                    .doOnEach(signal -> {
+                        if (!signal.isOnSubscribe()) {
+                            clearInFlight();
+                        }
+                    })
+                    .doOnCancel(this::clearInFlight)
+                    .cache();
+        }
+        return inFlight;
+    }
+
+    private synchronized void clearInFlight() {
+        inFlight = null;
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        refreshTask = Mono.delay(delay)
+                .then(Mono.defer(this::refresh))
+                .subscribe(
+                        this::scheduleRefresh,
+                        e -> {
+                            log.warn("JWKS refresh failed, keeping {} cached keys: {}", verifiers.size(), e.getMessage());
+                            scheduleRefresh(retryInterval);
+                        });
+    }
+
+    private Duration apply(ResponseEntity<String> response) {
+        Map<String, JWSVerifier> parsed = parse(response.getBody());
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("JWKS contains no RSA signing keys");
+        }
+        verifiers = parsed;
+        lastFetchNanos = System.nanoTime();
+        log.debug("JWKS refreshed: kids={}", parsed.keySet());
+        return nextRefresh(response.getHeaders().getCacheControl());
+    }
+
+    private Duration nextRefresh(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher m = MAX_AGE.matcher(cacheControl);
+            if (m.find()) {
+                Duration halfMaxAge = Duration.ofSeconds(Long.parseLong(m.group(1)) / 2);
+                if (!halfMaxAge.isZero() && halfMaxAge.compareTo(refreshInterval) < 0) {
+                    return halfMaxAge;
+                }
+            }
+        }
+        return refreshInterval;
+    }
+
+    private static Map<String, JWSVerifier> parse(String body) {
+        try {
+            Map<String, JWSVerifier> parsed = new HashMap<>();
+            for (JWK jwk : JWKSet.parse(body).getKeys()) {
+                if (jwk instanceof RSAKey rsaKey && jwk.getKeyID() != null
+                        && (jwk.getKeyUse() == null || KeyUse.SIGNATURE.equals(jwk.getKeyUse()))) {
+                    parsed.put(jwk.getKeyID(), new RSASSAVerifier(rsaKey.toRSAPublicKey()));
+                }
+            }
+            return Map.copyOf(parsed);
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException("Invalid JWKS: " + e.getMessage(), e);
+        }
+    }
+}
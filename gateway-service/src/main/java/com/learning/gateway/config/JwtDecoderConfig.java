@@ -0,0 +1,51 @@
+package com.learning.gateway.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+
+/**
+ * Resource-server JWT decoder backed by {@link JwksManager}, replacing Spring Boot's lazily fetching
+ * {@code jwk-set-uri} decoder. Signatures are checked with cached RS256 verifiers; issuer and timestamps are
+ * validated as before.
+ */
+@Configuration
+public class JwtDecoderConfig {
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(
+            JwksManager jwksManager,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri) {
+        NimbusReactiveJwtDecoder decoder = new NimbusReactiveJwtDecoder(jwt -> {
+            if (!(jwt instanceof SignedJWT signed)) {
+                return Mono.error(new BadJwtException("Unsigned JWT"));
+            }
+            if (!JWSAlgorithm.RS256.equals(signed.getHeader().getAlgorithm())) {
+                return Mono.error(new BadJwtException("Unsupported algorithm: " + signed.getHeader().getAlgorithm()));
+            }
+            return jwksManager.verifier(signed.getHeader().getKeyID())
+                    .flatMap(verifier -> {
+                        try {
+                            if (!signed.verify(verifier)) {
+                                return Mono.error(new BadJwtException("Invalid signature"));
+                            }
+                            return Mono.just(signed.getJWTClaimsSet());
+                        } catch (JOSEException | ParseException e) {
+                            return Mono.error(new BadJwtException("Invalid JWT: " + e.getMessage(), e));
+                        }
+                    });
+        });
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+}
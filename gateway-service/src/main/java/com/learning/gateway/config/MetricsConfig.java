@@ -0,0 +1,21 @@
+package com.learning.gateway.config;
+
+import com.learning.gateway.filter.RouteLatencyMetricsFilter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cardinality guard for gateway latency metrics: caps distinct route tags so a misbehaving discovery
+ * locator cannot grow the registry without bound. Excess series are denied rather than recorded.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterFilter routeLatencyRouteTagLimit(@Value("${gateway.metrics.max-routes:100}") int maxRoutes) {
+        return MeterFilter.maximumAllowableTags(RouteLatencyMetricsFilter.METRIC_NAME, "route", maxRoutes,
+                MeterFilter.deny());
+    }
+}
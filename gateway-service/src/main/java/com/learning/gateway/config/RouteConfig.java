@@ -1,5 +1,8 @@
 package com.learning.gateway.config;
 
+import com.learning.gateway.filter.AdaptiveConcurrencyGatewayFilterFactory;
+import com.learning.gateway.filter.BudgetedRetryGatewayFilterFactory;
+import com.learning.gateway.filter.FairQueuingGatewayFilterFactory;
 import com.learning.gateway.filter.JwtAuthenticationGatewayFilterFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,7 +11,6 @@ import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.http.HttpStatus;
 
 @Slf4j
 @Configuration
@@ -26,6 +28,12 @@ public class RouteConfig {
         private static final String CB_BACKEND = "backendServiceCircuitBreaker";
 
         private final JwtAuthenticationGatewayFilterFactory jwtFilterFactory;
+        // Each apply() gets its own retry budget, so budgets are per route
+        private final BudgetedRetryGatewayFilterFactory retryFilterFactory;
+        // Limits are per downstream service and shared by every route that names it
+        private final AdaptiveConcurrencyGatewayFilterFactory concurrencyFilterFactory;
+        // Ahead of the limiter, circuit breaker and retry so queued uploads hold no permit and are not timed
+        private final FairQueuingGatewayFilterFactory fairQueuingFilterFactory;
 
         @Bean
         public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
@@ -40,13 +48,14 @@ public class RouteConfig {
                                                                                 new JwtAuthenticationGatewayFilterFactory.Config()))
                                                                 .rewritePath("/auth-service/(?<segment>.*)",
                                                                                 "/auth/${segment}")
+                                                                .filter(concurrencyFilterFactory.apply(
+                                                                                new AdaptiveConcurrencyGatewayFilterFactory.Config()
+                                                                                                .setService(AUTH_SERVICE_ID)))
                                                                 .circuitBreaker(c -> c
                                                                                 .setName(CB_AUTH)
                                                                                 .setFallbackUri(FALLBACK_URI))
-                                                                .retry(rCfg -> rCfg
-                                                                                .setRetries(3)
-                                                                                .setStatuses(HttpStatus.BAD_GATEWAY,
-                                                                                                HttpStatus.SERVICE_UNAVAILABLE)))
+                                                                .filter(retryFilterFactory.apply(
+                                                                                new BudgetedRetryGatewayFilterFactory.Config())))
                                                 .uri("lb://" + AUTH_SERVICE_ID))
 
                                 // Routes for backend-service (/backend-service/** proxy)
@@ -56,13 +65,16 @@ public class RouteConfig {
                                                                 .filter(jwtFilterFactory.apply(
                                                                                 new JwtAuthenticationGatewayFilterFactory.Config()))
                                                                 .stripPrefix(1)
+                                                                .filter(fairQueuingFilterFactory.apply(
+                                                                                new FairQueuingGatewayFilterFactory.Config()))
+                                                                .filter(concurrencyFilterFactory.apply(
+                                                                                new AdaptiveConcurrencyGatewayFilterFactory.Config()
+                                                                                                .setService(BACKEND_SERVICE_ID)))
                                                                 .circuitBreaker(c -> c
                                                                                 .setName(CB_BACKEND)
                                                                                 .setFallbackUri(FALLBACK_URI))
-                                                                .retry(rCfg -> rCfg
-                                                                                .setRetries(3)
-                                                                                .setStatuses(HttpStatus.BAD_GATEWAY,
-                                                                                                HttpStatus.SERVICE_UNAVAILABLE)))
+                                                                .filter(retryFilterFactory.apply(
+                                                                                new BudgetedRetryGatewayFilterFactory.Config())))
                                                 .uri("lb://" + BACKEND_SERVICE_ID))
 
                                 .route(AUTH_SERVICE_ID, r -> r
@@ -71,13 +83,14 @@ public class RouteConfig {
                                                                 .filter(jwtFilterFactory.apply(
                                                                                 new JwtAuthenticationGatewayFilterFactory.Config()))
                                                                 .preserveHostHeader()
+                                                                .filter(concurrencyFilterFactory.apply(
+                                                                                new AdaptiveConcurrencyGatewayFilterFactory.Config()
+                                                                                                .setService(AUTH_SERVICE_ID)))
                                                                 .circuitBreaker(c -> c
                                                                                 .setName(CB_AUTH)
                                                                                 .setFallbackUri(FALLBACK_URI))
-                                                                .retry(rCfg -> rCfg
-                                                                                .setRetries(3)
-                                                                                .setStatuses(HttpStatus.BAD_GATEWAY,
-                                                                                                HttpStatus.SERVICE_UNAVAILABLE)))
+                                                                .filter(retryFilterFactory.apply(
+                                                                                new BudgetedRetryGatewayFilterFactory.Config())))
                                                 .uri("lb://" + AUTH_SERVICE_ID))
 
                                 .route(BACKEND_SERVICE_ID, r -> r
@@ -85,13 +98,16 @@ public class RouteConfig {
                                                 .filters(f -> f
                                                                 .filter(jwtFilterFactory.apply(
                                                                                 new JwtAuthenticationGatewayFilterFactory.Config()))
+                                                                .filter(fairQueuingFilterFactory.apply(
+                                                                                new FairQueuingGatewayFilterFactory.Config()))
+                                                                .filter(concurrencyFilterFactory.apply(
+                                                                                new AdaptiveConcurrencyGatewayFilterFactory.Config()
+                                                                                                .setService(BACKEND_SERVICE_ID)))
                                                                 .circuitBreaker(c -> c
                                                                                 .setName(CB_BACKEND)
                                                                                 .setFallbackUri(FALLBACK_URI))
-                                                                .retry(rCfg -> rCfg
-                                                                                .setRetries(3)
-                                                                                .setStatuses(HttpStatus.BAD_GATEWAY,
-                                                                                                HttpStatus.SERVICE_UNAVAILABLE)))
+                                                                .filter(retryFilterFactory.apply(
+                                                                                new BudgetedRetryGatewayFilterFactory.Config())))
                                                 .uri("lb://" + BACKEND_SERVICE_ID))
 
                                 .build();
@@ -0,0 +1,130 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.ratelimit.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load in front of a downstream service once its {@link AdaptiveConcurrencyLimit} is reached.
+ *
+ * <p>
+ * Routes naming the same service share one limit. Excess requests get 503 with {@code Retry-After} immediately
+ * instead of queueing behind a saturated backend, and the limit adapts to observed latency, so it reacts before
+ * the circuit breaker sees failures. The limit and in-flight count are published as
+ * {@code gateway.concurrency.limit} and {@code gateway.concurrency.in_flight}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long retryAfterSeconds;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${gateway.concurrency.min-limit:5}") int minLimit,
+            @Value("${gateway.concurrency.max-limit:200}") int maxLimit,
+            @Value("${gateway.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${gateway.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${gateway.concurrency.retry-after-seconds:1}") long retryAfterSeconds) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(config.getService(), this::newLimit);
+        return (exchange, chain) -> {
+            if (!limit.tryAcquire()) {
+                log.debug("Shedding request to {}: {} in flight at limit {}", config.getService(),
+                        limit.getInFlight(), limit.getLimit());
+                return writeServiceUnavailable(exchange);
+            }
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> limit.release(System.nanoTime() - start,
+                            signal == SignalType.ON_ERROR || isDrop(exchange.getResponse().getStatusCode())));
+        };
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String service) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, smoothing,
+                rttTolerance);
+        Gauge.builder("gateway.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("service", service)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private static boolean isDrop(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private Mono<Void> writeServiceUnavailable(ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        String body = String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"code\":\"%s\",\"message\":\"%s\"}",
+                Instant.now(),
+                status.value(),
+                "CONCURRENCY_LIMITED",
+                "Service is at capacity, retry shortly");
+
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse()
+                .writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+    }
+
+    public static class Config {
+
+        private String service = "default";
+
+        public String getService() {
+            return service;
+        }
+
+        public Config setService(String service) {
+            this.service = service;
+            return this;
+        }
+    }
+}
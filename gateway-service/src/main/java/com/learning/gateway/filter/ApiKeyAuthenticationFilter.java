@@ -1,5 +1,6 @@
 package com.learning.gateway.filter;
 
+import com.learning.gateway.cache.ApiKeyValidationCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -25,6 +26,11 @@ import java.nio.charset.StandardCharsets;
  * </p>
  * 
  * <p>
+ * Validation results are served from {@link ApiKeyValidationCache}, so
+ * platform-service is only called on a cache miss.
+ * </p>
+ * 
+ * <p>
  * Order is set to run BEFORE JWT authentication filter (high priority = low
  * order number).
  * </p>
@@ -33,18 +39,23 @@ import java.nio.charset.StandardCharsets;
 @Component
 public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
 
+    public static final String API_KEY_RESULT_ATTR = ApiKeyAuthenticationFilter.class.getName() + ".result";
+
     private static final String API_KEY_HEADER = "X-API-Key";
     private static final String AUTH_METHOD_HEADER = "X-Auth-Method";
     private static final int ORDER = -100; // Run before JWT filter
 
     private final WebClient webClient;
     private final String platformServiceUrl;
+    private final ApiKeyValidationCache validationCache;
 
     public ApiKeyAuthenticationFilter(
             WebClient.Builder webClientBuilder,
-            @Value("${platform.service.url:http://platform-service:8083}") String platformServiceUrl) {
+            @Value("${platform.service.url:http://platform-service:8083}") String platformServiceUrl,
+            ApiKeyValidationCache validationCache) {
         this.webClient = webClientBuilder.build();
         this.platformServiceUrl = platformServiceUrl;
+        this.validationCache = validationCache;
     }
 
     @Override
@@ -79,6 +90,7 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
 
                     log.debug("API key authenticated: tenant={}, user={}",
                             result.tenantId(), result.userId());
+                    exchange.getAttributes().put(API_KEY_RESULT_ATTR, result);
 
                     return chain.filter(exchange.mutate().request(mutatedRequest).build());
                 })
@@ -89,6 +101,10 @@ public class ApiKeyAuthenticationFilter implements GlobalFilter, Ordered {
     }
 
     private Mono<ApiKeyValidationResult> validateApiKey(String apiKey) {
+        return validationCache.get(apiKey, this::fetchValidation);
+    }
+
+    private Mono<ApiKeyValidationResult> fetchValidation(String apiKey) {
         return webClient.get()
                 .uri(platformServiceUrl + "/platform/internal/api-keys/validate?key={key}", apiKey)
                 .retrieve()
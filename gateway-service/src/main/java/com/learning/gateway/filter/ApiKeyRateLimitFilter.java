@@ -0,0 +1,90 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.filter.ApiKeyAuthenticationFilter.ApiKeyValidationResult;
+import com.learning.gateway.ratelimit.ApiKeyRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Enforces the per-key {@code rateLimitPerMinute} returned by API key validation.
+ *
+ * <p>
+ * Runs right after {@link ApiKeyAuthenticationFilter} and only for API-key requests; JWT traffic is left to the
+ * tenant-keyed {@code RequestRateLimiter}. Adds {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} (seconds) to every API-key response, and answers 429 with {@code Retry-After} when
+ * the bucket is empty.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ApiKeyRateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RESET_HEADER = "X-RateLimit-Reset";
+    private static final int ORDER = -99; // Right after ApiKeyAuthenticationFilter
+
+    private final ApiKeyRateLimiter rateLimiter;
+
+    public ApiKeyRateLimitFilter(ApiKeyRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ApiKeyValidationResult key = exchange.getAttribute(ApiKeyAuthenticationFilter.API_KEY_RESULT_ATTR);
+        if (key == null || key.keyId() == null || key.rateLimitPerMinute() == null
+                || key.rateLimitPerMinute() <= 0) {
+            return chain.filter(exchange);
+        }
+
+        return rateLimiter.tryAcquire(key.keyId(), key.rateLimitPerMinute())
+                .flatMap(decision -> {
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.set(LIMIT_HEADER, String.valueOf(decision.limit()));
+                    if (decision.remaining() >= 0) {
+                        headers.set(REMAINING_HEADER, String.valueOf(decision.remaining()));
+                        headers.set(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+                    }
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    log.debug("API key rate limit exceeded: keyId={}, limit={}/min", key.keyId(), decision.limit());
+                    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+                    return writeTooManyRequests(exchange);
+                });
+    }
+
+    private Mono<Void> writeTooManyRequests(ServerWebExchange exchange) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        String body = String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"code\":\"%s\",\"message\":\"%s\"}",
+                Instant.now(),
+                status.value(),
+                "API_KEY_RATE_LIMITED",
+                "API key rate limit exceeded");
+
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse()
+                .writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
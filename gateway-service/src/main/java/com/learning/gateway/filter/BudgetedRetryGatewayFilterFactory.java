@@ -0,0 +1,208 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.ratelimit.RetryBudget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Retry filter that only replays safe requests and never lets retries outgrow a per-route budget.
+ *
+ * <p>
+ * Requests are retried only when their method is idempotent or they carry an {@code Idempotency-Key}; uploads
+ * and signups without one go upstream exactly once. Attempts use Spring Cloud Gateway's retry with exponential
+ * backoff and random jitter. Each route gets its own {@link RetryBudget}: once it is spent, the current
+ * response is returned instead of another attempt, so a partial outage cannot turn into a retry storm.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE,
+            HttpMethod.TRACE);
+
+    private final RetryGatewayFilterFactory retryFactory = new RetryGatewayFilterFactory();
+
+    public BudgetedRetryGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RetryGatewayFilterFactory.RetryConfig retryConfig = new RetryGatewayFilterFactory.RetryConfig()
+                .setRetries(config.getRetries())
+                .setStatuses(config.getStatuses().toArray(HttpStatus[]::new))
+                // RetryConfig also retries every 5xx by default; only the configured statuses are budgeted
+                .setSeries()
+                .allMethods()
+                .setBackoff(config.getFirstBackoff(), config.getMaxBackoff(), config.getBackoffFactor(), false)
+                .setJitter(config.getJitter());
+        GatewayFilter retrying = retryFactory.apply(retryConfig);
+        RetryBudget budget = new RetryBudget(config.getBudgetRatio(), config.getMinRetriesPerSecond(),
+                config.getMaxBudgetTokens());
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!isReplayable(request, config)) {
+                return chain.filter(exchange);
+            }
+            budget.recordRequest();
+            GatewayFilterChain budgeted = attempt -> chain.filter(attempt)
+                    .doOnSuccess(v -> {
+                        HttpStatusCode status = attempt.getResponse().getStatusCode();
+                        if (status != null && config.getStatuses().contains(HttpStatus.resolve(status.value()))) {
+                            chargeNextAttempt(attempt, config, budget);
+                        }
+                    })
+                    .doOnError(e -> chargeNextAttempt(attempt, config, budget));
+            if (IDEMPOTENT_METHODS.contains(request.getMethod())) {
+                return retrying.filter(exchange, budgeted);
+            }
+            // Idempotency-Key requests carry a body that every attempt must resend
+            return ServerWebExchangeUtils.cacheRequestBodyAndRequest(exchange,
+                    cached -> retrying.filter(exchange.mutate().request(cached).build(), budgeted));
+        };
+    }
+
+    private static boolean isReplayable(ServerHttpRequest request, Config config) {
+        if (IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String idempotencyKey = request.getHeaders().getFirst(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return false;
+        }
+        long contentLength = request.getHeaders().getContentLength();
+        return contentLength >= 0 && contentLength <= config.getMaxBodyBytes();
+    }
+
+    /**
+     * Called when an attempt ended in a retryable outcome. If another attempt would follow, it must be paid
+     * for from the budget; otherwise the iteration counter is pushed past the limit so the retry stops here.
+     */
+    private static void chargeNextAttempt(ServerWebExchange exchange, Config config, RetryBudget budget) {
+        Integer iteration = exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY);
+        int completed = iteration != null ? iteration : 0;
+        if (completed + 1 >= config.getRetries()) {
+            return;
+        }
+        if (!budget.tryAcquireRetry()) {
+            log.debug("Retry budget exhausted, returning current response for {}", exchange.getRequest().getPath());
+            exchange.getAttributes().put(RetryGatewayFilterFactory.RETRY_ITERATION_KEY, config.getRetries());
+        }
+    }
+
+    public static class Config {
+
+        private int retries = 3;
+        private List<HttpStatus> statuses = List.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE);
+        private Duration firstBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofMillis(500);
+        private int backoffFactor = 2;
+        private double jitter = 0.5;
+        private double budgetRatio = 0.1;
+        private int minRetriesPerSecond = 5;
+        private long maxBudgetTokens = 100;
+        private long maxBodyBytes = 10L * 1024 * 1024;
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public Config setRetries(int retries) {
+            this.retries = retries;
+            return this;
+        }
+
+        public List<HttpStatus> getStatuses() {
+            return statuses;
+        }
+
+        public Config setStatuses(HttpStatus... statuses) {
+            this.statuses = List.of(statuses);
+            return this;
+        }
+
+        public Duration getFirstBackoff() {
+            return firstBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public int getBackoffFactor() {
+            return backoffFactor;
+        }
+
+        public Config setBackoff(Duration firstBackoff, Duration maxBackoff, int backoffFactor) {
+            this.firstBackoff = firstBackoff;
+            this.maxBackoff = maxBackoff;
+            this.backoffFactor = backoffFactor;
+            return this;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public Config setJitter(double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public Config setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+            return this;
+        }
+
+        public int getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public Config setMinRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+            return this;
+        }
+
+        public long getMaxBudgetTokens() {
+            return maxBudgetTokens;
+        }
+
+        public Config setMaxBudgetTokens(long maxBudgetTokens) {
+            this.maxBudgetTokens = maxBudgetTokens;
+            return this;
+        }
+
+        public long getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public Config setMaxBodyBytes(long maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+            return this;
+        }
+    }
+}
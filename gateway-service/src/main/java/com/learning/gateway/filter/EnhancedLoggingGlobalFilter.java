@@ -1,61 +1,86 @@
 package com.learning.gateway.filter;
 
-import lombok.extern.slf4j.Slf4j;
+import com.learning.gateway.logging.AccessLogRingBuffer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * NT-03 EnhancedLoggingGlobalFilter
  * Emits a single structured log line at request completion with timing and identity context (if available).
  * Runs last.
+ *
+ * <p>
+ * Events are handed to {@link AccessLogRingBuffer} and serialized off the request path. Errors and requests
+ * slower than {@code gateway.access-log.slow-threshold} are always captured; other successful requests are
+ * sampled at {@code gateway.access-log.sample-rate}, and unsampled ones skip header lookups entirely.
+ * </p>
  */
-@Slf4j
 @Component
 public class EnhancedLoggingGlobalFilter implements GlobalFilter, Ordered {
 
+    private final AccessLogRingBuffer accessLog;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public EnhancedLoggingGlobalFilter(
+            AccessLogRingBuffer accessLog,
+            @Value("${gateway.access-log.sample-rate:0.1}") double sampleRate,
+            @Value("${gateway.access-log.slow-threshold:1s}") Duration slowThreshold) {
+        this.accessLog = accessLog;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         return chain.filter(exchange)
-                .doOnError(err -> logError(exchange, startMillis, err))
-                .doOnSuccess(v -> logSuccess(exchange, startMillis));
+                .doOnError(err -> record(exchange, startNanos, err))
+                .doOnSuccess(v -> record(exchange, startNanos, null));
     }
 
-    private void logSuccess(ServerWebExchange exchange, long startMillis) {
-        long durationMs = System.currentTimeMillis() - startMillis;
-        String requestId = header(exchange, "X-Request-Id");
-        String userId = header(exchange, "X-User-Id");
-        String tenantId = header(exchange, "X-Tenant-Id");
-        String path = exchange.getRequest().getPath().value();
-        String method = exchange.getRequest().getMethod() != null ? exchange.getRequest().getMethod().name() : "UNKNOWN";
-        int status = exchange.getResponse().getStatusCode() != null ? exchange.getResponse().getStatusCode().value() : 0;
-        log.info("gateway_log {{\"event\":\"request_completed\",\"ts\":\"{}\",\"requestId\":\"{}\",\"userId\":\"{}\",\"tenantId\":\"{}\",\"method\":\"{}\",\"path\":\"{}\",\"status\":{},\"durationMs\":{} }}",
-                Instant.now(), requestId, userId, tenantId, method, path, status, durationMs);
-    }
+    private void record(ServerWebExchange exchange, long startNanos, @Nullable Throwable err) {
+        long durationNanos = System.nanoTime() - startNanos;
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 0;
+        boolean capture = err != null
+                || status >= 400
+                || durationNanos >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!capture) {
+            return;
+        }
 
-    private void logError(ServerWebExchange exchange, long startMillis, Throwable err) {
-        long durationMs = System.currentTimeMillis() - startMillis;
-        String requestId = header(exchange, "X-Request-Id");
-        String userId = header(exchange, "X-User-Id");
-        String tenantId = header(exchange, "X-Tenant-Id");
-        String path = exchange.getRequest().getPath().value();
-        String method = exchange.getRequest().getMethod() != null ? exchange.getRequest().getMethod().name() : "UNKNOWN";
-        log.warn("gateway_log {{\"event\":\"request_error\",\"ts\":\"{}\",\"requestId\":\"{}\",\"userId\":\"{}\",\"tenantId\":\"{}\",\"method\":\"{}\",\"path\":\"{}\",\"error\":\"{}\",\"durationMs\":{} }}",
-                Instant.now(), requestId, userId, tenantId, method, path, err.getClass().getSimpleName(), durationMs);
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        accessLog.publish(
+                header(headers, "X-Request-Id"),
+                header(headers, "X-User-Id"),
+                header(headers, "X-Tenant-Id"),
+                request.getMethod().name(),
+                request.getPath().value(),
+                status,
+                durationNanos,
+                err != null ? err.getClass().getSimpleName() : null);
     }
 
-    private String header(ServerWebExchange exchange, String name) {
-        String v = exchange.getRequest().getHeaders().getFirst(name);
+    private static String header(HttpHeaders headers, String name) {
+        String v = headers.getFirst(name);
         return v == null ? "" : v;
     }
 
     @Override
     public int getOrder() { return Ordered.LOWEST_PRECEDENCE; }
 }
-
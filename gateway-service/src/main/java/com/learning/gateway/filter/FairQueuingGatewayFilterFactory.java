@@ -0,0 +1,154 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.ratelimit.WeightedFairQueue;
+import com.learning.gateway.ratelimit.WeightedFairQueue.TenantQueueFullException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Admits expensive requests (ledger uploads, run exports) through a tenant-weighted {@link WeightedFairQueue}.
+ *
+ * <p>
+ * Requests wait in their tenant's queue until a slot is free and the tenant is under its concurrency cap, so one
+ * tenant uploading many large ledgers cannot occupy the backend's threads and heap. A full tenant queue answers
+ * 429 (the tenant is overloading itself); waiting longer than {@code max-wait} answers 503. Both carry
+ * {@code Retry-After}.
+ * </p>
+ *
+ * <p>
+ * A route filter placed after JWT authentication and ahead of the concurrency limiter, circuit breaker and retry:
+ * queued requests hold no concurrency permit, their wait is not part of the measured latency or the circuit
+ * breaker's time limit, and a retry does not queue again. Every route shares one queue.
+ * </p>
+ */
+@Slf4j
+@Component
+public class FairQueuingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<FairQueuingGatewayFilterFactory.Config> {
+
+    private final WeightedFairQueue queue;
+    private final List<String> paths;
+    private final Duration maxWait;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public FairQueuingGatewayFilterFactory(
+            @Value("${gateway.fair-queue.paths:/**/api/v1/ledgers/upload,/**/api/v1/rule37/runs/*/export}")
+            List<String> paths,
+            @Value("${gateway.fair-queue.max-concurrent:16}") int maxConcurrent,
+            @Value("${gateway.fair-queue.max-concurrent-per-tenant:4}") int maxConcurrentPerTenant,
+            @Value("${gateway.fair-queue.max-queued-per-tenant:20}") int maxQueuedPerTenant,
+            @Value("${gateway.fair-queue.max-wait:30s}") Duration maxWait,
+            @Value("${gateway.fair-queue.tenant-weights:}") List<String> tenantWeights) {
+        super(Config.class);
+        this.paths = List.copyOf(paths);
+        this.maxWait = maxWait;
+        this.queue = new WeightedFairQueue(maxConcurrent, maxConcurrentPerTenant, maxQueuedPerTenant,
+                parseWeights(tenantWeights));
+    }
+
+    /**
+     * Parses {@code tenant:weight} entries; tenants not listed weigh 1.
+     */
+    static Map<String, Double> parseWeights(List<String> entries) {
+        Map<String, Double> weights = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf(':');
+            if (entry.isBlank() || separator <= 0) {
+                continue;
+            }
+            double weight = Double.parseDouble(entry.substring(separator + 1).trim());
+            if (weight > 0) {
+                weights.put(entry.substring(0, separator).trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String tenantId = request.getHeaders().getFirst("X-Tenant-Id");
+            if (tenantId == null || tenantId.isEmpty() || !matches(request.getPath().value())) {
+                return chain.filter(exchange);
+            }
+            return admit(exchange, tenantId, () -> chain.filter(exchange));
+        };
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, String tenantId, Supplier<Mono<Void>> proceed) {
+        return queue.acquire(tenantId, maxWait)
+                .materialize()
+                .flatMap(admission -> {
+                    if (admission.hasValue()) {
+                        WeightedFairQueue.Permit permit = admission.get();
+                        return proceed.get().doFinally(signal -> permit.release());
+                    }
+                    Throwable error = admission.getThrowable();
+                    if (error instanceof TenantQueueFullException) {
+                        log.debug("Fair queue full for tenant {}", tenantId);
+                        return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, "TENANT_QUEUE_FULL",
+                                "Too many concurrent uploads or exports for this tenant");
+                    }
+                    if (error instanceof TimeoutException) {
+                        log.debug("Fair queue wait exceeded {} for tenant {}", maxWait, tenantId);
+                        return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, "FAIR_QUEUE_TIMEOUT",
+                                "Upload and export capacity is busy, retry shortly");
+                    }
+                    return error != null ? Mono.error(error) : Mono.empty();
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String code, String message) {
+        String body = String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"code\":\"%s\",\"message\":\"%s\"}",
+                Instant.now(),
+                status.value(),
+                code,
+                message);
+
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, maxWait.toSeconds() / 2)));
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse()
+                .writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+    }
+
+    private boolean matches(String path) {
+        for (String pattern : paths) {
+            if (matcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    WeightedFairQueue queue() {
+        return queue;
+    }
+
+    public static class Config {
+    }
+}
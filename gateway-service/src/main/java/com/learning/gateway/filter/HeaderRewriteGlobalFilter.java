@@ -0,0 +1,134 @@
+package com.learning.gateway.filter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * NT-02/NT-03 HeaderRewriteGlobalFilter
+ * Single inbound header-rewrite stage: strips spoofable identity headers, ensures an X-Request-Id
+ * (propagated via Reactor Context) and applies the JWT-derived identity headers.
+ *
+ * <p>
+ * Every change is detected up front and applied in at most one request mutation; a request that
+ * carries a request id, no spoofable headers and no JWT is forwarded as-is. The JWT route filter
+ * becomes a pass-through once {@link #JWT_HEADERS_APPLIED_ATTR} is set here.
+ * </p>
+ *
+ * Runs at highest precedence. Sanitization is controlled by feature flag
+ * security.gateway.sanitize-headers (default true).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeaderRewriteGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String CTX_KEY_REQUEST_ID = "requestId";
+    public static final String JWT_HEADERS_APPLIED_ATTR = HeaderRewriteGlobalFilter.class.getName()
+            + ".jwtHeadersApplied";
+
+    /**
+     * Note: X-Role is not listed - gateway no longer sets X-Role header.
+     * Downstream services now lookup roles directly from the database.
+     */
+    private static final String[] SPOOFABLE_HEADERS = {
+            "X-User-Id",
+            "X-Username",
+            "X-Email",
+            "X-Tenant-Id",
+            "X-Authorities",
+            "X-Auth-Signature"
+    };
+
+    private final JwtAuthenticationGatewayFilterFactory jwtFilterFactory;
+
+    @Value("${security.gateway.sanitize-headers:true}")
+    private boolean sanitizeEnabled;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HttpHeaders incoming = exchange.getRequest().getHeaders();
+        String incomingRequestId = incoming.getFirst(REQUEST_ID_HEADER);
+        boolean requestIdMissing = incomingRequestId == null || incomingRequestId.isBlank();
+        String requestId = requestIdMissing ? UUID.randomUUID().toString() : incomingRequestId;
+        boolean spoofed = sanitizeEnabled && containsSpoofableHeader(incoming);
+
+        exchange.getAttributes().put(REQUEST_ID_HEADER, requestId);
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(authentication -> {
+                    JwtAuthenticationToken jwtAuthentication = (JwtAuthenticationToken) authentication;
+                    return Optional.of(jwtFilterFactory.derivedHeaders(jwtAuthentication.getToken(),
+                            jwtAuthentication));
+                })
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(derived -> {
+                    if (derived.isPresent() && !derived.get().allowed()) {
+                        return jwtFilterFactory.deny(exchange, derived.get());
+                    }
+                    if (!spoofed && !requestIdMissing && derived.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    ServerHttpRequest rewritten = exchange.getRequest().mutate()
+                            .headers(headers -> {
+                                if (spoofed) {
+                                    for (String header : SPOOFABLE_HEADERS) {
+                                        headers.remove(header);
+                                    }
+                                }
+                                if (requestIdMissing) {
+                                    headers.set(REQUEST_ID_HEADER, requestId);
+                                }
+                                derived.ifPresent(d -> d.applyTo(headers));
+                            })
+                            .build();
+                    if (derived.isPresent()) {
+                        exchange.getAttributes().put(JWT_HEADERS_APPLIED_ATTR, Boolean.TRUE);
+                        exchange.getAttributes().put(JwtAuthenticationGatewayFilterFactory.TENANT_ID_ATTR,
+                                derived.get().tenantResult().tenantId());
+                    }
+                    if (spoofed && log.isTraceEnabled()) {
+                        log.trace("NT-02 sanitized headers for path={}", exchange.getRequest().getPath());
+                    }
+                    return chain.filter(exchange.mutate().request(rewritten).build());
+                })
+                .contextWrite(ctx -> ctx.put(CTX_KEY_REQUEST_ID, requestId));
+    }
+
+    @Override
+    public int getOrder() {
+        // Highest precedence so downstream filters only ever see rewritten headers
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    public static String requestIdFromContext(ContextView ctx, String fallback) {
+        return ctx.hasKey(CTX_KEY_REQUEST_ID) ? ctx.get(CTX_KEY_REQUEST_ID) : fallback;
+    }
+
+    private static boolean containsSpoofableHeader(HttpHeaders headers) {
+        for (String header : SPOOFABLE_HEADERS) {
+            if (headers.containsKey(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,21 +1,29 @@
 package com.learning.gateway.filter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -28,15 +36,31 @@ import java.util.stream.Collectors;
  * lookup roles directly from the database via RoleLookupService for better
  * security.
  * </p>
+ * 
+ * <p>
+ * Headers derived from a token (identity, tenant, authorities, groups) are
+ * cached per access token until it expires, so repeat requests with the same
+ * token skip claim parsing entirely.
+ * </p>
  */
 @Slf4j
 @Component
 public class JwtAuthenticationGatewayFilterFactory
         extends AbstractGatewayFilterFactory<JwtAuthenticationGatewayFilterFactory.Config> {
 
+    /** Tenant id of an admitted token, for filters that only see the request before its headers are applied. */
+    public static final String TENANT_ID_ATTR = JwtAuthenticationGatewayFilterFactory.class.getName() + ".tenantId";
+
     private static final String TENANT_GROUP_PREFIX = "tenant_";
     private static final Pattern TENANT_ID_PATTERN = Pattern.compile("^[a-zA-Z0-9_-]{3,64}$");
-    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final Duration MAX_DERIVED_HEADERS_TTL = Duration.ofHours(1);
+    private static final long MAX_DERIVED_HEADERS_ENTRIES = 50_000;
+
+    private final Cache<String, DerivedHeaders> derivedHeadersCache = Caffeine.newBuilder()
+            .maximumSize(MAX_DERIVED_HEADERS_ENTRIES)
+            .expireAfter(Expiry.<String, DerivedHeaders>creating((key, derived) -> derived.timeToLive()))
+            .build();
 
     public JwtAuthenticationGatewayFilterFactory() {
         super(Config.class);
@@ -44,124 +68,173 @@ public class JwtAuthenticationGatewayFilterFactory
 
     @Override
     public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> ReactiveSecurityContextHolder.getContext()
-                .map(securityContext -> securityContext.getAuthentication())
-                .cast(JwtAuthenticationToken.class)
-                .flatMap(authentication -> {
-                    Jwt jwt = authentication.getToken();
-                    TenantExtractionResult tenantResult = extractTenantId(jwt);
-                    if (!tenantResult.success()) {
-                        log.debug("NT-01 deny userId={} code={} status={}", jwt.getSubject(), tenantResult.errorCode(),
-                                tenantResult.errorStatus().value());
-                        return writeError(exchange, tenantResult.errorStatus(), tenantResult.errorCode(),
-                                tenantResult.errorMessage());
-                    }
-                    String tenantId = tenantResult.tenantId();
-                    String userId = jwt.getSubject();
-                    String username = jwt.getClaimAsString("username");
-
-                    // Debug: log all claims to troubleshoot email extraction
-                    log.debug("JWT claims for userId={}: {}", userId, jwt.getClaims().keySet());
-
-                    // Extract email - check multiple claim locations for SSO compatibility
-                    String email = jwt.getClaimAsString("email");
-                    if (email == null || email.isBlank()) {
-                        // For SSO users, email may be in custom claims
-                        email = jwt.getClaimAsString("custom:email");
-                    }
-                    if (email == null || email.isBlank()) {
-                        // For federated users, extract from identities claim
-                        // identities is an array of objects: [{userId: "email", providerName: "...",
-                        // ...}]
-                        Object identitiesObj = jwt.getClaim("identities");
-                        if (identitiesObj instanceof java.util.List<?> identitiesList && !identitiesList.isEmpty()) {
-                            Object firstIdentity = identitiesList.get(0);
-                            if (firstIdentity instanceof java.util.Map<?, ?> identityMap) {
-                                Object userIdObj = identityMap.get("userId");
-                                if (userIdObj instanceof String userIdStr && userIdStr.contains("@")) {
-                                    email = userIdStr;
-                                    log.debug("Extracted email from identities: {}", email);
-                                }
-                            }
-                        }
-                    }
-                    if (email == null || email.isBlank()) {
-                        // Last resort: extract from cognito:username (format: "prefix_email@domain")
-                        String cognitoUsername = jwt.getClaimAsString("cognito:username");
-                        if (cognitoUsername != null && cognitoUsername.contains("@")) {
-                            // Extract email part after underscore (e.g., "okta-aarohan_user@example.com")
-                            int underscoreIdx = cognitoUsername.indexOf('_');
-                            if (underscoreIdx > 0 && underscoreIdx < cognitoUsername.length() - 1) {
-                                email = cognitoUsername.substring(underscoreIdx + 1);
-                            } else {
-                                email = cognitoUsername;
-                            }
-                            log.debug("Extracted email from cognito:username: {}", email);
+        return (exchange, chain) -> {
+            if (exchange.getAttributes().containsKey(HeaderRewriteGlobalFilter.JWT_HEADERS_APPLIED_ATTR)) {
+                // Already applied by the global header-rewrite stage in the same request mutation
+                return chain.filter(exchange);
+            }
+            return ReactiveSecurityContextHolder.getContext()
+                    .map(securityContext -> securityContext.getAuthentication())
+                    .cast(JwtAuthenticationToken.class)
+                    .flatMap(authentication -> {
+                        DerivedHeaders derived = derivedHeaders(authentication.getToken(), authentication);
+                        if (!derived.allowed()) {
+                            return deny(exchange, derived);
                         }
-                    }
 
-                    String authorities = authentication.getAuthorities().stream()
-                            .map(Object::toString)
-                            .collect(Collectors.joining(","));
-
-                    // NOTE: Role lookup removed - downstream services now lookup roles directly
-                    // from the database via RoleLookupService for better security
-                    var builder = exchange.getRequest().mutate()
-                            .header("X-User-Id", userId)
-                            .header("X-Username", username != null ? username : "")
-                            .header("X-Email", email != null ? email : "")
-                            .header("X-Tenant-Id", tenantId);
-                    if (!authorities.isBlank()) {
-                        builder.header("X-Authorities", authorities);
-                    }
-                    // Pass IdP groups for group-to-role mapping
-                    // Priority: 1) custom:samlGroups (SAML IdPs like Okta), 2) cognito:groups
-                    // (Cognito groups)
-                    java.util.Set<String> allGroups = new java.util.LinkedHashSet<>();
-
-                    // 1. Read SAML groups from custom:samlGroups (contains actual IdP group names
-                    // like "dev", "Admins")
-                    String samlGroups = jwt.getClaimAsString("custom:samlGroups");
-                    if (samlGroups != null && !samlGroups.isBlank()) {
-                        // Cognito stores multi-valued SAML attributes as "[val1, val2]" format
-                        // Strip brackets if present
-                        String cleaned = samlGroups.trim();
-                        if (cleaned.startsWith("[") && cleaned.endsWith("]")) {
-                            cleaned = cleaned.substring(1, cleaned.length() - 1);
-                        }
-                        // Split by comma and trim each value
-                        for (String g : cleaned.split(",")) {
-                            if (g != null && !g.isBlank()) {
-                                allGroups.add(g.trim());
-                            }
+                        if (log.isDebugEnabled()) {
+                            log.debug("NT-01 allow path={} userId={} tenantId={}",
+                                    exchange.getRequest().getPath(), derived.userId(),
+                                    derived.tenantResult().tenantId());
                         }
-                        log.debug("Found SAML groups in custom:samlGroups: {} -> parsed: {}", samlGroups, allGroups);
-                    }
+                        var mutatedRequest = exchange.getRequest().mutate()
+                                .headers(derived::applyTo)
+                                .build();
+                        exchange.getAttributes().put(TENANT_ID_ATTR, derived.tenantResult().tenantId());
+                        return chain.filter(exchange.mutate().request(mutatedRequest).build());
+                    })
+                    .switchIfEmpty(chain.filter(exchange));
+        };
+    }
 
-                    // 2. Also read cognito:groups (filter out tenant_ groups)
-                    List<String> cognitoGroups = jwt.getClaimAsStringList("cognito:groups");
-                    if (cognitoGroups != null) {
-                        cognitoGroups.stream()
-                                .filter(g -> g != null && !g.startsWith(TENANT_GROUP_PREFIX))
-                                .forEach(allGroups::add);
-                    }
+    /**
+     * Writes the tenant error response for a token whose derived headers were not {@link DerivedHeaders#allowed()}.
+     */
+    Mono<Void> deny(ServerWebExchange exchange, DerivedHeaders derived) {
+        TenantExtractionResult tenantResult = derived.tenantResult();
+        log.debug("NT-01 deny userId={} code={} status={}", derived.userId(), tenantResult.errorCode(),
+                tenantResult.errorStatus().value());
+        return writeError(exchange, tenantResult.errorStatus(), tenantResult.errorCode(),
+                tenantResult.errorMessage());
+    }
+
+    /**
+     * Returns the headers derived from this access token, computing them only on the token's first request.
+     * Keyed by {@code jti} (token value when absent); the subject is re-checked on every hit.
+     */
+    DerivedHeaders derivedHeaders(Jwt jwt, JwtAuthenticationToken authentication) {
+        String jti = jwt.getId();
+        String cacheKey = jti != null ? jti : jwt.getTokenValue();
+        DerivedHeaders cached = derivedHeadersCache.getIfPresent(cacheKey);
+        if (cached != null && Objects.equals(cached.userId(), jwt.getSubject())) {
+            return cached;
+        }
+        DerivedHeaders derived = deriveHeaders(jwt, authentication);
+        derivedHeadersCache.put(cacheKey, derived);
+        return derived;
+    }
 
-                    if (!allGroups.isEmpty()) {
-                        String groups = String.join(",", allGroups);
-                        builder.header("X-Groups", groups);
-                        log.debug("Passing IdP groups to downstream: {}", groups);
+    private DerivedHeaders deriveHeaders(Jwt jwt, JwtAuthenticationToken authentication) {
+        List<String> cognitoGroups = jwt.getClaimAsStringList("cognito:groups");
+        TenantExtractionResult tenantResult = extractTenantId(jwt, cognitoGroups);
+        String userId = jwt.getSubject();
+        if (!tenantResult.success()) {
+            return new DerivedHeaders(userId, tenantResult, jwt.getExpiresAt(), new String[0]);
+        }
+        String tenantId = tenantResult.tenantId();
+        String username = jwt.getClaimAsString("username");
+
+        // Debug: log all claims to troubleshoot email extraction
+        log.debug("JWT claims for userId={}: {}", userId, jwt.getClaims().keySet());
+
+        // Extract email - check multiple claim locations for SSO compatibility
+        String email = jwt.getClaimAsString("email");
+        if (email == null || email.isBlank()) {
+            // For SSO users, email may be in custom claims
+            email = jwt.getClaimAsString("custom:email");
+        }
+        if (email == null || email.isBlank()) {
+            // For federated users, extract from identities claim
+            // identities is an array of objects: [{userId: "email", providerName: "...",
+            // ...}]
+            Object identitiesObj = jwt.getClaim("identities");
+            if (identitiesObj instanceof java.util.List<?> identitiesList && !identitiesList.isEmpty()) {
+                Object firstIdentity = identitiesList.get(0);
+                if (firstIdentity instanceof java.util.Map<?, ?> identityMap) {
+                    Object userIdObj = identityMap.get("userId");
+                    if (userIdObj instanceof String userIdStr && userIdStr.contains("@")) {
+                        email = userIdStr;
+                        log.debug("Extracted email from identities: {}", email);
                     }
+                }
+            }
+        }
+        if (email == null || email.isBlank()) {
+            // Last resort: extract from cognito:username (format: "prefix_email@domain")
+            String cognitoUsername = jwt.getClaimAsString("cognito:username");
+            if (cognitoUsername != null && cognitoUsername.contains("@")) {
+                // Extract email part after underscore (e.g., "okta-aarohan_user@example.com")
+                int underscoreIdx = cognitoUsername.indexOf('_');
+                if (underscoreIdx > 0 && underscoreIdx < cognitoUsername.length() - 1) {
+                    email = cognitoUsername.substring(underscoreIdx + 1);
+                } else {
+                    email = cognitoUsername;
+                }
+                log.debug("Extracted email from cognito:username: {}", email);
+            }
+        }
+
+        String authorities = authentication.getAuthorities().stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(","));
+
+        // NOTE: Role lookup removed - downstream services now lookup roles directly
+        // from the database via RoleLookupService for better security
+        List<String> headers = new ArrayList<>(12);
+        headers.add("X-User-Id");
+        headers.add(userId);
+        headers.add("X-Username");
+        headers.add(username != null ? username : "");
+        headers.add("X-Email");
+        headers.add(email != null ? email : "");
+        headers.add("X-Tenant-Id");
+        headers.add(tenantId);
+        if (!authorities.isBlank()) {
+            headers.add("X-Authorities");
+            headers.add(authorities);
+        }
+        // Pass IdP groups for group-to-role mapping
+        // Priority: 1) custom:samlGroups (SAML IdPs like Okta), 2) cognito:groups
+        // (Cognito groups)
+        java.util.Set<String> allGroups = new java.util.LinkedHashSet<>();
+
+        // 1. Read SAML groups from custom:samlGroups (contains actual IdP group names
+        // like "dev", "Admins")
+        String samlGroups = jwt.getClaimAsString("custom:samlGroups");
+        if (samlGroups != null && !samlGroups.isBlank()) {
+            // Cognito stores multi-valued SAML attributes as "[val1, val2]" format
+            // Strip brackets if present
+            String cleaned = samlGroups.trim();
+            if (cleaned.startsWith("[") && cleaned.endsWith("]")) {
+                cleaned = cleaned.substring(1, cleaned.length() - 1);
+            }
+            // Split by comma and trim each value
+            for (String g : cleaned.split(",")) {
+                if (g != null && !g.isBlank()) {
+                    allGroups.add(g.trim());
+                }
+            }
+            log.debug("Found SAML groups in custom:samlGroups: {} -> parsed: {}", samlGroups, allGroups);
+        }
+
+        // 2. Also read cognito:groups (filter out tenant_ groups)
+        if (cognitoGroups != null) {
+            cognitoGroups.stream()
+                    .filter(g -> g != null && !g.startsWith(TENANT_GROUP_PREFIX))
+                    .forEach(allGroups::add);
+        }
 
-                    log.debug("NT-01 allow path={} userId={} tenantId={}",
-                            exchange.getRequest().getPath(), userId, tenantId);
-                    var mutatedExchange = exchange.mutate().request(builder.build()).build();
-                    return chain.filter(mutatedExchange);
-                })
-                .switchIfEmpty(chain.filter(exchange));
+        if (!allGroups.isEmpty()) {
+            String groups = String.join(",", allGroups);
+            headers.add("X-Groups");
+            headers.add(groups);
+            log.debug("Passing IdP groups to downstream: {}", groups);
+        }
+
+        return new DerivedHeaders(userId, tenantResult, jwt.getExpiresAt(), headers.toArray(new String[0]));
     }
 
-    private TenantExtractionResult extractTenantId(Jwt jwt) {
-        List<String> groups = jwt.getClaimAsStringList("cognito:groups");
+    private TenantExtractionResult extractTenantId(Jwt jwt, List<String> groups) {
         if (groups != null && !groups.isEmpty()) {
             List<String> tenantGroups = groups.stream()
                     .filter(g -> g != null && g.startsWith(TENANT_GROUP_PREFIX))
@@ -197,7 +270,7 @@ public class JwtAuthenticationGatewayFilterFactory
         return TenantExtractionResult.error(HttpStatus.FORBIDDEN, "TENANT_MISSING", "Tenant claim missing");
     }
 
-    private Mono<Void> writeError(org.springframework.web.server.ServerWebExchange exchange,
+    private Mono<Void> writeError(ServerWebExchange exchange,
             HttpStatus status, String code, String message) {
         exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ALREADY_ROUTED_ATTR, Boolean.TRUE);
         var response = exchange.getResponse();
@@ -206,7 +279,9 @@ public class JwtAuthenticationGatewayFilterFactory
         }
         response.setStatusCode(status);
         response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        String requestId = Optional.ofNullable(exchange.getRequest().getHeaders().getFirst(REQUEST_ID_HEADER))
+        String requestId = Optional.ofNullable(exchange.getRequest().getHeaders()
+                        .getFirst(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER))
+                .or(() -> Optional.<String>ofNullable(exchange.getAttribute(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER)))
                 .orElse("none");
         String body = String.format(
                 "{\"timestamp\":\"%s\",\"status\":%d,\"code\":\"%s\",\"message\":\"%s\",\"requestId\":\"%s\"}",
@@ -218,7 +293,38 @@ public class JwtAuthenticationGatewayFilterFactory
     public static class Config {
     }
 
-    private record TenantExtractionResult(
+    /**
+     * Precomputed header name/value pairs for one access token, or the tenant error it produces.
+     */
+    record DerivedHeaders(
+            String userId,
+            TenantExtractionResult tenantResult,
+            Instant expiresAt,
+            String[] nameValuePairs) {
+
+        boolean allowed() {
+            return tenantResult.success();
+        }
+
+        void applyTo(HttpHeaders headers) {
+            for (int i = 0; i < nameValuePairs.length; i += 2) {
+                headers.set(nameValuePairs[i], nameValuePairs[i + 1]);
+            }
+        }
+
+        Duration timeToLive() {
+            if (expiresAt == null) {
+                return MAX_DERIVED_HEADERS_TTL;
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+            if (untilExpiry.isNegative()) {
+                return Duration.ZERO;
+            }
+            return untilExpiry.compareTo(MAX_DERIVED_HEADERS_TTL) < 0 ? untilExpiry : MAX_DERIVED_HEADERS_TTL;
+        }
+    }
+
+    record TenantExtractionResult(
             boolean success,
             String tenantId,
             HttpStatus errorStatus,
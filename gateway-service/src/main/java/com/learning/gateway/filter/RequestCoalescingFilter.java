@@ -0,0 +1,142 @@
+package com.learning.gateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for identical concurrent GETs on {@code gateway.coalescing.paths}.
+ *
+ * <p>
+ * The first request for a key (tenant + authorities + path + query) goes upstream; requests arriving while it is
+ * in flight wait for it and receive the same status, headers and body. The body is read once and every waiter
+ * writes a buffer wrapping the same byte array. Keying by authorities rather than user lets a team opening the
+ * same run share one backend call, so the configured paths must return tenant-scoped, not per-user, data. If the
+ * leader fails or is cancelled, waiters fall back to their own upstream call.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    // Just inside ResponseCacheFilter so cache hits never join a flight
+    private static final int ORDER = 11;
+
+    private final List<String> paths;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(
+            @Value("${gateway.coalescing.paths:/**/api/v1/rule37/runs/*}") List<String> paths) {
+        this.paths = List.copyOf(paths);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String tenantId = request.getHeaders().getFirst("X-Tenant-Id");
+        if (!HttpMethod.GET.equals(request.getMethod()) || tenantId == null || tenantId.isEmpty()
+                || !matches(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+        String authorities = request.getHeaders().getFirst("X-Authorities");
+        String key = tenantId + '\n' + (authorities != null ? authorities : "") + '\n' + request.getURI().getRawPath()
+                + '?' + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "");
+
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, sink);
+        if (existing != null) {
+            return existing.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? write(exchange.getResponse(), shared.get())
+                            : chain.filter(exchange));
+        }
+        return lead(exchange, chain, key, sink);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key,
+            Sinks.One<SharedResponse> sink) {
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    HttpHeaders snapshot = new HttpHeaders();
+                    snapshot.addAll(getHeaders());
+                    SharedResponse shared = new SharedResponse(getStatusCode(), snapshot, bytes);
+                    // Remove before emitting so requests arriving from here on start a new flight
+                    inFlight.remove(key, sink);
+                    sink.tryEmitValue(shared);
+                    return getDelegate().writeWith(Mono.fromSupplier(() -> bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    // No body written (error, cancel, bodiless response): waiters make their own call
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        if (shared.status() != null) {
+            response.setStatusCode(shared.status());
+        }
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private boolean matches(String path) {
+        for (String pattern : paths) {
+            if (matcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
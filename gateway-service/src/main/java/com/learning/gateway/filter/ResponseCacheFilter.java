@@ -0,0 +1,198 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.cache.GatewayResponseCache;
+import com.learning.gateway.cache.GatewayResponseCache.CachedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Serves repeated dashboard GETs ({@code gateway.response-cache.paths}) from {@link GatewayResponseCache}.
+ *
+ * <p>
+ * Entries are scoped by tenant + user + path + query and carry an ETag, so hits and matching
+ * {@code If-None-Match} requests never reach the backend (the latter get 304). A successful mutating call
+ * (POST/PUT/PATCH/DELETE on {@code gateway.response-cache.invalidate-on}) invalidates the tenant's entries on
+ * every gateway node. Only authenticated 200 responses without {@code no-store} or {@code Set-Cookie} and at
+ * most {@code max-body-bytes} long are stored; a chunked body is held only until it passes that size.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_HEADER = "X-Cache";
+    // After route-level JwtAuthentication, which route filters place at order 1
+    private static final int ORDER = 10;
+
+    private final GatewayResponseCache cache;
+    private final List<String> cachePaths;
+    private final List<String> invalidatePaths;
+    private final long maxBodyBytes;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public ResponseCacheFilter(
+            GatewayResponseCache cache,
+            @Value("${gateway.response-cache.paths:/**/api/v1/rule37/runs,/**/api/v1/rule37/dashboard,/auth*/**/stats}")
+            List<String> cachePaths,
+            @Value("${gateway.response-cache.invalidate-on:/**/api/v1/ledgers/**,/**/api/v1/rule37/**}")
+            List<String> invalidatePaths,
+            @Value("${gateway.response-cache.max-body-bytes:1048576}") long maxBodyBytes) {
+        this.cache = cache;
+        this.cachePaths = List.copyOf(cachePaths);
+        this.invalidatePaths = List.copyOf(invalidatePaths);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String tenantId = request.getHeaders().getFirst("X-Tenant-Id");
+        if (tenantId == null || tenantId.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        String path = request.getPath().value();
+        HttpMethod method = request.getMethod();
+
+        if (HttpMethod.GET.equals(method) && matches(cachePaths, path)) {
+            return serveCached(exchange, chain, tenantId);
+        }
+        if (isMutation(method) && matches(invalidatePaths, path)) {
+            return chain.filter(exchange).then(Mono.defer(() -> {
+                HttpStatus status = HttpStatus.resolve(statusValue(exchange.getResponse()));
+                return status != null && status.is2xxSuccessful() ? cache.invalidateTenant(tenantId) : Mono.empty();
+            }));
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> serveCached(ServerWebExchange exchange, GatewayFilterChain chain, String tenantId) {
+        ServerHttpRequest request = exchange.getRequest();
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        String query = request.getURI().getRawQuery();
+        String key = cache.key(tenantId, userId != null ? userId : "",
+                query != null ? request.getPath().value() + '?' + query : request.getPath().value());
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+        CachedResponse hit = cache.get(key);
+        if (hit != null) {
+            return write(exchange.getResponse(), hit, ifNoneMatch, "HIT");
+        }
+
+        ServerHttpResponse original = exchange.getResponse();
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(getDelegate())) {
+                    return super.writeWith(body);
+                }
+                // Chunked bodies have no Content-Length: hold buffers only up to max-body-bytes, then stream
+                AtomicLong seen = new AtomicLong();
+                return Flux.<DataBuffer>from(body)
+                        .bufferUntil(buffer -> seen.addAndGet(buffer.readableByteCount()) > maxBodyBytes)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .switchOnFirst((first, buffers) -> {
+                            Flux<DataBuffer> all = buffers.concatMapIterable(Function.identity());
+                            return seen.get() > maxBodyBytes ? super.writeWith(all) : cacheAndWrite(all);
+                        })
+                        .then();
+            }
+
+            private Mono<Void> cacheAndWrite(Flux<DataBuffer> body) {
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    HttpHeaders headers = getDelegate().getHeaders();
+                    String etag = headers.getETag() != null
+                            ? headers.getETag()
+                            : "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                    CachedResponse response = new CachedResponse(bytes,
+                            headers.getFirst(HttpHeaders.CONTENT_TYPE), etag);
+                    cache.put(key, response);
+                    return write(getDelegate(), response, ifNoneMatch, "MISS");
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    private boolean isCacheable(ServerHttpResponse response) {
+        if (statusValue(response) != HttpStatus.OK.value()) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.contains("no-store")) {
+            return false;
+        }
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        return contentLength <= maxBodyBytes;
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached, String ifNoneMatch,
+            String cacheStatus) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(CACHE_HEADER, cacheStatus);
+        headers.setCacheControl("private, no-cache");
+        if (cached.etag().equals(ifNoneMatch)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (matcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMutation(HttpMethod method) {
+        return HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)
+                || HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method);
+    }
+
+    private static int statusValue(ServerHttpResponse response) {
+        return response.getStatusCode() != null ? response.getStatusCode().value() : HttpStatus.OK.value();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
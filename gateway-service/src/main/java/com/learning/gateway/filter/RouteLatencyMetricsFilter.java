@@ -0,0 +1,136 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.filter.ApiKeyAuthenticationFilter.ApiKeyValidationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.noop.NoopTimer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code gateway.route.latency} per route id, tenant class and status family.
+ *
+ * <p>
+ * Timers publish p50/p95/p99 plus a percentile histogram and the {@code gateway.metrics.slo} buckets to the
+ * Prometheus registry. Tenants are never tags: each request maps to one of a fixed set of tenant classes
+ * ({@code premium} for tenants listed in {@code gateway.metrics.premium-tenants}, {@code api-key},
+ * {@code user}, {@code anonymous}), so series count is routes × 4 × 6. Timers are cached per tag combination
+ * so the hot path does no registry lookup. Timers denied by a {@code MeterFilter} come back as no-ops and are
+ * not cached, so a route whose metrics are enabled later starts recording without a restart.
+ * </p>
+ *
+ * <p>
+ * Runs just inside {@link HeaderRewriteGlobalFilter}, so responses produced before routing (authentication
+ * failures, rate limits, load sheds, cache hits, coalesced followers) are timed too. The tenant is read from the
+ * attributes the authentication filters leave behind, since their header changes are not visible this far out.
+ * </p>
+ */
+@Component
+public class RouteLatencyMetricsFilter implements GlobalFilter, Ordered {
+
+    public static final String METRIC_NAME = "gateway.route.latency";
+
+    private static final String UNKNOWN_ROUTE = "unmatched";
+
+    private final MeterRegistry registry;
+    private final Set<String> premiumTenants;
+    private final Duration[] slos;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public RouteLatencyMetricsFilter(
+            MeterRegistry registry,
+            @Value("${gateway.metrics.premium-tenants:}") Set<String> premiumTenants,
+            @Value("${gateway.metrics.slo:50ms,100ms,250ms,500ms,1s,2s,5s}") Duration[] slos) {
+        this.registry = registry;
+        this.premiumTenants = Set.copyOf(premiumTenants);
+        this.slos = slos.clone();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnError(err -> record(exchange, startNanos, true))
+                .doOnSuccess(v -> record(exchange, startNanos, false));
+    }
+
+    private void record(ServerWebExchange exchange, long startNanos, boolean failed) {
+        long durationNanos = System.nanoTime() - startNanos;
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNKNOWN_ROUTE;
+        String statusFamily = failed ? "error" : statusFamily(exchange.getResponse().getStatusCode());
+        String tenantClass = tenantClass(exchange);
+        TimerKey key = new TimerKey(routeId, tenantClass, statusFamily);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timer(key);
+            if (!(timer instanceof NoopTimer)) {
+                timers.putIfAbsent(key, timer);
+            }
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .description("Gateway request latency by route, tenant class and status family")
+                .tag("route", key.routeId())
+                .tag("tenant_class", key.tenantClass())
+                .tag("status", key.statusFamily())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(slos)
+                .register(registry);
+    }
+
+    private String tenantClass(ServerWebExchange exchange) {
+        ApiKeyValidationResult apiKey = exchange.getAttribute(ApiKeyAuthenticationFilter.API_KEY_RESULT_ATTR);
+        String tenantId = apiKey != null
+                ? apiKey.tenantId()
+                : exchange.getAttribute(JwtAuthenticationGatewayFilterFactory.TENANT_ID_ATTR);
+        if (tenantId == null || tenantId.isEmpty()) {
+            return "anonymous";
+        }
+        if (premiumTenants.contains(tenantId)) {
+            return "premium";
+        }
+        return apiKey != null ? "api-key" : "user";
+    }
+
+    private static String statusFamily(@Nullable HttpStatusCode status) {
+        if (status == null) {
+            return "2xx"; // Not set explicitly: response committed with the default 200
+        }
+        return switch (status.value() / 100) {
+            case 1 -> "1xx";
+            case 2 -> "2xx";
+            case 3 -> "3xx";
+            case 4 -> "4xx";
+            default -> "5xx";
+        };
+    }
+
+    @Override
+    public int getOrder() {
+        // Just inside HeaderRewriteGlobalFilter so every filter that can answer early is timed
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private record TimerKey(String routeId, String tenantClass, String statusFamily) {
+    }
+}
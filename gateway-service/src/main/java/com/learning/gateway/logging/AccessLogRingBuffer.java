@@ -0,0 +1,198 @@
+package com.learning.gateway.logging;
+
+import com.learning.gateway.filter.EnhancedLoggingGlobalFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated multi-producer / single-consumer ring of access log events.
+ *
+ * <p>
+ * Request threads claim a slot with one CAS, copy field references into it and publish; they never format,
+ * allocate or block. When the ring is full the event is dropped and counted rather than applying
+ * back-pressure to traffic. A single daemon writer drains published slots in order, serializes each to
+ * JSON in a reused {@link StringBuilder} and logs it as {@code gateway_log {...}} under the
+ * {@link EnhancedLoggingGlobalFilter} logger, so the line format and logger name are unchanged.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AccessLogRingBuffer {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(EnhancedLoggingGlobalFilter.class);
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long consumed;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLogRingBuffer(@Value("${gateway.access-log.buffer-size:8192}") int bufferSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(2_000);
+        }
+    }
+
+    /**
+     * Publishes one completed request; returns false when the ring is full and the event was dropped.
+     */
+    public boolean publish(String requestId, String userId, String tenantId, String method, String path,
+            int status, long durationNanos, @Nullable String error) {
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed >= slots.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        Slot slot = slots[(int) (seq & mask)];
+        slot.epochMillis = System.currentTimeMillis();
+        slot.requestId = requestId;
+        slot.userId = userId;
+        slot.tenantId = tenantId;
+        slot.method = method;
+        slot.path = path;
+        slot.status = status;
+        slot.durationNanos = durationNanos;
+        slot.error = error;
+        slot.published = seq; // volatile write publishes the fields above
+        return true;
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        StringBuilder json = new StringBuilder(512);
+        long next = consumed;
+        while (running || next < claimed.get()) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                if (!running && next >= claimed.get()) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                write(slot, json);
+            } catch (RuntimeException e) {
+                log.warn("Access log write failed: {}", e.getMessage());
+            }
+            slot.clear();
+            consumed = ++next;
+        }
+    }
+
+    private static void write(Slot slot, StringBuilder json) {
+        boolean isError = slot.error != null;
+        if (isError ? !ACCESS_LOG.isWarnEnabled() : !ACCESS_LOG.isInfoEnabled()) {
+            return;
+        }
+        json.setLength(0);
+        json.append("gateway_log {\"event\":\"").append(isError ? "request_error" : "request_completed")
+                .append("\",\"ts\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(slot.epochMillis), json);
+        json.append('"');
+        appendField(json, "requestId", slot.requestId);
+        appendField(json, "userId", slot.userId);
+        appendField(json, "tenantId", slot.tenantId);
+        appendField(json, "method", slot.method);
+        appendField(json, "path", slot.path);
+        if (isError) {
+            appendField(json, "error", slot.error);
+        } else {
+            json.append(",\"status\":").append(slot.status);
+        }
+        json.append(",\"durationMs\":").append(slot.durationNanos / 1_000_000).append(" }");
+
+        if (isError) {
+            ACCESS_LOG.warn(json.toString());
+        } else {
+            ACCESS_LOG.info(json.toString());
+        }
+    }
+
+    private static void appendField(StringBuilder json, String name, @Nullable String value) {
+        json.append(",\"").append(name).append("\":\"");
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> json.append("\\\"");
+                    case '\\' -> json.append("\\\\");
+                    case '\n' -> json.append("\\n");
+                    case '\r' -> json.append("\\r");
+                    case '\t' -> json.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            json.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            json.append(c);
+                        }
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private static final class Slot {
+        private volatile long published = -1;
+        private long epochMillis;
+        private String requestId;
+        private String userId;
+        private String tenantId;
+        private String method;
+        private String path;
+        private int status;
+        private long durationNanos;
+        private String error;
+
+        private void clear() {
+            requestId = null;
+            userId = null;
+            tenantId = null;
+            method = null;
+            path = null;
+            error = null;
+        }
+    }
+}
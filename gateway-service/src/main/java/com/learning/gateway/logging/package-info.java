@@ -0,0 +1,13 @@
+/**
+ * Asynchronous access logging.
+ *
+ * <p>
+ * A preallocated ring buffer decouples request threads from JSON
+ * serialization and appender I/O.
+ */
+@NonNullApi
+@NonNullFields
+package com.learning.gateway.logging;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
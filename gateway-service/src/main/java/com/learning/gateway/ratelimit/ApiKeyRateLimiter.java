@@ -0,0 +1,138 @@
+package com.learning.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-API-key token bucket enforcing {@code rateLimitPerMinute} from API key validation.
+ *
+ * <p>
+ * The authoritative bucket lives in Redis ({@code scripts/api_key_token_bucket.lua}). Each node keeps the
+ * remaining count from its last Redis sync; while that count is fresh (within {@code max-sync-interval}) and
+ * the requests admitted locally stay below {@code local-fraction} of it, the request is admitted without a
+ * Redis round trip. Locally admitted requests are charged to the Redis bucket on the next sync, so the
+ * overshoot is bounded by {@code local-fraction × remaining} per node per sync interval.
+ * </p>
+ *
+ * <p>
+ * Redis failures fail open: the request is admitted and the error is logged.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ApiKeyRateLimiter {
+
+    private static final String REDIS_KEY_PREFIX = "gateway:apikey-rl:";
+    private static final double MS_PER_MINUTE = 60_000d;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> script;
+    private final double localFraction;
+    private final long maxSyncIntervalNanos;
+    private final Cache<String, LocalBucket> localBuckets;
+
+    public ApiKeyRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            @Value("${gateway.api-key-rate-limit.local-fraction:0.1}") double localFraction,
+            @Value("${gateway.api-key-rate-limit.max-sync-interval:1s}") Duration maxSyncInterval) {
+        this.redisTemplate = redisTemplate;
+        this.script = RedisScript.of(new ClassPathResource("scripts/api_key_token_bucket.lua"), List.class);
+        this.localFraction = localFraction;
+        this.maxSyncIntervalNanos = maxSyncInterval.toNanos();
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(2))
+                .build();
+    }
+
+    /**
+     * Consumes one token for the key.
+     */
+    public Mono<Decision> tryAcquire(String keyId, int limitPerMinute) {
+        LocalBucket bucket = localBuckets.get(keyId, k -> new LocalBucket());
+        long now = System.nanoTime();
+        int pending;
+        synchronized (bucket) {
+            if (bucket.canAdmitLocally(now, maxSyncIntervalNanos, localFraction)) {
+                bucket.pending++;
+                return Mono.just(Decision.allowed(limitPerMinute, (long) bucket.remaining - bucket.pending));
+            }
+            pending = bucket.pending;
+            bucket.pending = 0;
+        }
+
+        double refillPerMs = limitPerMinute / MS_PER_MINUTE;
+        return redisTemplate.execute(script, List.of(REDIS_KEY_PREFIX + keyId),
+                        List.of(String.valueOf(limitPerMinute), String.valueOf(refillPerMs), String.valueOf(pending)))
+                .next()
+                .map(result -> {
+                    boolean allowed = ((Long) result.get(0)) == 1L;
+                    long remaining = (Long) result.get(1);
+                    synchronized (bucket) {
+                        bucket.remaining = remaining;
+                        bucket.syncedAtNanos = System.nanoTime();
+                        bucket.synced = true;
+                    }
+                    return allowed
+                            ? Decision.allowed(limitPerMinute, remaining)
+                            : Decision.denied(limitPerMinute, remaining);
+                })
+                .onErrorResume(e -> {
+                    log.warn("API key rate limit check failed, allowing request: {}", e.getMessage());
+                    return Mono.just(Decision.allowed(limitPerMinute, -1));
+                });
+    }
+
+    private static final class LocalBucket {
+        private boolean synced;
+        private long syncedAtNanos;
+        private double remaining;
+        private int pending;
+
+        boolean canAdmitLocally(long now, long maxSyncIntervalNanos, double localFraction) {
+            return synced
+                    && now - syncedAtNanos < maxSyncIntervalNanos
+                    && pending + 1 <= remaining * localFraction;
+        }
+    }
+
+    /**
+     * @param remaining tokens left after this request, or -1 when unknown (Redis unavailable)
+     */
+    public record Decision(boolean allowed, int limit, long remaining) {
+
+        static Decision allowed(int limit, long remaining) {
+            return new Decision(true, limit, remaining);
+        }
+
+        static Decision denied(int limit, long remaining) {
+            return new Decision(false, limit, remaining);
+        }
+
+        /**
+         * Seconds until the bucket is full again (refill is continuous over one minute).
+         */
+        public long resetSeconds() {
+            long missing = remaining < 0 ? 0 : limit - remaining;
+            return (long) Math.ceil(missing * 60d / limit);
+        }
+
+        /**
+         * Seconds until the next token is available.
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, (long) Math.ceil(60d / limit));
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.learning.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local-first replacement for {@code RedisRateLimiter} in the {@code RequestRateLimiter} default filter.
+ *
+ * <p>
+ * Each gateway node leases a slice of every key's token bucket from Redis
+ * ({@code scripts/hybrid_rate_limiter_lease.lua}) and admits requests from that slice in memory. When a
+ * slice runs below half, the key is queued and a background task refills all queued keys in one batch every
+ * {@code sync-interval}. Only a key's first request, or one that drains its slice before the batch lands,
+ * waits on Redis.
+ * </p>
+ *
+ * <p>
+ * Accuracy: tokens leased but not yet used are the only error, so each node over- or under-admits by at most
+ * {@code ceil(burstCapacity × max-error)} tokens per key. An empty shared bucket is remembered locally until
+ * the next token is due, so rejections do not hit Redis either. Redis failures fail open, like
+ * {@code RedisRateLimiter}.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Component
+public class HybridRateLimiter extends AbstractRateLimiter<HybridRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "hybrid-rate-limiter";
+
+    private static final String REDIS_KEY_PREFIX = "gateway:hybrid-rl:";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> script;
+    private final double maxError;
+    private final Duration syncInterval;
+    private final Cache<String, Lease> leases;
+    private final Set<String> refillQueue = ConcurrentHashMap.newKeySet();
+    private Disposable refillTask;
+
+    public HybridRateLimiter(
+            ReactiveStringRedisTemplate redisTemplate,
+            ConfigurationService configurationService,
+            @Value("${gateway.hybrid-rate-limiter.max-error:0.1}") double maxError,
+            @Value("${gateway.hybrid-rate-limiter.sync-interval:50ms}") Duration syncInterval) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.redisTemplate = redisTemplate;
+        this.script = RedisScript.of(new ClassPathResource("scripts/hybrid_rate_limiter_lease.lua"), List.class);
+        this.maxError = maxError;
+        this.syncInterval = syncInterval;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .build();
+    }
+
+    @PostConstruct
+    public void startRefills() {
+        refillTask = Flux.interval(syncInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refillQueued(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefills() {
+        if (refillTask != null) {
+            refillTask.dispose();
+        }
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = loadConfiguration(routeId);
+        String key = REDIS_KEY_PREFIX + routeId + ":" + id;
+        int requested = config.getRequestedTokens();
+        Lease lease = leases.get(key, k -> new Lease(config, leaseSize(config)));
+
+        long now = System.nanoTime();
+        synchronized (lease) {
+            if (lease.tokens >= requested) {
+                lease.tokens -= requested;
+                if (lease.tokens < lease.size / 2 && !lease.refillQueued) {
+                    lease.refillQueued = true;
+                    refillQueue.add(key);
+                }
+                return Mono.just(response(true, config, lease.tokens));
+            }
+            if (now < lease.emptyUntilNanos) {
+                return Mono.just(response(false, config, 0));
+            }
+        }
+
+        return refill(key, lease)
+                .map(granted -> {
+                    synchronized (lease) {
+                        if (lease.tokens >= requested) {
+                            lease.tokens -= requested;
+                            return response(true, config, lease.tokens);
+                        }
+                        return response(false, config, 0);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Hybrid rate limiter lease failed, allowing request: {}", e.getMessage());
+                    return Mono.just(response(true, config, -1));
+                });
+    }
+
+    /**
+     * Joins the lease's in-flight refill or starts one, so concurrent misses on a node share one Redis call
+     * and a lease never holds more than one slice.
+     */
+    private Mono<Long> refill(String key, Lease lease) {
+        synchronized (lease) {
+            if (lease.inFlight == null) {
+                lease.inFlight = fetchSlice(key, lease)
+                        .doFinally(signal -> {
+                            synchronized (lease) {
+                                lease.inFlight = null;
+                            }
+                        })
+                        .cache();
+            }
+            return lease.inFlight;
+        }
+    }
+
+    /**
+     * Leases up to one slice from Redis into {@code lease}; returns the granted count.
+     */
+    private Mono<Long> fetchSlice(String key, Lease lease) {
+        Config config = lease.config;
+        long wanted;
+        synchronized (lease) {
+            wanted = Math.max(0, lease.size - lease.tokens);
+        }
+        if (wanted == 0) {
+            return Mono.just(0L);
+        }
+        return redisTemplate.execute(script, List.of(key), List.of(
+                        String.valueOf(config.getReplenishRate()),
+                        String.valueOf(config.getBurstCapacity()),
+                        String.valueOf(wanted)))
+                .next()
+                .map(result -> {
+                    long granted = (Long) result.get(0);
+                    synchronized (lease) {
+                        lease.tokens += granted;
+                        lease.refillQueued = false;
+                        lease.emptyUntilNanos = lease.tokens < config.getRequestedTokens()
+                                ? System.nanoTime() + nanosPerRequest(config)
+                                : 0;
+                    }
+                    return granted;
+                });
+    }
+
+    private Mono<Void> refillQueued() {
+        if (refillQueue.isEmpty()) {
+            return Mono.empty();
+        }
+        List<String> batch = new ArrayList<>(refillQueue);
+        refillQueue.removeAll(batch);
+        return Flux.fromIterable(batch)
+                .flatMap(key -> {
+                    Lease lease = leases.getIfPresent(key);
+                    if (lease == null) {
+                        return Mono.empty();
+                    }
+                    return refill(key, lease).onErrorResume(e -> {
+                        synchronized (lease) {
+                            lease.refillQueued = false;
+                        }
+                        log.debug("Hybrid rate limiter batch refill failed for {}: {}", key, e.getMessage());
+                        return Mono.empty();
+                    });
+                })
+                .then();
+    }
+
+    private long leaseSize(Config config) {
+        return Math.max(config.getRequestedTokens(), (long) Math.ceil(config.getBurstCapacity() * maxError));
+    }
+
+    private static long nanosPerRequest(Config config) {
+        return (long) (1_000_000_000d * config.getRequestedTokens() / config.getReplenishRate());
+    }
+
+    private Config loadConfiguration(String routeId) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            config = getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS);
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("No Configuration found for route " + routeId + " or defaultFilters");
+        }
+        if (config.getReplenishRate() <= 0 || config.getRequestedTokens() <= 0) {
+            throw new IllegalArgumentException("hybrid-rate-limiter replenishRate and requestedTokens must be > 0");
+        }
+        return config;
+    }
+
+    private static Response response(boolean allowed, Config config, long remaining) {
+        return new Response(allowed, Map.of(
+                REMAINING_HEADER, String.valueOf(remaining),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity())));
+    }
+
+    private static final class Lease {
+        private final Config config;
+        private final long size;
+        private long tokens;
+        private boolean refillQueued;
+        private long emptyUntilNanos;
+        private Mono<Long> inFlight;
+
+        private Lease(Config config, long size) {
+            this.config = config;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Bound from {@code hybrid-rate-limiter.*} filter args, same meaning as {@code redis-rate-limiter.*}.
+     */
+    public static class Config {
+
+        private int replenishRate;
+        private long burstCapacity = 1;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public long getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(long burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.learning.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket retry budget for one route.
+ *
+ * <p>
+ * Every original request deposits {@code ratio} tokens (capped at {@code maxTokens}) and every retry withdraws
+ * one, so retries stay below {@code ratio} of successful traffic no matter how many attempts each request is
+ * configured for. A small per-second reserve keeps retries possible on low-traffic routes. Lock-free; tokens are
+ * held in thousandths.
+ * </p>
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositMillis;
+    private final long capMillis;
+    private final int minRetriesPerSecond;
+    private final AtomicLong balanceMillis = new AtomicLong();
+    private final AtomicLong reserveSecond = new AtomicLong(-1);
+    private final AtomicInteger reserveUsed = new AtomicInteger();
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, long maxTokens) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || maxTokens < 1) {
+            throw new IllegalArgumentException("ratio and minRetriesPerSecond must be >= 0, maxTokens >= 1");
+        }
+        this.depositMillis = Math.round(ratio * SCALE);
+        this.capMillis = maxTokens * SCALE;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    public void recordRequest() {
+        long current;
+        do {
+            current = balanceMillis.get();
+            if (current >= capMillis) {
+                return;
+            }
+        } while (!balanceMillis.compareAndSet(current, Math.min(capMillis, current + depositMillis)));
+    }
+
+    /**
+     * Withdraws one retry; {@code false} means the budget is spent and the caller must not retry.
+     */
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balanceMillis.get();
+            if (current < SCALE) {
+                return tryAcquireReserve();
+            }
+        } while (!balanceMillis.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    private boolean tryAcquireReserve() {
+        if (minRetriesPerSecond == 0) {
+            return false;
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        long window = reserveSecond.get();
+        if (window != second && reserveSecond.compareAndSet(window, second)) {
+            reserveUsed.set(0);
+        }
+        return reserveUsed.incrementAndGet() <= minRetriesPerSecond;
+    }
+
+    double balance() {
+        return (double) balanceMillis.get() / SCALE;
+    }
+}
@@ -0,0 +1,245 @@
+package com.learning.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tenant-weighted fair admission for a pool of expensive operations.
+ *
+ * <p>
+ * At most {@code maxConcurrent} operations run at once, and each tenant is capped at
+ * {@code maxConcurrentPerTenant} of them. Waiting requests sit in per-tenant FIFO queues (bounded by
+ * {@code maxQueuedPerTenant}); when a slot frees, start-time fair queuing picks the eligible tenant with the
+ * smallest virtual finish tag, which advances by {@code 1 / weight} per dispatch. A tenant with twenty queued
+ * uploads therefore gets its weighted share of slots, not all of them.
+ * </p>
+ */
+public class WeightedFairQueue {
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final int maxConcurrent;
+    private final int maxConcurrentPerTenant;
+    private final int maxQueuedPerTenant;
+    private final Map<String, Double> weights;
+
+    // Guarded by this
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    private int inFlight;
+    private double virtualTime;
+
+    public WeightedFairQueue(int maxConcurrent, int maxConcurrentPerTenant, int maxQueuedPerTenant,
+            Map<String, Double> weights) {
+        if (maxConcurrent < 1 || maxConcurrentPerTenant < 1 || maxQueuedPerTenant < 0) {
+            throw new IllegalArgumentException("Concurrency limits must be >= 1 and queue size >= 0");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentPerTenant = maxConcurrentPerTenant;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        this.weights = Map.copyOf(weights);
+    }
+
+    /**
+     * Emits a {@link Permit} once the tenant is admitted, or {@link TenantQueueFullException} if its queue is
+     * full. Cancelling the subscription while waiting removes the request from the queue.
+     */
+    public Mono<Permit> acquire(String tenantId) {
+        return acquire(tenantId, null);
+    }
+
+    /**
+     * Like {@link #acquire(String)}, but fails with {@link TimeoutException} after waiting {@code maxWait}.
+     *
+     * <p>
+     * The deadline is enforced here rather than with {@code Mono.timeout}: a permit granted as the timeout fires
+     * would be dropped by the operator and its slot never returned. Expiry and grant race on the waiter's state,
+     * so exactly one of them wins.
+     * </p>
+     */
+    public Mono<Permit> acquire(String tenantId, Duration maxWait) {
+        return Mono.defer(() -> {
+            Waiter waiter = new Waiter();
+            return Mono.<Permit>create(sink -> {
+                waiter.sink = sink;
+                synchronized (this) {
+                    TenantQueue queue = tenants.computeIfAbsent(tenantId, TenantQueue::new);
+                    if (queue.waiting.size() >= maxQueuedPerTenant && !canRun(queue)) {
+                        removeIfIdle(queue);
+                        sink.error(new TenantQueueFullException(tenantId));
+                        return;
+                    }
+                    queue.waiting.add(waiter);
+                }
+                if (maxWait != null) {
+                    sink.onDispose(Schedulers.parallel().schedule(() -> {
+                        if (cancel(tenantId, waiter)) {
+                            sink.error(new TimeoutException("Fair queue wait exceeded " + maxWait));
+                        }
+                    }, maxWait.toNanos(), TimeUnit.NANOSECONDS));
+                }
+                dispatch();
+            })
+                    // Hooked outside the sink: once a grant has started, the sink no longer reports cancellation
+                    // and the subscriber may drop the permit, so a cancelled granted waiter returns the slot here
+                    .doOnCancel(() -> {
+                        if (!cancel(tenantId, waiter)) {
+                            waiter.releaseGranted();
+                        }
+                    });
+        })
+                // A permit granted just as the subscriber cancelled never reaches it: return the slot
+                .doOnDiscard(Permit.class, Permit::release);
+    }
+
+    private boolean canRun(TenantQueue queue) {
+        return inFlight < maxConcurrent && queue.active < maxConcurrentPerTenant;
+    }
+
+    private void dispatch() {
+        while (true) {
+            Waiter next;
+            String tenantId;
+            synchronized (this) {
+                if (inFlight >= maxConcurrent) {
+                    return;
+                }
+                TenantQueue chosen = null;
+                for (TenantQueue queue : tenants.values()) {
+                    if (!queue.waiting.isEmpty() && queue.active < maxConcurrentPerTenant
+                            && (chosen == null || queue.finishTag < chosen.finishTag)) {
+                        chosen = queue;
+                    }
+                }
+                if (chosen == null) {
+                    return;
+                }
+                next = chosen.waiting.poll();
+                double start = Math.max(virtualTime, chosen.finishTag);
+                virtualTime = start;
+                chosen.finishTag = start + 1.0 / weights.getOrDefault(chosen.tenantId, 1.0);
+                chosen.active++;
+                inFlight++;
+                tenantId = chosen.tenantId;
+            }
+            Permit permit = new Permit(tenantId);
+            if (!next.grant(permit)) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Removes a still-waiting request from its queue; returns false if it was already granted or cancelled.
+     */
+    private boolean cancel(String tenantId, Waiter waiter) {
+        if (!waiter.state.compareAndSet(WAITING, CANCELLED)) {
+            return false;
+        }
+        synchronized (this) {
+            TenantQueue queue = tenants.get(tenantId);
+            if (queue != null) {
+                queue.waiting.remove(waiter);
+                removeIfIdle(queue);
+            }
+        }
+        return true;
+    }
+
+    private void release(String tenantId) {
+        synchronized (this) {
+            TenantQueue queue = tenants.get(tenantId);
+            queue.active--;
+            inFlight--;
+            removeIfIdle(queue);
+        }
+        dispatch();
+    }
+
+    private void removeIfIdle(TenantQueue queue) {
+        if (queue.active == 0 && queue.waiting.isEmpty()) {
+            tenants.remove(queue.tenantId);
+        }
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued(String tenantId) {
+        TenantQueue queue = tenants.get(tenantId);
+        return queue != null ? queue.waiting.size() : 0;
+    }
+
+    /**
+     * An admitted slot; release exactly when the operation finishes (extra calls are ignored).
+     */
+    public final class Permit {
+
+        private final String tenantId;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                WeightedFairQueue.this.release(tenantId);
+            }
+        }
+    }
+
+    public static class TenantQueueFullException extends RuntimeException {
+
+        public TenantQueueFullException(String tenantId) {
+            super("Fair queue full for tenant " + tenantId);
+        }
+    }
+
+    private static final class TenantQueue {
+
+        private final String tenantId;
+        private final ArrayDeque<Waiter> waiting = new ArrayDeque<>();
+        private int active;
+        private double finishTag;
+
+        private TenantQueue(String tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+
+    private static final class Waiter {
+
+        // Set before the waiter is queued; dispatch reads it under the same lock
+        private MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Permit permit;
+
+        private boolean grant(Permit permit) {
+            this.permit = permit;
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            sink.success(permit);
+            return true;
+        }
+
+        private void releaseGranted() {
+            if (state.get() == GRANTED) {
+                permit.release();
+            }
+        }
+    }
+}
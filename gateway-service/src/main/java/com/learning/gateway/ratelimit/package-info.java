@@ -0,0 +1,13 @@
+/**
+ * Gateway rate limiters.
+ *
+ * <p>
+ * Redis-backed limiters with local fast paths that keep most decisions
+ * in memory.
+ */
+@NonNullApi
+@NonNullFields
+package com.learning.gateway.ratelimit;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,28 @@
+-- Per-API-key token bucket (capacity = rateLimitPerMinute, refilled continuously over one minute).
+-- KEYS[1] bucket hash; ARGV[1] capacity; ARGV[2] refill tokens per ms;
+-- ARGV[3] tokens already admitted locally since the last sync (charged unconditionally).
+-- Returns {allowed (0/1), remaining tokens (floored)}.
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local refill_per_ms = tonumber(ARGV[2])
+local pending = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local ts = tonumber(state[2]) or now
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+tokens = math.max(0, tokens - pending)
+
+local allowed = 0
+if tokens >= 1 then
+    allowed = 1
+    tokens = tokens - 1
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+redis.call('PEXPIRE', key, math.ceil(capacity / refill_per_ms) + 1000)
+return { allowed, math.floor(tokens) }
@@ -0,0 +1,22 @@
+-- Token bucket lease for HybridRateLimiter: grants up to ARGV[3] tokens at once to one gateway node.
+-- KEYS[1] bucket hash; ARGV[1] replenish rate (tokens/s); ARGV[2] burst capacity; ARGV[3] tokens wanted.
+-- Returns {granted, tokens left in the shared bucket}.
+local key = KEYS[1]
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local ts = tonumber(state[2]) or now
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+local granted = math.min(wanted, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+redis.call('PEXPIRE', key, math.ceil(capacity / rate * 1000) * 2 + 1000)
+return { granted, math.floor(tokens) }
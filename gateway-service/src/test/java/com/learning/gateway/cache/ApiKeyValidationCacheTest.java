@@ -0,0 +1,130 @@
+package com.learning.gateway.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.gateway.filter.ApiKeyAuthenticationFilter.ApiKeyValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiKeyValidationCacheTest {
+
+    private static final ApiKeyValidationResult VALID =
+            new ApiKeyValidationResult("key-1", "tenant-a", "user-1", "u@example.com", 100, true, null);
+
+    private final Map<String, String> redisStore = new ConcurrentHashMap<>();
+    private final AtomicInteger originCalls = new AtomicInteger();
+    private ReactiveStringRedisTemplate redis;
+    private ApiKeyValidationCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(ReactiveStringRedisTemplate.class);
+        ReactiveValueOperations<String, String> ops = mock(ReactiveValueOperations.class);
+        when(redis.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenAnswer(inv -> Mono.justOrEmpty(redisStore.get(inv.<String>getArgument(0))));
+        when(ops.set(anyString(), anyString(), any(Duration.class))).thenAnswer(inv -> {
+            redisStore.put(inv.getArgument(0), inv.getArgument(1));
+            return Mono.just(true);
+        });
+        when(redis.delete(any(Publisher.class))).thenAnswer(inv -> Flux.from(inv.<Publisher<String>>getArgument(0))
+                .filter(key -> redisStore.remove(key) != null)
+                .count());
+        cache = newCache();
+    }
+
+    private ApiKeyValidationCache newCache() {
+        return new ApiKeyValidationCache(redis, new ObjectMapper(), Duration.ofMinutes(1), Duration.ofSeconds(10),
+                100, "gateway:apikey:revoked");
+    }
+
+    private Mono<ApiKeyValidationResult> origin(ApiKeyValidationResult result) {
+        return Mono.defer(() -> {
+            originCalls.incrementAndGet();
+            return Mono.just(result).delayElement(Duration.ofMillis(50));
+        });
+    }
+
+    @Test
+    @DisplayName("concurrent misses for one key share a single origin call")
+    void concurrentMissesAreCoalesced() {
+        var first = cache.get("gb_live_abc", k -> origin(VALID));
+        var second = cache.get("gb_live_abc", k -> origin(VALID));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .assertNext(t -> assertThat(t.getT1()).isEqualTo(t.getT2()).isEqualTo(VALID))
+                .verifyComplete();
+        StepVerifier.create(cache.get("gb_live_abc", k -> origin(VALID)))
+                .expectNext(VALID)
+                .verifyComplete();
+
+        assertThat(originCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("definite rejections are cached, transient failures are not")
+    void cachesOnlyDefiniteRejections() {
+        var revoked = new ApiKeyValidationResult(null, null, null, null, null, false, "API_KEY_REVOKED");
+        var internal = new ApiKeyValidationResult(null, null, null, null, null, false, "INTERNAL_ERROR");
+
+        cache.get("revoked", k -> origin(revoked)).block();
+        cache.get("revoked", k -> origin(revoked)).block();
+        cache.get("flaky", k -> origin(internal)).block();
+        cache.get("flaky", k -> origin(internal)).block();
+
+        assertThat(originCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("revocation by key id drops the local entry")
+    void invalidateByKeyIdForcesReload() {
+        cache.get("gb_live_abc", k -> origin(VALID)).block();
+
+        StepVerifier.create(cache.invalidate("key-1")).verifyComplete();
+        cache.get("gb_live_abc", k -> origin(VALID)).block();
+
+        assertThat(originCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("revocation by key id drops the Redis entry stored under the key hash")
+    void invalidateByKeyIdDropsRedisEntry() {
+        cache.get("gb_live_abc", k -> origin(VALID)).block();
+        assertThat(redisStore).containsKey("gateway:apikey:" + ApiKeyValidationCache.hash("gb_live_abc"));
+
+        StepVerifier.create(cache.invalidate("key-1")).verifyComplete();
+
+        assertThat(redisStore).isEmpty();
+        // A node with a cold local cache must reach the origin instead of the revoked Redis entry
+        newCache().get("gb_live_abc", k -> origin(VALID)).block();
+        assertThat(originCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("revocation by key hash drops the Redis entry")
+    void invalidateByHashDropsRedisEntry() {
+        String hash = ApiKeyValidationCache.hash("gb_live_abc");
+        cache.get("gb_live_abc", k -> origin(VALID)).block();
+
+        StepVerifier.create(cache.invalidate(hash)).verifyComplete();
+
+        assertThat(redisStore).doesNotContainKey("gateway:apikey:" + hash);
+    }
+}
@@ -0,0 +1,51 @@
+package com.learning.gateway.config;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionConfigTest {
+
+    private static final List<MimeType> TYPES = List.of(
+            MimeTypeUtils.parseMimeType("application/json"),
+            MimeTypeUtils.parseMimeType("application/*+json"),
+            MimeTypeUtils.parseMimeType("text/csv"));
+    private static final long MIN_BYTES = 2048;
+
+    private static HttpHeaders headers(String contentType, String contentLength) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.set("Content-Type", contentType);
+        if (contentLength != null) {
+            headers.set("Content-Length", contentLength);
+        }
+        return headers;
+    }
+
+    @Test
+    @DisplayName("compresses large or streamed JSON and CSV")
+    void compressesLargeJsonAndCsv() {
+        assertThat(CompressionConfig.shouldCompress(headers("application/json;charset=UTF-8", "500000"), TYPES, MIN_BYTES)).isTrue();
+        assertThat(CompressionConfig.shouldCompress(headers("application/problem+json", null), TYPES, MIN_BYTES)).isTrue();
+        assertThat(CompressionConfig.shouldCompress(headers("text/csv", "4096"), TYPES, MIN_BYTES)).isTrue();
+    }
+
+    @Test
+    @DisplayName("skips small, already-encoded and xlsx responses")
+    void skipsSmallEncodedAndXlsx() {
+        assertThat(CompressionConfig.shouldCompress(headers("application/json", "100"), TYPES, MIN_BYTES)).isFalse();
+        assertThat(CompressionConfig.shouldCompress(
+                headers("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", null), TYPES, MIN_BYTES))
+                .isFalse();
+
+        HttpHeaders encoded = headers("application/json", "500000");
+        encoded.set("Content-Encoding", "gzip");
+        assertThat(CompressionConfig.shouldCompress(encoded, TYPES, MIN_BYTES)).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.learning.gateway.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses a local MockWebServer as the JWKS endpoint and counts fetches to show that decoding tokens signed
+ * with known keys never reaches it.
+ */
+class JwksManagerTest {
+
+    private static final String ISSUER = "https://cognito-idp.test/pool";
+
+    private MockWebServer jwksServer;
+    private JwksManager manager;
+    private ReactiveJwtDecoder decoder;
+    private RSAKey currentKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwksServer = new MockWebServer();
+        jwksServer.start();
+        currentKey = new RSAKeyGenerator(2048).keyID("kid-1").generate();
+        serveKeys(currentKey);
+
+        manager = new JwksManager(WebClient.builder(), jwksServer.url("/jwks.json").toString(),
+                Duration.ofHours(1), Duration.ofHours(1), Duration.ZERO, Duration.ofSeconds(5));
+        manager.start();
+        decoder = new JwtDecoderConfig().jwtDecoder(manager, ISSUER);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        manager.stop();
+        jwksServer.shutdown();
+    }
+
+    private void serveKeys(RSAKey... keys) {
+        String body = new JWKSet(List.of(keys)).toPublicJWKSet().toString();
+        jwksServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeader("Cache-Control", "max-age=3600")
+                .setBody(body));
+    }
+
+    private String token(RSAKey key) throws Exception {
+        return token(key, key.getKeyID());
+    }
+
+    private String token(RSAKey key, String kid) throws Exception {
+        var claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject("user-123")
+                .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @Test
+    @DisplayName("decodes with prefetched keys and makes no request-path fetches")
+    void decodesWithoutRequestPathFetches() throws Exception {
+        String token = token(currentKey);
+
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(decoder.decode(token))
+                    .assertNext(jwt -> assertThat(jwt.getSubject()).isEqualTo("user-123"))
+                    .verifyComplete();
+        }
+
+        assertThat(jwksServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keeps the last good key set when a refresh fails")
+    void keepsLastGoodKeysOnRefreshFailure() throws Exception {
+        jwksServer.enqueue(new MockResponse().setResponseCode(503));
+
+        StepVerifier.create(manager.refresh()).expectError().verify();
+
+        StepVerifier.create(decoder.decode(token(currentKey)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("fetches once for a rotated key id, then serves it from memory")
+    void fetchesOnceForRotatedKey() throws Exception {
+        RSAKey rotated = new RSAKeyGenerator(2048).keyID("kid-2").generate();
+        serveKeys(currentKey, rotated);
+        String token = token(rotated);
+
+        StepVerifier.create(decoder.decode(token)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(decoder.decode(token)).expectNextCount(1).verifyComplete();
+
+        assertThat(jwksServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("rejects a token without a key id as a bad JWT, without fetching")
+    void rejectsTokenWithoutKeyId() throws Exception {
+        StepVerifier.create(decoder.decode(token(currentKey, null)))
+                .expectError(BadJwtException.class)
+                .verify();
+
+        assertThat(jwksServer.getRequestCount()).isEqualTo(1);
+    }
+}
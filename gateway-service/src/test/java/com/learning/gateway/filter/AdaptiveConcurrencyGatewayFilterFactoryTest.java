@@ -0,0 +1,62 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTest extends BaseGatewayFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyGatewayFilterFactory factory =
+            new AdaptiveConcurrencyGatewayFilterFactory(registry, 1, 1, 10, 0.2, 1.5, 2);
+
+    @Test
+    @DisplayName("sheds requests over the limit with 503 and Retry-After")
+    void shedsExcessWithServiceUnavailable() {
+        GatewayFilter filter = factory.apply(new AdaptiveConcurrencyGatewayFilterFactory.Config()
+                .setService("backend-service"));
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        var inFlight = filter.filter(exchange(get("/api/v1/rule37/runs").build()), chain(e -> upstream.asMono()))
+                .subscribe();
+        var shed = exchange(get("/api/v1/rule37/runs").build());
+        StepVerifier.create(filter.filter(shed, chain())).verifyComplete();
+
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(responseBody(shed)).contains("\"code\":\"CONCURRENCY_LIMITED\"");
+        assertThat(registry.get("gateway.concurrency.in_flight").tag("service", "backend-service").gauge().value())
+                .isEqualTo(1.0);
+
+        upstream.tryEmitEmpty();
+        assertThat(inFlight.isDisposed()).isTrue();
+        var admitted = exchange(get("/api/v1/rule37/runs").build());
+        StepVerifier.create(filter.filter(admitted, chain(e -> Mono.empty()))).verifyComplete();
+        assertThat(admitted.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("routes naming the same service share one limit")
+    void routesShareServiceLimit() {
+        var config = new AdaptiveConcurrencyGatewayFilterFactory.Config().setService("auth-service");
+        GatewayFilter first = factory.apply(config);
+        GatewayFilter second = factory.apply(config);
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        first.filter(exchange(get("/auth/api/v1/stats").build()), chain(e -> upstream.asMono())).subscribe();
+        var shed = exchange(get("/auth-service/api/v1/stats").build());
+        StepVerifier.create(second.filter(shed, chain())).verifyComplete();
+
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        upstream.tryEmitEmpty();
+    }
+}
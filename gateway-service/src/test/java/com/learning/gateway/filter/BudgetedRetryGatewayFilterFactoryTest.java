@@ -0,0 +1,111 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetedRetryGatewayFilterFactoryTest extends BaseGatewayFilterTest {
+
+    private final BudgetedRetryGatewayFilterFactory factory = new BudgetedRetryGatewayFilterFactory();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private BudgetedRetryGatewayFilterFactory.Config config() {
+        return new BudgetedRetryGatewayFilterFactory.Config()
+                .setBackoff(Duration.ofMillis(1), Duration.ofMillis(5), 2);
+    }
+
+    private TestGatewayFilterChain unavailable() {
+        return respondingWith(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private TestGatewayFilterChain respondingWith(HttpStatus status) {
+        // Work happens on subscription, as in NettyRoutingFilter: retries resubscribe the same Mono
+        return chain(exchange -> Mono.fromRunnable(() -> {
+            attempts.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+        }));
+    }
+
+    @Test
+    @DisplayName("retries idempotent GETs on 503")
+    void retriesIdempotentGets() {
+        GatewayFilter filter = factory.apply(config());
+
+        StepVerifier.create(filter.filter(exchange(get("/api/v1/rule37/runs").build()), unavailable()))
+                .verifyComplete();
+
+        assertThat(attempts.get()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("does not retry 5xx statuses outside the configured list")
+    void ignoresUnlistedServerErrors() {
+        GatewayFilter filter = factory.apply(config());
+
+        StepVerifier.create(filter.filter(exchange(get("/api/v1/rule37/runs").build()),
+                respondingWith(HttpStatus.INTERNAL_SERVER_ERROR))).verifyComplete();
+        StepVerifier.create(filter.filter(exchange(get("/api/v1/rule37/runs").build()),
+                respondingWith(HttpStatus.GATEWAY_TIMEOUT))).verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("sends a POST without Idempotency-Key upstream exactly once")
+    void neverReplaysPostWithoutIdempotencyKey() {
+        GatewayFilter filter = factory.apply(config());
+
+        StepVerifier.create(filter.filter(exchange(post("/api/v1/ledgers/upload").body("ledger")), unavailable()))
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("replays a POST with Idempotency-Key including its body")
+    void replaysPostWithIdempotencyKey() {
+        GatewayFilter filter = factory.apply(config());
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        MockServerHttpRequest request = post("/auth/signup")
+                .header(BudgetedRetryGatewayFilterFactory.IDEMPOTENCY_KEY_HEADER, "k-1")
+                .contentLength(6)
+                .body("signup");
+
+        var chain = chain(exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+                .doOnNext(buffer -> bodies.add(buffer.toString(StandardCharsets.UTF_8)))
+                .then(Mono.fromRunnable(() -> {
+                    attempts.incrementAndGet();
+                    exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+                })));
+
+        StepVerifier.create(filter.filter(exchange(request), chain)).verifyComplete();
+
+        assertThat(attempts.get()).isGreaterThan(1);
+        assertThat(bodies).hasSize(attempts.get()).containsOnly("signup");
+    }
+
+    @Test
+    @DisplayName("stops retrying once the route's budget is spent")
+    void stopsWhenBudgetIsSpent() {
+        GatewayFilter filter = factory.apply(config().setBudgetRatio(0).setMinRetriesPerSecond(0));
+
+        StepVerifier.create(filter.filter(exchange(get("/api/v1/rule37/runs").build()), unavailable()))
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(1);
+    }
+}
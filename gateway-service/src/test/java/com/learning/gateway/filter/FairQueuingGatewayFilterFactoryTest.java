@@ -0,0 +1,85 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairQueuingGatewayFilterFactoryTest extends BaseGatewayFilterTest {
+
+    private static final String UPLOAD = "/api/v1/ledgers/upload";
+
+    private final FairQueuingGatewayFilterFactory factory = new FairQueuingGatewayFilterFactory(
+            List.of("/**/api/v1/ledgers/upload"), 1, 1, 1, Duration.ofMillis(100), List.of("acme:2", ""));
+    private final GatewayFilter filter = factory.apply(new FairQueuingGatewayFilterFactory.Config());
+
+    @Test
+    @DisplayName("answers 429 with Retry-After when the tenant has no queue room")
+    void rejectsWhenTenantQueueFull() {
+        Sinks.Empty<Void> running = Sinks.empty();
+        filter.filter(exchange(post(UPLOAD).header("X-Tenant-Id", "acme").build()), chain(e -> running.asMono()))
+                .subscribe();
+        filter.filter(exchange(post(UPLOAD).header("X-Tenant-Id", "acme").build()), chain(e -> running.asMono()))
+                .subscribe();
+
+        var rejected = exchange(post(UPLOAD).header("X-Tenant-Id", "acme").build());
+        StepVerifier.create(filter.filter(rejected, chain())).verifyComplete();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(responseBody(rejected)).contains("\"code\":\"TENANT_QUEUE_FULL\"");
+
+        running.tryEmitEmpty();
+        assertThat(factory.queue().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("answers 503 once the wait exceeds max-wait and leaves no permit behind")
+    void timesOutLongWaits() {
+        Sinks.Empty<Void> running = Sinks.empty();
+        filter.filter(exchange(post(UPLOAD).header("X-Tenant-Id", "acme").build()), chain(e -> running.asMono()))
+                .subscribe();
+
+        var chain = chain(e -> Mono.empty());
+        var waiting = exchange(post(UPLOAD).header("X-Tenant-Id", "acme").build());
+        StepVerifier.create(filter.filter(waiting, chain)).verifyComplete();
+
+        assertThat(waiting.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(responseBody(waiting)).contains("\"code\":\"FAIR_QUEUE_TIMEOUT\"");
+        assertThat(chain.lastRequest()).isNull();
+        assertThat(factory.queue().queued("acme")).isZero();
+
+        running.tryEmitEmpty();
+        assertThat(factory.queue().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("passes through paths outside the fair queue")
+    void passesThroughOtherPaths() {
+        var chain = chain(e -> Mono.empty());
+        StepVerifier.create(filter.filter(exchange(get("/api/v1/rule37/runs").header("X-Tenant-Id", "acme").build()),
+                chain)).verifyComplete();
+
+        assertThat(chain.lastRequest()).isNotNull();
+        assertThat(factory.queue().inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("parses tenant weights and ignores blank entries")
+    void parsesTenantWeights() {
+        assertThat(FairQueuingGatewayFilterFactory.parseWeights(List.of("acme:2", " globex : 0.5 ", "", "bad")))
+                .containsEntry("acme", 2.0)
+                .containsEntry("globex", 0.5)
+                .hasSize(2);
+    }
+}
@@ -0,0 +1,139 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Before/after micro-benchmark of the inbound header filters: the previous three-mutation chain
+ * (sanitize, request id, JWT route filter) against {@link HeaderRewriteGlobalFilter} followed by the
+ * now pass-through JWT route filter.
+ *
+ * <p>
+ * Opt-in because timings are machine dependent:
+ * {@code mvn -pl gateway-service test -Dtest=HeaderRewriteChainBenchmarkTest -Dgateway.benchmarks=true}.
+ * Timings are reported only; the no-mutation property they depend on is asserted in
+ * {@link HeaderRewriteGlobalFilterTest}.
+ * </p>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "gateway.benchmarks", matches = "true")
+class HeaderRewriteChainBenchmarkTest extends BaseGatewayFilterTest {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static final List<String> LEGACY_SPOOFABLE_HEADERS = List.of(
+            "X-User-Id", "X-Username", "X-Email", "X-Tenant-Id", "X-Authorities", "X-Auth-Signature");
+
+    private final JwtAuthenticationGatewayFilterFactory jwtFilterFactory = new JwtAuthenticationGatewayFilterFactory();
+    private final GatewayFilter jwtRouteFilter = jwtFilterFactory.apply(new JwtAuthenticationGatewayFilterFactory.Config());
+
+    @Test
+    @DisplayName("benchmark: clean request with request id, no JWT")
+    void cleanRequest() {
+        run("clean", MockServerHttpRequest.get("/api/v1/rule37/runs")
+                .header(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, "req-1")
+                .build(), null);
+    }
+
+    @Test
+    @DisplayName("benchmark: JWT request without request id")
+    void jwtRequest() {
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                new Jwt("token", Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "none"),
+                        Map.of("jti", "jti-1", "sub", "user-123", "email", "jane@example.com",
+                                "cognito:groups", List.of("tenant_acme"))),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        run("jwt", MockServerHttpRequest.get("/api/v1/rule37/runs").build(), authentication);
+    }
+
+    private void run(String scenario, MockServerHttpRequest request, JwtAuthenticationToken authentication) {
+        HeaderRewriteGlobalFilter rewrite = new HeaderRewriteGlobalFilter(jwtFilterFactory);
+        ReflectionTestUtils.setField(rewrite, "sanitizeEnabled", true);
+
+        GlobalFilter[] before = {this::legacySanitize, this::legacyRequestId, jwtRouteFilter::filter};
+        GlobalFilter[] after = {rewrite, jwtRouteFilter::filter};
+
+        measure(before, request, authentication, WARMUP_ITERATIONS);
+        measure(after, request, authentication, WARMUP_ITERATIONS);
+        long beforeNanos = measure(before, request, authentication, MEASURED_ITERATIONS);
+        long afterNanos = measure(after, request, authentication, MEASURED_ITERATIONS);
+
+        log.info("header-rewrite[{}] before={} ns/op after={} ns/op", scenario,
+                beforeNanos / MEASURED_ITERATIONS, afterNanos / MEASURED_ITERATIONS);
+    }
+
+    private long measure(GlobalFilter[] filters, MockServerHttpRequest request,
+            JwtAuthenticationToken authentication, int iterations) {
+        // Filters only mutate copies, so one exchange is reused and just its attributes reset per iteration
+        ServerWebExchange exchange = exchange(request);
+        GatewayFilterChain chain = new IndexedChain(filters, 0);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            exchange.getAttributes().clear();
+            Mono<Void> result = chain.filter(exchange);
+            if (authentication != null) {
+                result = result.contextWrite(ReactiveSecurityContextHolder.withSecurityContext(
+                        Mono.just(new SecurityContextImpl(authentication))));
+            }
+            result.block();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /** The former NT-02 filter: mutates on every request. */
+    private Mono<Void> legacySanitize(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest mutated = exchange.getRequest().mutate()
+                .headers(httpHeaders -> LEGACY_SPOOFABLE_HEADERS.forEach(h -> {
+                    if (httpHeaders.containsKey(h)) {
+                        httpHeaders.remove(h);
+                    }
+                }))
+                .build();
+        return chain.filter(exchange.mutate().request(mutated).build());
+    }
+
+    /** The former NT-03 filter: mutates on every request. */
+    private Mono<Void> legacyRequestId(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String incoming = exchange.getRequest().getHeaders().getFirst(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER);
+        String requestId = incoming != null && !incoming.isBlank() ? incoming : UUID.randomUUID().toString();
+        ServerHttpRequest mutated = exchange.getRequest().mutate()
+                .header(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, requestId)
+                .build();
+        exchange.getAttributes().put(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, requestId);
+        return chain.filter(exchange.mutate().request(mutated).build())
+                .contextWrite(ctx -> ctx.put(HeaderRewriteGlobalFilter.CTX_KEY_REQUEST_ID, requestId));
+    }
+
+    private record IndexedChain(GlobalFilter[] filters, int index) implements GatewayFilterChain {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            if (index == filters.length) {
+                return Mono.empty();
+            }
+            return filters[index].filter(exchange, new IndexedChain(filters, index + 1));
+        }
+    }
+}
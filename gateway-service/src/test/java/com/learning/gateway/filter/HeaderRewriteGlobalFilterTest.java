@@ -0,0 +1,214 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+class HeaderRewriteGlobalFilterTest extends BaseGatewayFilterTest {
+
+    private JwtAuthenticationGatewayFilterFactory jwtFilterFactory;
+    private HeaderRewriteGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtFilterFactory = new JwtAuthenticationGatewayFilterFactory();
+        filter = new HeaderRewriteGlobalFilter(jwtFilterFactory);
+        ReflectionTestUtils.setField(filter, "sanitizeEnabled", true);
+    }
+
+    @Test
+    @DisplayName("removes spoofable headers when sanitization enabled")
+    void removesSpoofableHeadersWhenEnabled() {
+        var request = get("/api/resource")
+                .header("X-User-Id", "spoofed-user")
+                .header("X-Username", "malicious")
+                .header("X-Email", "bad@example.com")
+                .header("X-Tenant-Id", "bad-tenant")
+                .header("X-Authorities", "ROLE_ADMIN")
+                .header("X-Auth-Signature", "fake")
+                .header("Legitimate-Header", "keep")
+                .build();
+
+        var webExchange = exchange(request);
+        var chain = chain();
+
+        StepVerifier.create(filter.filter(webExchange, chain))
+                .verifyComplete();
+
+        var mutatedRequest = chain.lastRequest();
+        Assertions.assertThat(mutatedRequest.getHeaders().containsKey("X-User-Id")).isFalse();
+        Assertions.assertThat(mutatedRequest.getHeaders().containsKey("X-Username")).isFalse();
+        Assertions.assertThat(mutatedRequest.getHeaders().containsKey("X-Email")).isFalse();
+        Assertions.assertThat(mutatedRequest.getHeaders().containsKey("X-Tenant-Id")).isFalse();
+        Assertions.assertThat(mutatedRequest.getHeaders().containsKey("X-Authorities")).isFalse();
+        Assertions.assertThat(mutatedRequest.getHeaders().containsKey("X-Auth-Signature")).isFalse();
+        Assertions.assertThat(mutatedRequest.getHeaders().getFirst("Legitimate-Header")).isEqualTo("keep");
+    }
+
+    @Test
+    @DisplayName("leaves headers untouched when sanitization disabled")
+    void leavesHeadersWhenDisabled() {
+        ReflectionTestUtils.setField(filter, "sanitizeEnabled", false);
+
+        var request = get("/api/resource")
+                .header("X-User-Id", "spoofed-user")
+                .header("X-Tenant-Id", "spoofed-tenant")
+                .build();
+
+        var webExchange = exchange(request);
+        var chain = chain();
+
+        StepVerifier.create(filter.filter(webExchange, chain))
+                .verifyComplete();
+
+        var mutatedRequest = chain.lastRequest();
+        Assertions.assertThat(mutatedRequest.getHeaders().getFirst("X-User-Id")).isEqualTo("spoofed-user");
+        Assertions.assertThat(mutatedRequest.getHeaders().getFirst("X-Tenant-Id")).isEqualTo("spoofed-tenant");
+    }
+
+    @Test
+    @DisplayName("generates request id when none provided and propagates to context")
+    void generatesRequestIdWhenMissing() {
+        var webExchange = exchange(get("/api/items").build());
+
+        AtomicReference<String> contextRequestId = new AtomicReference<>();
+        var chain = chain(ex -> Mono.deferContextual(ctx -> {
+            contextRequestId.set(HeaderRewriteGlobalFilter.requestIdFromContext(ctx, null));
+            return Mono.empty();
+        }));
+
+        StepVerifier.create(filter.filter(webExchange, chain))
+                .verifyComplete();
+
+        String generated = chain.lastRequest().getHeaders().getFirst(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER);
+        Assertions.assertThat(generated).isNotBlank();
+        Assertions.assertThat(contextRequestId.get()).isEqualTo(generated);
+        Assertions.assertThat(chain.lastExchange().getAttributes())
+                .containsEntry(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, generated);
+    }
+
+    @Test
+    @DisplayName("forwards a clean request with an existing request id without mutating it")
+    void forwardsCleanRequestWithoutMutation() {
+        var request = get("/api/items")
+                .header(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, "existing-id")
+                .build();
+        var webExchange = exchange(request);
+
+        AtomicReference<String> contextRequestId = new AtomicReference<>();
+        var chain = chain(ex -> Mono.deferContextual(ctx -> {
+            contextRequestId.set(HeaderRewriteGlobalFilter.requestIdFromContext(ctx, null));
+            return Mono.empty();
+        }));
+
+        StepVerifier.create(filter.filter(webExchange, chain))
+                .verifyComplete();
+
+        Assertions.assertThat(chain.lastExchange()).isSameAs(webExchange);
+        Assertions.assertThat(chain.lastRequest()).isSameAs(request);
+        Assertions.assertThat(contextRequestId.get()).isEqualTo("existing-id");
+        Assertions.assertThat(chain.lastExchange().getAttributes())
+                .containsEntry(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, "existing-id");
+    }
+
+    @Test
+    @DisplayName("forwards a clean request through the rewrite and JWT route filter without mutating it")
+    void cleanRequestPassesWholeInboundChainUnmutated() {
+        var request = get("/api/items")
+                .header(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER, "existing-id")
+                .build();
+        var webExchange = exchange(request);
+        GatewayFilter jwtRouteFilter = jwtFilterFactory.apply(new JwtAuthenticationGatewayFilterFactory.Config());
+        var routed = chain();
+
+        StepVerifier.create(filter.filter(webExchange, chain(ex -> jwtRouteFilter.filter(ex, routed))))
+                .verifyComplete();
+
+        Assertions.assertThat(routed.lastExchange()).isSameAs(webExchange);
+        Assertions.assertThat(routed.lastRequest()).isSameAs(request);
+    }
+
+    @Test
+    @DisplayName("sanitizes, adds request id and applies JWT headers in a single mutation")
+    void appliesAllRewritesInOneMutation() {
+        var request = get("/api/items")
+                .header("X-Tenant-Id", "spoofed-tenant")
+                .header("X-Auth-Signature", "fake")
+                .build();
+        var webExchange = exchange(request);
+        var chain = chain();
+
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                jwt(Map.of("sub", "user-123", "email", "jane@example.com",
+                        "cognito:groups", List.of("tenant_acme"))),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        StepVerifier.create(withAuthentication(filter.filter(webExchange, chain), authentication))
+                .verifyComplete();
+
+        var headers = chain.lastRequest().getHeaders();
+        Assertions.assertThat(headers.getFirst("X-Tenant-Id")).isEqualTo("acme");
+        Assertions.assertThat(headers.getFirst("X-User-Id")).isEqualTo("user-123");
+        Assertions.assertThat(headers.getFirst("X-Authorities")).isEqualTo("ROLE_USER");
+        Assertions.assertThat(headers.containsKey("X-Auth-Signature")).isFalse();
+        Assertions.assertThat(headers.getFirst(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER)).isNotBlank();
+        Assertions.assertThat(chain.lastExchange().getAttributes())
+                .containsKey(HeaderRewriteGlobalFilter.JWT_HEADERS_APPLIED_ATTR);
+
+        // The JWT route filter that follows must not mutate the request a second time
+        var rewrittenExchange = chain.lastExchange();
+        var routeChain = chain();
+        GatewayFilter routeFilter = jwtFilterFactory.apply(new JwtAuthenticationGatewayFilterFactory.Config());
+        StepVerifier.create(withAuthentication(routeFilter.filter(rewrittenExchange, routeChain), authentication))
+                .verifyComplete();
+        Assertions.assertThat(routeChain.lastRequest()).isSameAs(rewrittenExchange.getRequest());
+    }
+
+    @Test
+    @DisplayName("rejects a JWT without tenant using the generated request id")
+    void rejectsJwtWithoutTenant() {
+        var webExchange = exchange(get("/api/items").build());
+        var chain = chain();
+
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                jwt(Map.of("sub", "user-789")),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        StepVerifier.create(withAuthentication(filter.filter(webExchange, chain), authentication))
+                .verifyComplete();
+
+        String requestId = webExchange.getAttribute(HeaderRewriteGlobalFilter.REQUEST_ID_HEADER);
+        Assertions.assertThat(chain.lastExchange()).isNull();
+        Assertions.assertThat(webExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        Assertions.assertThat(responseBody(webExchange))
+                .contains("\"code\":\"TENANT_MISSING\"")
+                .contains("\"requestId\":\"" + requestId + "\"");
+    }
+
+    private Jwt jwt(Map<String, Object> claims) {
+        return new Jwt("token", Instant.now(), Instant.now().plusSeconds(3600), Map.of("alg", "none"), claims);
+    }
+
+    private <T> Mono<T> withAuthentication(Mono<T> publisher, JwtAuthenticationToken authentication) {
+        return publisher.contextWrite(
+                ReactiveSecurityContextHolder.withSecurityContext(
+                        Mono.just(new SecurityContextImpl(authentication))));
+    }
+}
@@ -203,6 +203,42 @@ class JwtAuthenticationGatewayFilterFactoryTest extends BaseGatewayFilterTest {
                 Assertions.assertThat(chain.lastRequest().getHeaders().containsKey("X-Tenant-Id")).isFalse();
         }
 
+        @Test
+        @DisplayName("reuses derived headers for repeat requests with the same token")
+        void reusesDerivedHeadersForSameToken() {
+                GatewayFilter filter = factory.apply(new JwtAuthenticationGatewayFilterFactory.Config());
+
+                JwtAuthenticationToken first = jwtAuthentication(
+                                jwt(Map.of(
+                                                "jti", "jti-1",
+                                                "sub", "user-123",
+                                                "email", "jane@example.com",
+                                                "cognito:groups", List.of("tenant_acme", "dev"))),
+                                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+                // Same jti and subject; claims differ only to prove they are not parsed again
+                JwtAuthenticationToken repeat = jwtAuthentication(
+                                jwt(Map.of(
+                                                "jti", "jti-1",
+                                                "sub", "user-123",
+                                                "email", "changed@example.com",
+                                                "cognito:groups", List.of("tenant_acme"))),
+                                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+                var firstChain = chain();
+                StepVerifier.create(withAuthentication(
+                                filter.filter(exchange(get("/api/items").build()), firstChain), first))
+                                .verifyComplete();
+                var repeatChain = chain();
+                StepVerifier.create(withAuthentication(
+                                filter.filter(exchange(get("/api/items").build()), repeatChain), repeat))
+                                .verifyComplete();
+
+                var repeatHeaders = repeatChain.lastRequest().getHeaders();
+                Assertions.assertThat(repeatHeaders.getFirst("X-Email")).isEqualTo("jane@example.com");
+                Assertions.assertThat(repeatHeaders.getFirst("X-Groups")).isEqualTo("dev");
+                Assertions.assertThat(repeatHeaders.getFirst("X-Tenant-Id")).isEqualTo("acme");
+        }
+
         private Jwt jwt(Map<String, Object> claims) {
                 return new Jwt(
                                 "token",
@@ -0,0 +1,92 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTest extends BaseGatewayFilterTest {
+
+    private static final String RUN = "/api/v1/rule37/runs/42";
+
+    private final RequestCoalescingFilter filter = new RequestCoalescingFilter(List.of("/**/api/v1/rule37/runs/*"));
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private TestGatewayFilterChain upstream(Mono<String> body) {
+        return chain(exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(body.map(b -> response.bufferFactory().wrap(b.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+
+    private ServerWebExchange runRequest(String tenant) {
+        return exchange(get(RUN).header("X-Tenant-Id", tenant).header("X-Authorities", "ROLE_USER").build());
+    }
+
+    @Test
+    @DisplayName("concurrent identical GETs share one upstream call and its response")
+    void coalescesConcurrentIdenticalGets() {
+        Sinks.One<String> backend = Sinks.one();
+        ServerWebExchange leader = runRequest("acme");
+        ServerWebExchange follower = runRequest("acme");
+
+        Mono<Void> both = Mono.when(
+                filter.filter(leader, upstream(backend.asMono())),
+                filter.filter(follower, upstream(backend.asMono())));
+
+        StepVerifier.create(both)
+                .then(() -> backend.tryEmitValue("{\"id\":42}"))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(responseBody(leader)).isEqualTo("{\"id\":42}");
+        assertThat(responseBody(follower)).isEqualTo("{\"id\":42}");
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(filter.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("different tenants never share a flight")
+    void doesNotCoalesceAcrossTenants() {
+        Sinks.One<String> backend = Sinks.one();
+
+        StepVerifier.create(Mono.when(
+                        filter.filter(runRequest("acme"), upstream(backend.asMono())),
+                        filter.filter(runRequest("globex"), upstream(backend.asMono()))))
+                .then(() -> backend.tryEmitValue("{}"))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("waiters make their own call when the leader fails")
+    void waitersFallBackWhenLeaderFails() {
+        Sinks.One<String> failing = Sinks.one();
+        ServerWebExchange follower = runRequest("acme");
+
+        StepVerifier.create(Mono.when(
+                        filter.filter(runRequest("acme"), upstream(failing.asMono())).onErrorResume(e -> Mono.empty()),
+                        filter.filter(follower, upstream(Mono.just("{\"retry\":true}")))))
+                .then(() -> failing.tryEmitError(new IllegalStateException("upstream reset")))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(responseBody(follower)).isEqualTo("{\"retry\":true}");
+    }
+}
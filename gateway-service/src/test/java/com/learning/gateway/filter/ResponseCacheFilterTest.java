@@ -0,0 +1,161 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.cache.GatewayResponseCache;
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResponseCacheFilterTest extends BaseGatewayFilterTest {
+
+    private static final String RUNS = "/api/v1/rule37/runs";
+
+    private ReactiveStringRedisTemplate redis;
+    private ResponseCacheFilter filter;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(ReactiveStringRedisTemplate.class);
+        when(redis.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        GatewayResponseCache cache = new GatewayResponseCache(redis, Duration.ofSeconds(10), 100,
+                "gateway:response-cache:invalidate");
+        filter = new ResponseCacheFilter(cache, List.of("/**/api/v1/rule37/runs"),
+                List.of("/**/api/v1/ledgers/**", "/**/api/v1/rule37/**"), 1024 * 1024);
+    }
+
+    private TestGatewayFilterChain upstream(String body) {
+        return chain(exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(
+                    response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+
+    private ServerWebExchange runsRequest(String tenant, String user, String ifNoneMatch) {
+        var builder = get(RUNS + "?page=0").header("X-Tenant-Id", tenant).header("X-User-Id", user);
+        if (ifNoneMatch != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return exchange(builder.build());
+    }
+
+    @Test
+    @DisplayName("serves repeat GETs from cache with the same ETag")
+    void servesRepeatGetsFromCache() {
+        ServerWebExchange first = runsRequest("acme", "u1", null);
+        StepVerifier.create(filter.filter(first, upstream("[{\"id\":1}]"))).verifyComplete();
+        ServerWebExchange second = runsRequest("acme", "u1", null);
+        StepVerifier.create(filter.filter(second, upstream("[{\"id\":2}]"))).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(responseBody(second)).isEqualTo("[{\"id\":1}]");
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getHeaders().getETag())
+                .isNotNull()
+                .isEqualTo(first.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("answers a matching If-None-Match with 304 and no body")
+    void answersIfNoneMatchWithNotModified() {
+        ServerWebExchange first = runsRequest("acme", "u1", null);
+        StepVerifier.create(filter.filter(first, upstream("[]"))).verifyComplete();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        ServerWebExchange conditional = runsRequest("acme", "u1", etag);
+        StepVerifier.create(filter.filter(conditional, upstream("[]"))).verifyComplete();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(responseBody(conditional)).isEmpty();
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("scopes entries by user within a tenant")
+    void scopesEntriesByUser() {
+        StepVerifier.create(filter.filter(runsRequest("acme", "u1", null), upstream("[1]"))).verifyComplete();
+        ServerWebExchange other = runsRequest("acme", "u2", null);
+        StepVerifier.create(filter.filter(other, upstream("[2]"))).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(responseBody(other)).isEqualTo("[2]");
+    }
+
+    @Test
+    @DisplayName("successful upload invalidates the tenant and publishes the invalidation")
+    void uploadInvalidatesTenant() {
+        StepVerifier.create(filter.filter(runsRequest("acme", "u1", null), upstream("[1]"))).verifyComplete();
+
+        ServerWebExchange upload = exchange(MockServerHttpRequest.post("/api/v1/ledgers/upload")
+                .header("X-Tenant-Id", "acme").build());
+        StepVerifier.create(filter.filter(upload, chain(exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+            return Mono.empty();
+        }))).verifyComplete();
+
+        ServerWebExchange after = runsRequest("acme", "u1", null);
+        StepVerifier.create(filter.filter(after, upstream("[1,2]"))).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(responseBody(after)).isEqualTo("[1,2]");
+        verify(redis).convertAndSend("gateway:response-cache:invalidate", "acme");
+    }
+
+    @Test
+    @DisplayName("streams a chunked body past max-body-bytes without caching it")
+    void skipsOversizedChunkedBody() {
+        GatewayResponseCache cache = new GatewayResponseCache(redis, Duration.ofSeconds(10), 100,
+                "gateway:response-cache:invalidate");
+        filter = new ResponseCacheFilter(cache, List.of("/**/api/v1/rule37/runs"), List.of(), 16);
+        TestGatewayFilterChain chunked = chain(exchange -> {
+            upstreamCalls.incrementAndGet();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Flux.just("[\"0123456789\",", "\"0123456789\",", "\"0123456789\"]")
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        });
+
+        ServerWebExchange first = runsRequest("acme", "u1", null);
+        StepVerifier.create(filter.filter(first, chunked)).verifyComplete();
+        ServerWebExchange second = runsRequest("acme", "u1", null);
+        StepVerifier.create(filter.filter(second, chunked)).verifyComplete();
+
+        assertThat(first.getResponse().getHeaders().getContentLength()).isEqualTo(-1);
+        assertThat(responseBody(first)).isEqualTo("[\"0123456789\",\"0123456789\",\"0123456789\"]");
+        assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isNull();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("does not cache requests without a tenant")
+    void skipsAnonymousRequests() {
+        StepVerifier.create(filter.filter(exchange(get(RUNS).build()), upstream("[]"))).verifyComplete();
+        StepVerifier.create(filter.filter(exchange(get(RUNS).build()), upstream("[]"))).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+}
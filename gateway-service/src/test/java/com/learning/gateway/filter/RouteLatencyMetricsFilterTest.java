@@ -0,0 +1,116 @@
+package com.learning.gateway.filter;
+
+import com.learning.gateway.support.BaseGatewayFilterTest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class RouteLatencyMetricsFilterTest extends BaseGatewayFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RouteLatencyMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RouteLatencyMetricsFilter(registry, Set.of("bigco"),
+                new Duration[] { Duration.ofMillis(100), Duration.ofSeconds(1) });
+    }
+
+    private void run(String tenantId, HttpStatus status) {
+        StepVerifier.create(filter.filter(routedExchange(tenantId), chain(e -> {
+            e.getResponse().setStatusCode(status);
+            return Mono.empty();
+        }))).verifyComplete();
+    }
+
+    private ServerWebExchange routedExchange(String tenantId) {
+        var webExchange = exchange(get("/api/v1/rule37/runs").build());
+        webExchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("backend-service").uri("lb://backend-service").predicate(e -> true).build());
+        if (tenantId != null) {
+            // As left by the JWT filters, which run inside this one
+            webExchange.getAttributes().put(JwtAuthenticationGatewayFilterFactory.TENANT_ID_ATTR, tenantId);
+        }
+        return webExchange;
+    }
+
+    @Test
+    @DisplayName("records latency per route, tenant class and status family")
+    void recordsTaggedTimers() {
+        run("acme", HttpStatus.OK);
+        run("other", HttpStatus.CREATED);
+        run("bigco", HttpStatus.SERVICE_UNAVAILABLE);
+        run(null, HttpStatus.UNAUTHORIZED);
+
+        Timer user = registry.find(RouteLatencyMetricsFilter.METRIC_NAME)
+                .tags("route", "backend-service", "tenant_class", "user", "status", "2xx").timer();
+        Assertions.assertThat(user).isNotNull();
+        Assertions.assertThat(user.count()).isEqualTo(2);
+        Assertions.assertThat(registry.find(RouteLatencyMetricsFilter.METRIC_NAME)
+                .tags("tenant_class", "premium", "status", "5xx").timer()).isNotNull();
+        Assertions.assertThat(registry.find(RouteLatencyMetricsFilter.METRIC_NAME)
+                .tags("tenant_class", "anonymous", "status", "4xx").timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("records responses shed by route filters before routing")
+    void recordsShedResponses() {
+        GatewayFilter limiter = new AdaptiveConcurrencyGatewayFilterFactory(new SimpleMeterRegistry(), 1, 1, 10,
+                0.2, 1.5, 2).apply(new AdaptiveConcurrencyGatewayFilterFactory.Config().setService("backend-service"));
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        filter.filter(routedExchange("acme"), chain(e -> limiter.filter(e, chain(routed -> upstream.asMono()))))
+                .subscribe();
+
+        var shed = routedExchange("acme");
+        StepVerifier.create(filter.filter(shed, chain(e -> limiter.filter(e, chain())))).verifyComplete();
+
+        Assertions.assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Timer shedTimer = registry.find(RouteLatencyMetricsFilter.METRIC_NAME)
+                .tags("route", "backend-service", "tenant_class", "user", "status", "5xx").timer();
+        Assertions.assertThat(shedTimer).isNotNull();
+        Assertions.assertThat(shedTimer.count()).isEqualTo(1);
+        upstream.tryEmitEmpty();
+    }
+
+    @Test
+    @DisplayName("never tags individual tenant ids")
+    void tenantIdsAreNotTags() {
+        for (int i = 0; i < 50; i++) {
+            run("tenant-" + i, HttpStatus.OK);
+        }
+
+        Assertions.assertThat(registry.find(RouteLatencyMetricsFilter.METRIC_NAME).timers()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("does not cache no-op timers for denied metrics")
+    void deniedTimersAreNotCached() {
+        AtomicBoolean denied = new AtomicBoolean(true);
+        registry.config().meterFilter(MeterFilter.deny(id -> denied.get()));
+        run("acme", HttpStatus.OK);
+
+        denied.set(false);
+        run("acme", HttpStatus.OK);
+
+        Timer timer = registry.find(RouteLatencyMetricsFilter.METRIC_NAME).timer();
+        Assertions.assertThat(timer).isNotNull();
+        Assertions.assertThat(timer.count()).isEqualTo(1);
+    }
+}
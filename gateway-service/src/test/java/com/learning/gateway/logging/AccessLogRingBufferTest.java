@@ -0,0 +1,57 @@
+package com.learning.gateway.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTest {
+
+    private AccessLogRingBuffer buffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.stop();
+    }
+
+    private boolean publish(String requestId) {
+        return buffer.publish(requestId, "user-1", "acme", "GET", "/api/v1/rule37/runs", 200,
+                TimeUnit.MILLISECONDS.toNanos(12), null);
+    }
+
+    @Test
+    @DisplayName("drops and counts events when the ring is full instead of blocking")
+    void dropsWhenFull() {
+        buffer = new AccessLogRingBuffer(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(publish("req-" + i)).isTrue();
+        }
+
+        assertThat(publish("req-overflow")).isFalse();
+        assertThat(buffer.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("writer drains published events and frees their slots")
+    void writerDrainsSlots() throws InterruptedException {
+        buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            publish("req-" + i);
+        }
+
+        buffer.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        boolean accepted = false;
+        while (!accepted && System.nanoTime() < deadline) {
+            accepted = publish("req-after-drain");
+            Thread.sleep(5);
+        }
+
+        assertThat(accepted).isTrue();
+        assertThat(buffer.droppedCount()).isGreaterThanOrEqualTo(0);
+    }
+}
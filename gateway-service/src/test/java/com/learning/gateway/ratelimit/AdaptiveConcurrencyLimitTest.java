@@ -0,0 +1,75 @@
+package com.learning.gateway.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = 10_000_000L;
+
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("rejects requests beyond the current limit")
+    void rejectsBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(3, 1, 10, 0.2, 1.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("grows while latency is flat and shrinks when latency climbs")
+    void followsLatencyGradient() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 200, 0.2, 1.5);
+
+        saturate(limit, FAST, 30);
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(10);
+
+        // One saturated round: long enough to react, short enough that the long-term RTT has not caught up
+        saturate(limit, FAST * 10, 1);
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    @DisplayName("drops cut the limit but never below the minimum")
+    void dropsCutLimitToMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 0.2, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(FAST, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("does not grow while mostly idle")
+    void doesNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 0.2, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,80 @@
+package com.learning.gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApiKeyRateLimiterTest {
+
+    private ReactiveStringRedisTemplate redis;
+    private ApiKeyRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(ReactiveStringRedisTemplate.class);
+        limiter = new ApiKeyRateLimiter(redis, 0.1, Duration.ofMinutes(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(long allowed, long remaining) {
+        when(redis.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(List.of(allowed, remaining)));
+    }
+
+    @Test
+    @DisplayName("admits locally while clearly under the limit and charges those admits on the next sync")
+    @SuppressWarnings("unchecked")
+    void localAdmitsAreChargedOnNextSync() {
+        redisReturns(1L, 100L);
+
+        for (int i = 0; i < 12; i++) {
+            assertThat(limiter.tryAcquire("key-1", 120).block().allowed()).isTrue();
+        }
+
+        // 1 sync, 10 local admits (10% of 100), then a second sync carrying pending=10
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redis, times(2)).execute(any(RedisScript.class), anyList(), args.capture());
+        assertThat(args.getAllValues().get(0).get(2)).isEqualTo("0");
+        assertThat(args.getAllValues().get(1).get(2)).isEqualTo("10");
+    }
+
+    @Test
+    @DisplayName("denies with retry hint when the Redis bucket is empty")
+    void deniesWhenBucketEmpty() {
+        redisReturns(0L, 0L);
+
+        var decision = limiter.tryAcquire("key-1", 60).block();
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterSeconds()).isEqualTo(1);
+        assertThat(decision.resetSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("fails open when Redis is unavailable")
+    @SuppressWarnings("unchecked")
+    void failsOpenOnRedisError() {
+        when(redis.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("connection refused")));
+
+        var decision = limiter.tryAcquire("key-1", 60).block();
+
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.learning.gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HybridRateLimiterTest {
+
+    private ReactiveStringRedisTemplate redis;
+    private HybridRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(ReactiveStringRedisTemplate.class);
+        limiter = new HybridRateLimiter(redis, mock(ConfigurationService.class), 0.5, Duration.ofSeconds(1));
+        HybridRateLimiter.Config config = new HybridRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(20);
+        limiter.getConfig().put(RouteDefinitionRouteLocator.DEFAULT_FILTERS, config);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisGrants(long granted) {
+        when(redis.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(List.of(granted, 0L)));
+    }
+
+    @Test
+    @DisplayName("serves a whole leased slice from memory after one Redis call")
+    @SuppressWarnings("unchecked")
+    void servesLeasedSliceLocally() {
+        redisGrants(10L);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.isAllowed("backend-service", "tenant:a").block().isAllowed()).isTrue();
+        }
+
+        verify(redis, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("remembers an empty shared bucket so repeated rejections stay local")
+    @SuppressWarnings("unchecked")
+    void rejectsLocallyWhileBucketEmpty() {
+        redisGrants(0L);
+
+        var first = limiter.isAllowed("backend-service", "tenant:a").block();
+        var second = limiter.isAllowed("backend-service", "tenant:a").block();
+
+        assertThat(first.isAllowed()).isFalse();
+        assertThat(second.isAllowed()).isFalse();
+        assertThat(second.getHeaders()).containsEntry("X-RateLimit-Remaining", "0");
+        verify(redis, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+}
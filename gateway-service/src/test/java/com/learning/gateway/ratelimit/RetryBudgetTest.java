@@ -0,0 +1,43 @@
+package com.learning.gateway.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("allows retries in proportion to requests")
+    void allowsRetriesInProportionToRequests() {
+        RetryBudget budget = new RetryBudget(0.2, 0, 100);
+        for (int i = 0; i < 50; i++) {
+            budget.recordRequest();
+        }
+
+        int granted = 0;
+        while (budget.tryAcquireRetry()) {
+            granted++;
+        }
+
+        assertThat(granted).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("caps the stored balance and keeps a per-second reserve")
+    void capsBalanceAndKeepsReserve() {
+        RetryBudget budget = new RetryBudget(1.0, 2, 5);
+        for (int i = 0; i < 50; i++) {
+            budget.recordRequest();
+        }
+        assertThat(budget.balance()).isEqualTo(5.0);
+
+        int granted = 0;
+        while (granted < 100 && budget.tryAcquireRetry()) {
+            granted++;
+        }
+
+        // 5 stored tokens + at most 2 reserve retries in the current second (4 if the second rolled over)
+        assertThat(granted).isBetween(7, 9);
+    }
+}
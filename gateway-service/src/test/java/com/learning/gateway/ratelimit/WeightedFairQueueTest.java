@@ -0,0 +1,134 @@
+package com.learning.gateway.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedFairQueueTest {
+
+    @Test
+    @DisplayName("interleaves a heavy tenant's backlog with other tenants by weight")
+    void interleavesTenantsByWeight() {
+        WeightedFairQueue queue = new WeightedFairQueue(1, 1, 50, Map.of("premium", 2.0));
+        List<String> order = new ArrayList<>();
+        List<WeightedFairQueue.Permit> held = new ArrayList<>();
+
+        // Occupy the single slot so everything below queues up
+        queue.acquire("blocker").subscribe(held::add);
+        for (int i = 0; i < 6; i++) {
+            queue.acquire("heavy").subscribe(p -> { order.add("heavy"); held.add(p); });
+        }
+        for (int i = 0; i < 6; i++) {
+            queue.acquire("premium").subscribe(p -> { order.add("premium"); held.add(p); });
+        }
+        for (int i = 0; i < 12; i++) {
+            held.remove(0).release();
+        }
+
+        assertThat(order).hasSize(12);
+        List<String> firstNine = order.subList(0, 9);
+        assertThat(firstNine.stream().filter("premium"::equals).count()).isEqualTo(6);
+        assertThat(firstNine.stream().filter("heavy"::equals).count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("caps concurrency per tenant while other tenants still get slots")
+    void capsPerTenantConcurrency() {
+        WeightedFairQueue queue = new WeightedFairQueue(4, 2, 10, Map.of());
+        List<String> admitted = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            queue.acquire("heavy").subscribe(p -> admitted.add("heavy"));
+        }
+        queue.acquire("light").subscribe(p -> admitted.add("light"));
+
+        assertThat(admitted).containsExactly("heavy", "heavy", "light");
+        assertThat(queue.inFlight()).isEqualTo(3);
+        assertThat(queue.queued("heavy")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("rejects when the tenant's queue is full")
+    void rejectsWhenTenantQueueFull() {
+        WeightedFairQueue queue = new WeightedFairQueue(1, 1, 1, Map.of());
+        queue.acquire("acme").subscribe();
+        queue.acquire("acme").subscribe();
+
+        StepVerifier.create(queue.acquire("acme"))
+                .expectError(WeightedFairQueue.TenantQueueFullException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("cancelled waiters leave the queue and never hold a slot")
+    void cancelledWaitersLeaveQueue() {
+        WeightedFairQueue queue = new WeightedFairQueue(1, 1, 5, Map.of());
+        List<WeightedFairQueue.Permit> held = new ArrayList<>();
+        queue.acquire("acme").subscribe(held::add);
+        Disposable waiting = queue.acquire("globex").subscribe(held::add);
+
+        waiting.dispose();
+        assertThat(queue.queued("globex")).isZero();
+
+        held.get(0).release();
+        assertThat(queue.inFlight()).isZero();
+        assertThat(held).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("fails a waiter with TimeoutException after max-wait and drops it from the queue")
+    void timesOutWaiters() {
+        WeightedFairQueue queue = new WeightedFairQueue(1, 1, 5, Map.of());
+        List<WeightedFairQueue.Permit> held = new ArrayList<>();
+        queue.acquire("acme").subscribe(held::add);
+
+        StepVerifier.create(queue.acquire("globex", Duration.ofMillis(50)))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(queue.queued("globex")).isZero();
+
+        held.get(0).release();
+        assertThat(queue.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("never leaks a slot when grants race with expiry and cancellation")
+    void noLeakWhenGrantRacesExpiry() throws InterruptedException {
+        WeightedFairQueue queue = new WeightedFairQueue(2, 2, 1000, Map.of());
+        CountDownLatch settled = new CountDownLatch(500);
+
+        for (int i = 0; i < 500; i++) {
+            queue.acquire("acme", Duration.ofNanos(i % 7 * 1000))
+                    .publishOn(Schedulers.parallel())
+                    .doOnNext(WeightedFairQueue.Permit::release)
+                    .doFinally(signal -> settled.countDown())
+                    .subscribe(permit -> { }, error -> { });
+            queue.acquire("acme").subscribe(WeightedFairQueue.Permit::release).dispose();
+        }
+
+        assertThat(settled.await(5, TimeUnit.SECONDS)).isTrue();
+        // A grant that loses to a cancel still holds its slot until the dispatching thread returns it
+        awaitIdle(queue);
+        assertThat(queue.queued("acme")).isZero();
+    }
+
+    private static void awaitIdle(WeightedFairQueue queue) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queue.inFlight()).isZero();
+    }
+}